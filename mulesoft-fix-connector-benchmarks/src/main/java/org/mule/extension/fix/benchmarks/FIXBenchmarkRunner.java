@@ -0,0 +1,34 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: runs the selected benchmarks (all by default) with the GC profiler, so every
+ * result reports ns/op together with bytes allocated per op (gc.alloc.rate.norm).
+ * Accepts the usual JMH command line, e.g. {@code java -jar benchmarks.jar FIXParse -p corpus=EXECUTION_REPORT}.
+ */
+public final class FIXBenchmarkRunner {
+
+    private FIXBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include("org\\.mule\\.extension\\.fix\\.benchmarks\\..*");
+        }
+        boolean gcProfiled = commandLine.getProfilers().stream()
+            .anyMatch(profiler -> profiler.getKlass().equals(GCProfiler.class.getName()) || profiler.getKlass().equals("gc"));
+        if (!gcProfiled) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
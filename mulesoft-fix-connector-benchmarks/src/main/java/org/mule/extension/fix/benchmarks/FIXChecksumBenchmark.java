@@ -0,0 +1,44 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CheckSum(10) over a frame without its trailer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FIXChecksumBenchmark {
+
+    @Param({"NEW_ORDER_SINGLE", "EXECUTION_REPORT", "MARKET_DATA_SNAPSHOT"})
+    public FIXCorpus corpus;
+
+    private String withoutTrailer;
+
+    @Setup
+    public void setUp() {
+        String frame = corpus.frameString(1);
+        withoutTrailer = frame.substring(0, frame.lastIndexOf("\u000110=") + 1);
+    }
+
+    @Benchmark
+    public String calculateChecksum() {
+        return FIXMessage.calculateChecksum(withoutTrailer);
+    }
+}
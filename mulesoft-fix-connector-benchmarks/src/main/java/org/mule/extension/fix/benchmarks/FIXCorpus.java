@@ -0,0 +1,156 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXParseException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Realistic FIX 4.4 messages for the benchmarks, shaped like live equity order flow and FX market data.
+ * Frames are assembled by hand because FIXMessage keeps one value per tag, so repeating groups
+ * (parties, price levels) would otherwise collapse and understate the parse cost.
+ */
+public enum FIXCorpus {
+
+    /**
+     * NewOrderSingle (D): a limit order with parties and routing
+     */
+    NEW_ORDER_SINGLE("D") {
+        @Override
+        void body(StringBuilder out, int seqNum) {
+            field(out, 1, "ACC-4711-EQ");
+            field(out, 11, "ORD-20250314-" + seqNum);
+            field(out, 21, "1");
+            field(out, 55, "MSFT");
+            field(out, 48, "US5949181045");
+            field(out, 22, "4");
+            field(out, 207, "XNAS");
+            field(out, 54, "1");
+            field(out, 60, SENDING_TIME);
+            field(out, 38, "1500");
+            field(out, 40, "2");
+            field(out, 44, "415.27");
+            field(out, 59, "0");
+            field(out, 15, "USD");
+            field(out, 100, "XNAS");
+            field(out, 453, "2");
+            field(out, 448, "TRADER-17");
+            field(out, 447, "D");
+            field(out, 452, "11");
+            field(out, 448, "DESK-NY-3");
+            field(out, 447, "D");
+            field(out, 452, "76");
+        }
+    },
+
+    /**
+     * ExecutionReport (8): a partial fill
+     */
+    EXECUTION_REPORT("8") {
+        @Override
+        void body(StringBuilder out, int seqNum) {
+            field(out, 37, "EX-88231907");
+            field(out, 11, "ORD-20250314-" + seqNum);
+            field(out, 17, "EXEC-5512-" + seqNum);
+            field(out, 150, "F");
+            field(out, 39, "1");
+            field(out, 1, "ACC-4711-EQ");
+            field(out, 55, "MSFT");
+            field(out, 48, "US5949181045");
+            field(out, 22, "4");
+            field(out, 54, "1");
+            field(out, 38, "1500");
+            field(out, 40, "2");
+            field(out, 44, "415.27");
+            field(out, 32, "300");
+            field(out, 31, "415.25");
+            field(out, 151, "900");
+            field(out, 14, "600");
+            field(out, 6, "415.26");
+            field(out, 60, SENDING_TIME);
+            field(out, 75, "20250314");
+            field(out, 15, "USD");
+            field(out, 58, "Partial fill on XNAS");
+        }
+    },
+
+    /**
+     * MarketDataSnapshotFullRefresh (W): ten price levels per side
+     */
+    MARKET_DATA_SNAPSHOT("W") {
+        @Override
+        void body(StringBuilder out, int seqNum) {
+            field(out, 262, "MDREQ-EURUSD-1");
+            field(out, 55, "EUR/USD");
+            field(out, 268, "20");
+            for (int level = 0; level < 10; level++) {
+                field(out, 269, "0");
+                field(out, 270, "1.0" + (8450 - level));
+                field(out, 271, Integer.toString(1_000_000 * (level + 1)));
+                field(out, 269, "1");
+                field(out, 270, "1.0" + (8452 + level));
+                field(out, 271, Integer.toString(1_000_000 * (level + 1)));
+            }
+        }
+    };
+
+    public static final String BEGIN_STRING = "FIX.4.4";
+    public static final String SENDER = "SERVER1";
+    public static final String TARGET = "CLIENT1";
+    private static final String SENDING_TIME = "20250314-13:45:12.123456";
+    private static final char SOH = '\u0001';
+
+    private final String msgType;
+
+    FIXCorpus(String msgType) {
+        this.msgType = msgType;
+    }
+
+    /**
+     * Append the application fields
+     */
+    abstract void body(StringBuilder out, int seqNum);
+
+    /**
+     * Complete wire frame with the given MsgSeqNum, sent by SENDER to TARGET
+     */
+    public String frameString(int seqNum) {
+        StringBuilder body = new StringBuilder(512);
+        field(body, FIXMessage.TAG_MSG_TYPE, msgType);
+        field(body, FIXMessage.TAG_SENDER_COMP_ID, SENDER);
+        field(body, FIXMessage.TAG_TARGET_COMP_ID, TARGET);
+        field(body, FIXMessage.TAG_MSG_SEQ_NUM, Integer.toString(seqNum));
+        field(body, FIXMessage.TAG_SENDING_TIME, SENDING_TIME);
+        body(body, seqNum);
+
+        StringBuilder frame = new StringBuilder(body.length() + 32);
+        field(frame, FIXMessage.TAG_BEGIN_STRING, BEGIN_STRING);
+        field(frame, FIXMessage.TAG_BODY_LENGTH, Integer.toString(body.length()));
+        frame.append(body);
+        field(frame, FIXMessage.TAG_CHECKSUM, FIXMessage.calculateChecksum(frame.toString()));
+        return frame.toString();
+    }
+
+    /**
+     * Complete wire frame with the given MsgSeqNum, as ASCII bytes
+     */
+    public byte[] frame(int seqNum) {
+        return frameString(seqNum).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The frame parsed into a FIXMessage (repeating groups keep their last instance)
+     */
+    public FIXMessage message(int seqNum) {
+        try {
+            return FIXMessageParser.parse(frameString(seqNum));
+        } catch (FIXParseException e) {
+            throw new IllegalStateException("Corpus message " + this + " does not parse", e);
+        }
+    }
+
+    static void field(StringBuilder out, int tag, String value) {
+        out.append(tag).append('=').append(value).append(SOH);
+    }
+}
@@ -0,0 +1,60 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound encoding: String-based toFIXString against the ByteBuffer encoder used by the session
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FIXEncodeBenchmark {
+
+    @Param({"NEW_ORDER_SINGLE", "EXECUTION_REPORT", "MARKET_DATA_SNAPSHOT"})
+    public FIXCorpus corpus;
+
+    private FIXMessage message;
+    private FIXMessageEncoder encoder;
+    private ByteBuffer out;
+
+    @Setup
+    public void setUp() {
+        message = corpus.message(1);
+        encoder = new FIXMessageEncoder(FIXCorpus.BEGIN_STRING, FIXCorpus.SENDER, FIXCorpus.TARGET);
+        out = ByteBuffer.allocateDirect(64 * 1024);
+    }
+
+    @Benchmark
+    public String toFIXString() {
+        return message.toFIXString(FIXCorpus.BEGIN_STRING, FIXCorpus.SENDER, FIXCorpus.TARGET);
+    }
+
+    @Benchmark
+    public int encodeToBuffer() {
+        out.clear();
+        return encoder.encode(message, out);
+    }
+
+    @Benchmark
+    public byte[] encodeToArray() {
+        return encoder.encode(message);
+    }
+}
@@ -0,0 +1,193 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageEncoder;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+import org.mule.extension.fix.api.FIXTimestampEncoder;
+import org.mule.extension.fix.internal.FIXFrameDecoder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Minimal in-JVM FIX acceptor for loopback measurements. Answers Logon, TestRequest and Logout, and
+ * acknowledges every NewOrderSingle (D) with an ExecutionReport (8, ExecType=New) echoing its ClOrdID(11).
+ * One thread per connection; responses are encoded into a reused buffer, so the acceptor adds as little
+ * latency and garbage of its own as possible.
+ */
+public final class FIXLoopbackAcceptor implements Closeable {
+
+    private static final int CL_ORD_ID = 11;
+    private static final int ORDER_ID = 37;
+    private static final int EXEC_ID = 17;
+    private static final int EXEC_TYPE = 150;
+    private static final int ORD_STATUS = 39;
+    private static final int SYMBOL = 55;
+    private static final int SIDE = 54;
+    private static final int ORDER_QTY = 38;
+    private static final int LEAVES_QTY = 151;
+    private static final int CUM_QTY = 14;
+    private static final int AVG_PX = 6;
+
+    private final String senderCompId;
+    private final String targetCompId;
+    private ServerSocketChannel server;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    /**
+     * @param senderCompId CompID of the acceptor (the client's TargetCompID)
+     * @param targetCompId CompID of the client
+     */
+    public FIXLoopbackAcceptor(String senderCompId, String targetCompId) {
+        this.senderCompId = senderCompId;
+        this.targetCompId = targetCompId;
+    }
+
+    /**
+     * Listen on an ephemeral localhost port
+     *
+     * @return The port
+     */
+    public int start() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+        running = true;
+        acceptor = new Thread(() -> {
+            while (running) {
+                try {
+                    SocketChannel channel = server.accept();
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    Thread session = new Thread(() -> serve(channel), "loopback-acceptor-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    if (running) {
+                        System.err.println("Loopback acceptor failed to accept: " + e);
+                    }
+                    return;
+                }
+            }
+        }, "loopback-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    private void serve(SocketChannel channel) {
+        Session session = new Session(channel);
+        FIXFrameDecoder decoder = new FIXFrameDecoder();
+        FIXFrameDecoder.FrameHandler handler = session::onFrame;
+        try (channel) {
+            while (running && session.open) {
+                if (decoder.readFrom(channel) == -1) {
+                    return;
+                }
+                decoder.decode(handler);
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Loopback acceptor session failed: " + e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * State of one accepted connection (used by its thread only)
+     */
+    private final class Session {
+        private final SocketChannel channel;
+        private final FIXMessageEncoder encoder = new FIXMessageEncoder("FIX.4.4", senderCompId, targetCompId);
+        private final FIXMessageView view = new FIXMessageView();
+        private final FIXMessage response = new FIXMessage();
+        private final ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+        private int outgoingSeqNum = 1;
+        private long execId;
+        private boolean open = true;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void onFrame(byte[] buffer, int offset, int length) {
+            try {
+                FIXMessageParser.parse(buffer, offset, length, view);
+                if (view.fieldEquals(FIXMessage.TAG_MSG_TYPE, "D")) {
+                    acknowledge();
+                } else if (view.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_LOGON)) {
+                    if (view.fieldEquals(FIXMessage.TAG_RESET_SEQ_NUM_FLAG, "Y")) {
+                        outgoingSeqNum = 1;
+                    }
+                    start(FIXMessage.MSG_TYPE_LOGON);
+                    response.setField(FIXMessage.TAG_ENCRYPT_METHOD, 0);
+                    copy(FIXMessage.TAG_HEARTBEAT_INTERVAL, FIXMessage.TAG_HEARTBEAT_INTERVAL);
+                    copy(FIXMessage.TAG_RESET_SEQ_NUM_FLAG, FIXMessage.TAG_RESET_SEQ_NUM_FLAG);
+                    send();
+                } else if (view.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_TEST_REQUEST)) {
+                    start(FIXMessage.MSG_TYPE_HEARTBEAT);
+                    copy(FIXMessage.TAG_TEST_REQ_ID, FIXMessage.TAG_TEST_REQ_ID);
+                    send();
+                } else if (view.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_LOGOUT)) {
+                    start(FIXMessage.MSG_TYPE_LOGOUT);
+                    send();
+                    open = false;
+                }
+            } catch (FIXParseException | IOException e) {
+                System.err.println("Loopback acceptor dropped a frame: " + e);
+            }
+        }
+
+        private void acknowledge() throws IOException {
+            start("8");
+            response.setField(ORDER_ID, "LOOPBACK");
+            copy(CL_ORD_ID, CL_ORD_ID);
+            response.setField(EXEC_ID, (int) (++execId & Integer.MAX_VALUE));
+            response.setField(EXEC_TYPE, "0");
+            response.setField(ORD_STATUS, "0");
+            copy(SYMBOL, SYMBOL);
+            copy(SIDE, SIDE);
+            copy(ORDER_QTY, ORDER_QTY);
+            copy(ORDER_QTY, LEAVES_QTY);
+            response.setField(CUM_QTY, 0);
+            response.setField(AVG_PX, 0);
+            send();
+        }
+
+        private void start(String msgType) {
+            response.reset(msgType);
+            response.setField(FIXMessage.TAG_MSG_SEQ_NUM, outgoingSeqNum++);
+            response.setTimestampField(FIXMessage.TAG_SENDING_TIME, FIXTimestampEncoder.UTC_MILLIS);
+        }
+
+        private void copy(int fromTag, int toTag) {
+            int index = view.indexOf(fromTag);
+            if (index != -1) {
+                response.setField(toTag, view.getBuffer(), view.getValueOffset(index), view.getValueLength(index));
+            }
+        }
+
+        private void send() throws IOException {
+            out.clear();
+            encoder.encode(response, out);
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+}
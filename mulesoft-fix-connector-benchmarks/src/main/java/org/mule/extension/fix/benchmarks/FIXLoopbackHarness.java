@@ -0,0 +1,217 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.HdrHistogram.Histogram;
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.OutboundFlushMode;
+import org.mule.extension.fix.api.TransportType;
+import org.mule.extension.fix.internal.FIXConfiguration;
+import org.mule.extension.fix.internal.FIXConnection;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionState;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end loopback measurement: drives a real FIXConnection against an embedded {@link FIXLoopbackAcceptor}
+ * at a fixed order rate and records NewOrderSingle to ExecutionReport latency in HdrHistograms.
+ *
+ * Latency is measured twice: from the time each order was scheduled to go out (corrected for coordinated
+ * omission, i.e. a stall delays every order queued behind it) and from the time it actually went out.
+ * Only the corrected figures are meaningful for sizing; the uncorrected ones show how much a stall hides.
+ *
+ * Options (all --name=value): rate (orders/s, default 10000), duration (s, 30), warmup (s, 5),
+ * size (padding bytes per order, 0), transport (NIO|BLOCKING), dispatch (INLINE|VIRTUAL_THREAD|EXECUTOR),
+ * flush (LATENCY|THROUGHPUT), hgrm (file for the corrected percentile distribution).
+ */
+public final class FIXLoopbackHarness {
+
+    private static final String CLIENT = "CLIENT1";
+    private static final String SERVER = "SERVER1";
+    private static final int CL_ORD_ID = 11;
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final int rate;
+    private final int warmupOrders;
+    private final int totalOrders;
+    private final int paddingBytes;
+    private final long[] scheduledNanos;
+    private final long[] sentNanos;
+    private final Histogram corrected = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final Histogram uncorrected = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final AtomicLong acknowledged = new AtomicLong();
+    private volatile long lastAckNanos;
+
+    private FIXLoopbackHarness(int rate, int warmupSeconds, int durationSeconds, int paddingBytes) {
+        this.rate = rate;
+        this.warmupOrders = rate * warmupSeconds;
+        this.totalOrders = warmupOrders + rate * durationSeconds;
+        this.paddingBytes = paddingBytes;
+        this.scheduledNanos = new long[totalOrders];
+        this.sentNanos = new long[totalOrders];
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "10000"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int size = Integer.parseInt(options.getOrDefault("size", "0"));
+
+        FIXConfiguration config = new FIXConfiguration();
+        config.setBeginString("FIX.4.4");
+        config.setSenderCompId(CLIENT);
+        config.setTargetCompId(SERVER);
+        config.setHeartbeatInterval(30);
+        config.setResetSequenceOnLogon(true);
+        config.setValidateChecksum(true);
+        config.setTransportType(TransportType.valueOf(options.getOrDefault("transport", "NIO")));
+        config.setDispatchMode(DispatchMode.valueOf(options.getOrDefault("dispatch", "VIRTUAL_THREAD")));
+        config.setOutboundFlushMode(OutboundFlushMode.valueOf(options.getOrDefault("flush", "LATENCY")));
+
+        System.out.printf("Loopback run: %d orders/s for %ds after %ds warmup, %d padding bytes, transport=%s, dispatch=%s, flush=%s%n",
+            rate, duration, warmup, size, config.getTransportType(), config.getDispatchMode(), config.getOutboundFlushMode());
+
+        FIXLoopbackHarness harness = new FIXLoopbackHarness(rate, warmup, duration, size);
+        try (FIXLoopbackAcceptor acceptor = new FIXLoopbackAcceptor(SERVER, CLIENT)) {
+            int port = acceptor.start();
+            FIXConnection connection = new FIXConnection(config, "127.0.0.1", port);
+            try {
+                harness.run(connection);
+            } finally {
+                connection.invalidate();
+            }
+        }
+        harness.report(System.out);
+        String hgrm = options.get("hgrm");
+        if (hgrm != null) {
+            try (PrintStream out = new PrintStream(new FileOutputStream(hgrm))) {
+                // Values in microseconds
+                harness.corrected.outputPercentileDistribution(out, 1000.0);
+            }
+            System.out.println("Corrected percentile distribution written to " + hgrm);
+        }
+    }
+
+    private void run(FIXConnection connection) throws IOException, InterruptedException {
+        connection.getSessionManager().setMessageHandler(new FIXSessionManager.MessageHandler() {
+            @Override
+            public void onLogon(FIXSessionState session) {
+            }
+
+            @Override
+            public void onLogout(FIXSessionState session, String reason) {
+            }
+
+            @Override
+            public void onApplicationMessage(FIXSessionState session, FIXMessage message) {
+                onAck(message);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!connection.isConnected()) {
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Loopback session did not log on");
+            }
+            Thread.sleep(10);
+        }
+
+        String padding = paddingBytes > 0 ? "x".repeat(paddingBytes) : null;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        for (int i = 0; i < totalOrders; i++) {
+            long scheduled = start + i * interval;
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                if (scheduled - now > 50_000) {
+                    LockSupport.parkNanos(scheduled - now - 50_000);
+                }
+            }
+            scheduledNanos[i] = scheduled;
+            sentNanos[i] = now;
+            connection.sendMessage(order(connection, i, padding));
+        }
+
+        // Let in-flight acknowledgements arrive
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (acknowledged.get() < totalOrders && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static FIXMessage order(FIXConnection connection, int index, String padding) {
+        FIXMessage order = connection.getMessagePool().acquire("D");
+        order.setField(CL_ORD_ID, index);
+        order.setField(21, "1");
+        order.setField(55, "MSFT");
+        order.setField(54, "1");
+        order.setField(38, "100");
+        order.setField(40, "2");
+        order.setField(44, "415.27");
+        order.setField(59, "0");
+        if (padding != null) {
+            order.setField(FIXMessage.TAG_TEXT, padding);
+        }
+        return order;
+    }
+
+    /**
+     * Acknowledgements arrive one at a time (dispatch keeps session order), so the histograms need no locking
+     */
+    private void onAck(FIXMessage message) {
+        long now = System.nanoTime();
+        int index = message.getFieldAsInt(CL_ORD_ID, -1);
+        if (index < 0 || index >= totalOrders) {
+            return;
+        }
+        if (index >= warmupOrders) {
+            corrected.recordValue(Math.min(now - scheduledNanos[index], MAX_LATENCY_NANOS));
+            uncorrected.recordValue(Math.min(now - sentNanos[index], MAX_LATENCY_NANOS));
+            lastAckNanos = now;
+        }
+        acknowledged.incrementAndGet();
+    }
+
+    private void report(PrintStream out) {
+        long measured = corrected.getTotalCount();
+        int expected = totalOrders - warmupOrders;
+        double elapsedSeconds = measured > 0
+            ? (lastAckNanos - scheduledNanos[warmupOrders]) / 1e9
+            : 0;
+        out.printf("%nOrders measured: %d of %d (%d lost)%n", measured, expected, expected - measured);
+        out.printf("Sustained: %.0f acks/s (target %d orders/s)%n", elapsedSeconds > 0 ? measured / elapsedSeconds : 0, rate);
+        out.printf("%n%-28s %10s %10s %10s %10s %10s %12s%n", "Latency (us)", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+        print(out, "corrected (from schedule)", corrected);
+        print(out, "uncorrected (from send)", uncorrected);
+    }
+
+    private static void print(PrintStream out, String label, Histogram histogram) {
+        out.printf("%-28s %10.1f %10.1f %10.1f %10.1f %10.1f %12.1f%n", label,
+            histogram.getValueAtPercentile(50) / 1000.0,
+            histogram.getValueAtPercentile(90) / 1000.0,
+            histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getValueAtPercentile(99.99) / 1000.0,
+            histogram.getMaxValue() / 1000.0);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'; options: "
+                    + Arrays.asList("rate", "duration", "warmup", "size", "transport", "dispatch", "flush", "hgrm"));
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
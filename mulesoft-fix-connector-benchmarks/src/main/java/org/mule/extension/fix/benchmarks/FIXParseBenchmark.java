@@ -0,0 +1,64 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inbound parsing: String parse, zero-copy view and view materialization
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FIXParseBenchmark {
+
+    @Param({"NEW_ORDER_SINGLE", "EXECUTION_REPORT", "MARKET_DATA_SNAPSHOT"})
+    public FIXCorpus corpus;
+
+    private String frameString;
+    private byte[] frame;
+    private final FIXMessageView view = new FIXMessageView();
+
+    @Setup
+    public void setUp() {
+        frameString = corpus.frameString(1);
+        frame = corpus.frame(1);
+    }
+
+    @Benchmark
+    public FIXMessage parseString() throws FIXParseException {
+        return FIXMessageParser.parse(frameString);
+    }
+
+    @Benchmark
+    public FIXMessageView parseView() throws FIXParseException {
+        return FIXMessageParser.parse(frame, 0, frame.length, view);
+    }
+
+    @Benchmark
+    public FIXMessageView parseViewWithoutChecksum() throws FIXParseException {
+        return FIXMessageParser.parse(frame, 0, frame.length, view, false);
+    }
+
+    @Benchmark
+    public FIXMessage parseViewAndMaterialize() throws FIXParseException {
+        return FIXMessageParser.parse(frame, 0, frame.length, view).toFIXMessage();
+    }
+}
@@ -0,0 +1,78 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full inbound path of one in-sequence application message: parse, sequence validation, state save and
+ * dispatch to a handler (inline, no socket)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FIXSessionBenchmark {
+
+    // Frames are pre-built with consecutive MsgSeqNums and replayed in a loop
+    private static final int FRAMES = 4096;
+
+    @Param({"NEW_ORDER_SINGLE", "EXECUTION_REPORT", "MARKET_DATA_SNAPSHOT"})
+    public FIXCorpus corpus;
+
+    private FIXSessionManager manager;
+    private FIXSessionState session;
+    private byte[][] frames;
+    private int next;
+    private FIXMessage last;
+
+    @Setup
+    public void setUp() {
+        manager = new FIXSessionManager(FIXCorpus.BEGIN_STRING, true);
+        manager.setMessageHandler(new FIXSessionManager.MessageHandler() {
+            @Override
+            public void onLogon(FIXSessionState session) {
+            }
+
+            @Override
+            public void onLogout(FIXSessionState session, String reason) {
+            }
+
+            @Override
+            public void onApplicationMessage(FIXSessionState session, FIXMessage message) {
+                last = message;
+            }
+        });
+        session = manager.getStateManager().getOrCreateSession(FIXCorpus.TARGET, FIXCorpus.SENDER);
+        frames = new byte[FRAMES][];
+        for (int i = 0; i < FRAMES; i++) {
+            frames[i] = corpus.frame(i + 1);
+        }
+    }
+
+    @Benchmark
+    public FIXMessage processIncomingMessage() {
+        if (next == FRAMES) {
+            next = 0;
+            session.setIncomingSeqNum(1);
+        }
+        byte[] frame = frames[next++];
+        manager.processIncomingMessage(session, frame, 0, frame.length);
+        return last;
+    }
+}
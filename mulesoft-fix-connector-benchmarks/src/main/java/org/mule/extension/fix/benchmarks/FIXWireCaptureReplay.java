@@ -0,0 +1,262 @@
+package org.mule.extension.fix.benchmarks;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionState;
+import org.mule.extension.fix.internal.FIXWireCapture;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Offline replay of a {@link FIXWireCapture}: feeds the captured frames of one direction either through a
+ * FIXSessionManager's {@code processIncomingMessage} (no network; replies it would send are dropped) or over
+ * TCP into an acceptor, at the captured pace, a multiple of it, or as fast as possible.
+ *
+ * Options (all --name=value): capture (capture file or directory, required), target ({@code session}, the
+ * default, or host:port), direction (in|out; in for session, out for host:port), speed (original, max, or a
+ * factor such as 10 for ten times the captured pace; default original), print (true to print every frame).
+ */
+public final class FIXWireCaptureReplay {
+
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Where replayed frames go
+     */
+    public interface Target extends AutoCloseable {
+        void deliver(byte[] buffer, int offset, int length) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final byte direction;
+    private final double speed;
+    private final boolean print;
+    private long firstTimestamp = Long.MIN_VALUE;
+    private long startNanos;
+
+    /**
+     * @param direction {@link FIXWireCapture#INBOUND} or {@link FIXWireCapture#OUTBOUND} frames are replayed
+     * @param speed Multiple of the captured pace, or 0 for as fast as possible
+     * @param print Whether every replayed frame is printed
+     */
+    public FIXWireCaptureReplay(byte direction, double speed, boolean print) {
+        this.direction = direction;
+        this.speed = speed;
+        this.print = print;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String capture = options.get("capture");
+        if (capture == null) {
+            throw new IllegalArgumentException("--capture=<capture file or directory> is required");
+        }
+        String targetOption = options.getOrDefault("target", "session");
+        boolean toSession = "session".equals(targetOption);
+        String directionOption = options.getOrDefault("direction", toSession ? "in" : "out");
+        String speedOption = options.getOrDefault("speed", "original");
+        double speed = "max".equals(speedOption) ? 0 : "original".equals(speedOption) ? 1 : Double.parseDouble(speedOption);
+
+        FIXWireCaptureReplay replay = new FIXWireCaptureReplay("in".equals(directionOption) ? FIXWireCapture.INBOUND
+            : FIXWireCapture.OUTBOUND, speed, Boolean.parseBoolean(options.getOrDefault("print", "false")));
+        Path path = Paths.get(capture);
+        long start = System.nanoTime();
+        long replayed;
+        if (toSession) {
+            SessionTarget target = new SessionTarget();
+            replayed = replay.run(path, target);
+            printSummary(replayed, start);
+            System.out.printf("Application messages delivered: %d%n", target.getDelivered());
+            System.out.println(target.getManager().getMetrics().toJson());
+        } else {
+            int colon = targetOption.lastIndexOf(':');
+            try (SocketTarget target = new SocketTarget(new InetSocketAddress(targetOption.substring(0, colon),
+                    Integer.parseInt(targetOption.substring(colon + 1))))) {
+                replayed = replay.run(path, target);
+            }
+            printSummary(replayed, start);
+        }
+    }
+
+    /**
+     * Replay every frame of the configured direction into the target
+     *
+     * @return Number of frames replayed
+     */
+    public long run(Path capture, Target target) throws IOException {
+        long[] replayed = {0};
+        try (Target out = target) {
+            FIXWireCapture.read(capture, (recordDirection, timestamp, buffer, offset, length) -> {
+                if (recordDirection != direction) {
+                    return;
+                }
+                pace(timestamp);
+                if (print) {
+                    System.out.println(new String(buffer, offset, length, StandardCharsets.US_ASCII)
+                        .replace('\u0001', '|'));
+                }
+                out.deliver(buffer, offset, length);
+                replayed[0]++;
+            });
+        }
+        return replayed[0];
+    }
+
+    /**
+     * Wait until the frame's captured offset from the first frame (scaled by the speed) has passed
+     */
+    private void pace(long timestamp) {
+        if (firstTimestamp == Long.MIN_VALUE) {
+            firstTimestamp = timestamp;
+            startNanos = System.nanoTime();
+        }
+        if (speed <= 0) {
+            return;
+        }
+        long due = startNanos + (long) ((timestamp - firstTimestamp) / speed);
+        long now;
+        while ((now = System.nanoTime()) < due) {
+            if (due - now > SPIN_NANOS) {
+                LockSupport.parkNanos(due - now - SPIN_NANOS);
+            }
+        }
+    }
+
+    private static void printSummary(long replayed, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Replayed %d frames in %.3fs (%.0f frames/s)%n", replayed, seconds,
+            seconds > 0 ? replayed / seconds : 0);
+    }
+
+    /**
+     * Replays received frames through a session manager, as if they had just been read from the socket.
+     * The session is named after the first frame's comp ids; nothing is connected, so replies are dropped.
+     */
+    public static final class SessionTarget implements Target {
+        private final FIXSessionManager manager = new FIXSessionManager("FIX.4.4", true);
+        private final LongAdder delivered = new LongAdder();
+        private final FIXMessageView view = new FIXMessageView();
+        private FIXSessionState session;
+
+        public SessionTarget() {
+            manager.setMessageHandler(new FIXSessionManager.MessageHandler() {
+                @Override
+                public void onLogon(FIXSessionState session) {
+                }
+
+                @Override
+                public void onLogout(FIXSessionState session, String reason) {
+                }
+
+                @Override
+                public void onApplicationMessage(FIXSessionState session, FIXMessage message) {
+                    delivered.increment();
+                }
+            });
+        }
+
+        @Override
+        public void deliver(byte[] buffer, int offset, int length) throws IOException {
+            if (session == null) {
+                try {
+                    FIXMessageParser.parse(buffer, offset, length, view, false);
+                } catch (FIXParseException e) {
+                    throw new IOException("First replayed frame is unreadable", e);
+                }
+                // A received frame's TargetCompID is our SenderCompID
+                session = manager.getStateManager().getOrCreateSession(view.getField(FIXMessage.TAG_TARGET_COMP_ID),
+                    view.getField(FIXMessage.TAG_SENDER_COMP_ID));
+                // Captures usually start mid-session; begin at the first captured seqNum instead of a gap
+                if (view.getMsgSeqNum() > 0) {
+                    session.setIncomingSeqNum(view.getMsgSeqNum());
+                }
+            }
+            manager.processIncomingMessage(session, buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Session manager the frames were replayed through (its metrics cover the replay)
+         */
+        public FIXSessionManager getManager() {
+            return manager;
+        }
+
+        /**
+         * Number of application messages that reached the handler
+         */
+        public long getDelivered() {
+            return delivered.sum();
+        }
+    }
+
+    /**
+     * Writes frames to a TCP peer; whatever the peer sends back is read and discarded
+     */
+    public static final class SocketTarget implements Target {
+        private final SocketChannel channel;
+        private final Thread drain;
+
+        public SocketTarget(InetSocketAddress address) throws IOException {
+            channel = SocketChannel.open(address);
+            channel.socket().setTcpNoDelay(true);
+            drain = new Thread(() -> {
+                ByteBuffer discard = ByteBuffer.allocate(64 * 1024);
+                try {
+                    while (channel.read(discard.clear()) >= 0) {
+                        // Keep the peer's writes from backing up
+                    }
+                } catch (IOException e) {
+                    // Closed
+                }
+            }, "fix-replay-drain");
+            drain.setDaemon(true);
+            drain.start();
+        }
+
+        @Override
+        public void deliver(byte[] buffer, int offset, int length) throws IOException {
+            ByteBuffer frame = ByteBuffer.wrap(buffer, offset, length);
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'; options: "
+                    + Arrays.asList("capture", "target", "direction", "speed", "print"));
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
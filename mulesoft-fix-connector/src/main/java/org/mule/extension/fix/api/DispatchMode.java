@@ -0,0 +1,24 @@
+package org.mule.extension.fix.api;
+
+/**
+ * Where inbound messages are handed to the message handler (e.g. a listener's flow).
+ */
+public enum DispatchMode {
+
+    /**
+     * On the thread that read the message. A slow handler delays reading, heartbeats and every
+     * other session sharing the same I/O thread.
+     */
+    INLINE,
+
+    /**
+     * On virtual threads (pooled platform threads when the runtime does not support them), one message
+     * at a time per session
+     */
+    VIRTUAL_THREAD,
+
+    /**
+     * On a dedicated thread per session
+     */
+    EXECUTOR
+}
@@ -0,0 +1,310 @@
+package org.mule.extension.fix.api;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact, insertion-ordered field store backing FIXMessage.
+ * Tags live in a primitive int[] and values as ASCII bytes in a single byte[] addressed by
+ * offset/length, so nothing is boxed. Tags are found in O(1) through a small open-addressed index
+ * sized to the field count (128 bytes for a typical message), which grows with the fields.
+ * Setting an existing tag replaces its value in place (the original position is kept),
+ * matching LinkedHashMap ordering semantics. The new bytes overwrite the old ones when they fit; otherwise
+ * they are appended and the old bytes are reclaimed by compacting the data array before it would grow.
+ */
+final class FIXFieldTable implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_FIELDS = 16;
+    // Power of two, at least twice INITIAL_FIELDS so the index stays at most half full
+    private static final int INITIAL_INDEX = 32;
+    private static final int INITIAL_DATA = 256;
+    // Data arrays above this size are not kept for reuse by recycle()
+    private static final int MAX_RETAINED_DATA = 4096;
+    private static final int NULL_VALUE = -1;
+
+    int[] tags = new int[INITIAL_FIELDS];
+    int[] valueOffsets = new int[INITIAL_FIELDS];
+    // NULL_VALUE marks a field explicitly set to null
+    int[] valueLengths = new int[INITIAL_FIELDS];
+    byte[] data = new byte[INITIAL_DATA];
+    int fieldCount;
+    int dataLength;
+    // Bytes of data no longer referenced by any field (values that were overwritten)
+    private int garbage;
+
+    // Decoded Strings, filled lazily or when a field is set from a String
+    private String[] values = new String[INITIAL_FIELDS];
+    // Linear-probing table of position + 1 per tag (0 = empty slot)
+    private int[] tagIndex = new int[INITIAL_INDEX];
+
+    /**
+     * Find the position of a tag, or -1 if absent
+     */
+    int indexOf(int tag) {
+        int mask = tagIndex.length - 1;
+        for (int slot = hash(tag) & mask; ; slot = (slot + 1) & mask) {
+            int entry = tagIndex[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (tags[entry - 1] == tag) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Set a field from a String value
+     */
+    void put(int tag, String value) {
+        int index = slotFor(tag);
+        if (value == null) {
+            if (valueLengths[index] > 0) {
+                garbage += valueLengths[index];
+            }
+            valueOffsets[index] = dataLength;
+            valueLengths[index] = NULL_VALUE;
+            values[index] = null;
+            return;
+        }
+        int length = value.length();
+        int pos = reserve(index, length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            data[pos + i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        commit(index, pos, length);
+        values[index] = value;
+    }
+
+    /**
+     * Set a field from an int value, written as ASCII digits without allocating
+     */
+    void put(int tag, int value) {
+        int index = slotFor(tag);
+        int length = FIXMessageEncoder.digits(value);
+        int start = reserve(index, length);
+        int pos = start + length;
+        long remaining = value;
+        if (remaining < 0) {
+            data[start] = '-';
+            remaining = -remaining;
+        }
+        do {
+            data[--pos] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        commit(index, start, length);
+    }
+
+    /**
+     * Set a field from an ASCII byte slice (no String created)
+     */
+    void put(int tag, byte[] source, int offset, int length) {
+        int index = slotFor(tag);
+        int pos = reserve(index, length);
+        System.arraycopy(source, offset, data, pos, length);
+        commit(index, pos, length);
+    }
+
+    /**
+     * Set a field to the encoder's current UTC time, written straight into the data array
+     */
+    void putTimestamp(int tag, FIXTimestampEncoder timestamps) {
+        int index = slotFor(tag);
+        int length = timestamps.encodedLength();
+        int pos = reserve(index, length);
+        timestamps.encode(data, pos);
+        commit(index, pos, length);
+    }
+
+    /**
+     * Get the value at a position as a String (decoded once, then cached)
+     */
+    String valueAt(int index) {
+        String value = values[index];
+        if (value == null && valueLengths[index] != NULL_VALUE) {
+            value = new String(data, valueOffsets[index], valueLengths[index], StandardCharsets.US_ASCII);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Check whether the value at a position was explicitly set to null
+     */
+    boolean isNull(int index) {
+        return valueLengths[index] == NULL_VALUE;
+    }
+
+    /**
+     * Parse the value at a position as an int without allocating
+     *
+     * @throws NumberFormatException if the value is not a valid int
+     */
+    int intAt(int index) {
+        int length = valueLengths[index];
+        if (length <= 0) {
+            throw new NumberFormatException("For input string: \"" + valueAt(index) + "\"");
+        }
+        int pos = valueOffsets[index];
+        int end = pos + length;
+        boolean negative = data[pos] == '-';
+        if (negative || data[pos] == '+') {
+            pos++;
+        }
+        if (pos == end || end - pos > 10) {
+            throw new NumberFormatException("For input string: \"" + valueAt(index) + "\"");
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = data[pos] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + valueAt(index) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + valueAt(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Compare the value at a position with an ASCII string without allocating
+     */
+    boolean valueEquals(int index, String expected) {
+        if (valueLengths[index] != expected.length()) {
+            return false;
+        }
+        int pos = valueOffsets[index];
+        for (int i = 0; i < expected.length(); i++) {
+            if (data[pos + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove all fields, keeping the allocated arrays for reuse
+     */
+    void clear() {
+        Arrays.fill(values, 0, fieldCount, null);
+        Arrays.fill(tagIndex, 0);
+        fieldCount = 0;
+        dataLength = 0;
+        garbage = 0;
+    }
+
+    /**
+     * Remove all fields for reuse from a pool, dropping a data array that an unusually large message grew
+     */
+    void recycle() {
+        clear();
+        if (data.length > MAX_RETAINED_DATA) {
+            data = new byte[INITIAL_DATA];
+        }
+    }
+
+    /**
+     * Get the position for a tag, appending a new slot if the tag is not present yet
+     */
+    private int slotFor(int tag) {
+        int index = indexOf(tag);
+        if (index != -1) {
+            values[index] = null;
+            return index;
+        }
+        if (fieldCount == tags.length) {
+            int capacity = tags.length << 1;
+            tags = Arrays.copyOf(tags, capacity);
+            valueOffsets = Arrays.copyOf(valueOffsets, capacity);
+            valueLengths = Arrays.copyOf(valueLengths, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        index = fieldCount++;
+        tags[index] = tag;
+        // No previous value whose bytes could be reused
+        valueLengths[index] = NULL_VALUE;
+        if (fieldCount << 1 > tagIndex.length) {
+            tagIndex = new int[tagIndex.length << 1];
+            for (int i = 0; i < fieldCount; i++) {
+                insert(i);
+            }
+        } else {
+            insert(index);
+        }
+        return index;
+    }
+
+    private void insert(int index) {
+        int mask = tagIndex.length - 1;
+        int slot = hash(tags[index]) & mask;
+        while (tagIndex[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        tagIndex[slot] = index + 1;
+    }
+
+    private static int hash(int tag) {
+        int h = tag * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Get the offset to write a value of the given length for a position: over its previous value if that is
+     * at least as long, otherwise at the end of the data
+     */
+    private int reserve(int index, int length) {
+        int previous = valueLengths[index];
+        if (previous >= length) {
+            garbage += previous - length;
+            return valueOffsets[index];
+        }
+        if (previous > 0) {
+            garbage += previous;
+            // Not referenced any more, so compacting leaves it out
+            valueLengths[index] = NULL_VALUE;
+        }
+        if (dataLength + length > data.length) {
+            if (dataLength - garbage + length <= data.length) {
+                compact();
+            } else {
+                data = Arrays.copyOf(data, Math.max(data.length << 1, dataLength + length));
+            }
+        }
+        return dataLength;
+    }
+
+    private void commit(int index, int pos, int length) {
+        valueOffsets[index] = pos;
+        valueLengths[index] = length;
+        if (pos == dataLength) {
+            dataLength += length;
+        }
+    }
+
+    /**
+     * Move the values of every field together at the start of the data, dropping overwritten bytes
+     */
+    private void compact() {
+        byte[] compacted = new byte[data.length];
+        int length = 0;
+        for (int i = 0; i < fieldCount; i++) {
+            int valueLength = valueLengths[i];
+            if (valueLength > 0) {
+                System.arraycopy(data, valueOffsets[i], compacted, length, valueLength);
+                valueOffsets[i] = length;
+                length += valueLength;
+            }
+        }
+        data = compacted;
+        dataLength = length;
+        garbage = 0;
+    }
+}
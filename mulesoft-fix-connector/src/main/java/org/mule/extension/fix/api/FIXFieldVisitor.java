@@ -0,0 +1,19 @@
+package org.mule.extension.fix.api;
+
+/**
+ * Callback for zero-copy iteration over the fields of a FIXMessage in wire order.
+ * The value is exposed as an ASCII byte slice that is only valid for the duration of the call.
+ */
+@FunctionalInterface
+public interface FIXFieldVisitor {
+
+    /**
+     * Visit one field
+     *
+     * @param tag Field tag
+     * @param buffer Array holding the value bytes
+     * @param offset Offset of the value in the array
+     * @param length Length of the value, or -1 if the field was set to null
+     */
+    void onField(int tag, byte[] buffer, int offset, int length);
+}
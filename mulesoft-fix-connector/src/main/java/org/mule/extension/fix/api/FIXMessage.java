@@ -3,6 +3,7 @@ package org.mule.extension.fix.api;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Represents a FIX Protocol message with proper field ordering and checksum calculation.
@@ -32,6 +33,9 @@ public class FIXMessage implements Serializable {
     public static final int TAG_RESET_SEQ_NUM_FLAG = 141;
     public static final int TAG_TEXT = 58;
     public static final int TAG_ENCRYPT_METHOD = 98;
+    public static final int TAG_REF_SEQ_NUM = 45;
+    public static final int TAG_NEW_SEQ_NO = 36;
+    public static final int TAG_GAP_FILL_FLAG = 123;
     
     // Message Types
     public static final String MSG_TYPE_HEARTBEAT = "0";
@@ -42,7 +46,11 @@ public class FIXMessage implements Serializable {
     public static final String MSG_TYPE_LOGOUT = "5";
     public static final String MSG_TYPE_LOGON = "A";
     
-    private final LinkedHashMap<Integer, String> fields = new LinkedHashMap<>();
+    private final FIXFieldTable fields = new FIXFieldTable();
+    
+    // Owning pool (null for ordinary messages) and whether the message currently sits in it
+    private transient FIXMessagePool pool;
+    private transient volatile boolean free;
     
     public FIXMessage() {
     }
@@ -62,29 +70,60 @@ public class FIXMessage implements Serializable {
      * Set a field value (integer overload)
      */
     public void setField(int tag, int value) {
-        fields.put(tag, String.valueOf(value));
+        fields.put(tag, value);
+    }
+    
+    /**
+     * Set a field value from an ASCII byte slice without creating a String
+     */
+    public void setField(int tag, byte[] buffer, int offset, int length) {
+        fields.put(tag, buffer, offset, length);
+    }
+    
+    /**
+     * Set a UTCTimestamp field (e.g. SendingTime) to the current time without creating a String
+     */
+    public void setTimestampField(int tag, FIXTimestampEncoder timestamps) {
+        fields.putTimestamp(tag, timestamps);
     }
     
     /**
      * Get a field value
      */
     public String getField(int tag) {
-        return fields.get(tag);
+        int index = fields.indexOf(tag);
+        return index != -1 ? fields.valueAt(index) : null;
     }
     
     /**
      * Get a field value as integer
      */
     public Integer getFieldAsInt(int tag) {
-        String value = fields.get(tag);
-        return value != null ? Integer.parseInt(value) : null;
+        int index = fields.indexOf(tag);
+        return index != -1 && !fields.isNull(index) ? fields.intAt(index) : null;
+    }
+    
+    /**
+     * Get a field value as a primitive int, or the default if the field is absent
+     */
+    public int getFieldAsInt(int tag, int defaultValue) {
+        int index = fields.indexOf(tag);
+        return index != -1 && !fields.isNull(index) ? fields.intAt(index) : defaultValue;
+    }
+    
+    /**
+     * Compare a field value with an expected string without allocating
+     */
+    public boolean fieldEquals(int tag, String expected) {
+        int index = fields.indexOf(tag);
+        return index != -1 && fields.valueEquals(index, expected);
     }
     
     /**
      * Check if field exists
      */
     public boolean hasField(int tag) {
-        return fields.containsKey(tag);
+        return fields.indexOf(tag) != -1;
     }
     
     /**
@@ -105,14 +144,122 @@ public class FIXMessage implements Serializable {
      * Check if this is a duplicate message (PossDupFlag = Y)
      */
     public boolean isPossDup() {
-        return "Y".equals(getField(TAG_POSS_DUP_FLAG));
+        return fieldEquals(TAG_POSS_DUP_FLAG, "Y");
+    }
+    
+    /**
+     * Get the number of fields
+     */
+    public int getFieldCount() {
+        return fields.fieldCount;
+    }
+    
+    /**
+     * Get the tag of the field at the given position (insertion order)
+     */
+    public int getTagAt(int index) {
+        checkIndex(index);
+        return fields.tags[index];
+    }
+    
+    /**
+     * Get the value of the field at the given position (insertion order)
+     */
+    public String getValueAt(int index) {
+        checkIndex(index);
+        return fields.valueAt(index);
     }
     
     /**
-     * Get all fields
+     * Visit every field in insertion order without copying or creating Strings
+     */
+    public void forEachField(FIXFieldVisitor visitor) {
+        FIXFieldTable table = fields;
+        for (int i = 0; i < table.fieldCount; i++) {
+            visitor.onField(table.tags[i], table.data, table.valueOffsets[i], table.valueLengths[i]);
+        }
+    }
+    
+    /**
+     * Get all fields (defensive copy; prefer {@link #forEachField} or the indexed accessors)
      */
     public Map<Integer, String> getFields() {
-        return new LinkedHashMap<>(fields);
+        Map<Integer, String> copy = new LinkedHashMap<>();
+        for (int i = 0; i < fields.fieldCount; i++) {
+            copy.put(fields.tags[i], fields.valueAt(i));
+        }
+        return copy;
+    }
+    
+    /**
+     * Remove all fields so the message can be reused
+     */
+    public void reset() {
+        fields.clear();
+    }
+    
+    /**
+     * Remove all fields and set a new MsgType
+     */
+    public void reset(String msgType) {
+        fields.clear();
+        setField(TAG_MSG_TYPE, msgType);
+    }
+    
+    /**
+     * Check if this message was acquired from a FIXMessagePool
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+    
+    /**
+     * Return a pooled message to its pool; a no-op for ordinary messages
+     */
+    public void release() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+    
+    /**
+     * Clear a message returned to its pool, shrinking storage an unusually large message grew
+     */
+    void recycle() {
+        fields.recycle();
+    }
+    
+    void attachPool(FIXMessagePool owner) {
+        this.pool = owner;
+        this.free = true;
+    }
+    
+    boolean isOwnedBy(FIXMessagePool owner) {
+        return pool == owner;
+    }
+    
+    void markAcquired() {
+        free = false;
+    }
+    
+    void markReleased() {
+        if (free) {
+            throw new IllegalStateException("Pooled FIXMessage released twice");
+        }
+        free = true;
+    }
+    
+    /**
+     * Backing field table for encoders in this package
+     */
+    FIXFieldTable fieldTable() {
+        return fields;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fields.fieldCount) {
+            throw new IndexOutOfBoundsException("Field index " + index + " out of range: " + fields.fieldCount);
+        }
     }
     
     /**
@@ -120,56 +267,25 @@ public class FIXMessage implements Serializable {
      * Checksum is sum of all bytes (modulo 256) in the message up to but not including the checksum field
      */
     public static String calculateChecksum(String message) {
+        // FIX is ASCII on the wire, so each char is one byte; avoids getBytes() and String.format
         int checksum = 0;
-        for (byte b : message.getBytes()) {
-            checksum += b;
+        for (int i = 0; i < message.length(); i++) {
+            checksum += (byte) message.charAt(i);
         }
-        checksum = checksum % 256;
-        return String.format("%03d", checksum);
+        checksum = checksum & 0xFF;
+        return new String(new char[] {
+            (char) ('0' + checksum / 100), (char) ('0' + checksum / 10 % 10), (char) ('0' + checksum % 10)
+        });
     }
     
     /**
      * Build the complete FIX message string with proper framing
      * Message structure: BeginString(8) | BodyLength(9) | [Header + Body] | Checksum(10)
+     * Hot paths should use {@link FIXMessageEncoder} with a reusable buffer instead.
      */
     public String toFIXString(String beginString, String senderCompId, String targetCompId) {
-        // Build body (everything between BodyLength and Checksum)
-        StringBuilder body = new StringBuilder();
-        
-        // Message Type (required in header)
-        body.append(TAG_MSG_TYPE).append('=').append(getField(TAG_MSG_TYPE)).append(SOH);
-        
-        // Sender and Target (required in header)
-        body.append(TAG_SENDER_COMP_ID).append('=').append(senderCompId).append(SOH);
-        body.append(TAG_TARGET_COMP_ID).append('=').append(targetCompId).append(SOH);
-        
-        // Add remaining fields (except BeginString, BodyLength, MsgType, and Checksum which are handled separately)
-        for (Map.Entry<Integer, String> entry : fields.entrySet()) {
-            int tag = entry.getKey();
-            if (tag != TAG_BEGIN_STRING && tag != TAG_BODY_LENGTH && 
-                tag != TAG_MSG_TYPE && tag != TAG_CHECKSUM &&
-                tag != TAG_SENDER_COMP_ID && tag != TAG_TARGET_COMP_ID) {
-                body.append(tag).append('=').append(entry.getValue()).append(SOH);
-            }
-        }
-        
-        // Calculate body length
-        int bodyLength = body.length();
-        
-        // Build header
-        StringBuilder header = new StringBuilder();
-        header.append(TAG_BEGIN_STRING).append('=').append(beginString).append(SOH);
-        header.append(TAG_BODY_LENGTH).append('=').append(bodyLength).append(SOH);
-        
-        // Combine header and body for checksum calculation
-        String messageForChecksum = header.toString() + body.toString();
-        String checksum = calculateChecksum(messageForChecksum);
-        
-        // Build complete message
-        StringBuilder completeMessage = new StringBuilder(messageForChecksum);
-        completeMessage.append(TAG_CHECKSUM).append('=').append(checksum).append(SOH);
-        
-        return completeMessage.toString();
+        byte[] frame = new FIXMessageEncoder(beginString, senderCompId, targetCompId).encode(this);
+        return new String(frame, StandardCharsets.US_ASCII);
     }
     
     @Override
@@ -177,7 +293,14 @@ public class FIXMessage implements Serializable {
         StringBuilder sb = new StringBuilder("FIXMessage{");
         sb.append("MsgType=").append(getField(TAG_MSG_TYPE));
         sb.append(", SeqNum=").append(getField(TAG_MSG_SEQ_NUM));
-        sb.append(", fields=").append(fields);
+        sb.append(", fields={");
+        for (int i = 0; i < fields.fieldCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(fields.tags[i]).append('=').append(fields.valueAt(i));
+        }
+        sb.append('}');
         sb.append('}');
         return sb.toString();
     }
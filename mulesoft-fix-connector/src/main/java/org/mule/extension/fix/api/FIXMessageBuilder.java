@@ -1,7 +1,6 @@
 package org.mule.extension.fix.api;
 
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Builder for constructing FIX protocol messages with proper formatting.
@@ -9,15 +8,19 @@ import java.time.format.DateTimeFormatter;
  */
 public class FIXMessageBuilder {
     
-    private static final DateTimeFormatter FIX_TIMESTAMP_FORMAT = 
-        DateTimeFormatter.ofPattern("yyyyMMdd-HH:mm:ss.SSS");
-    
     private final FIXMessage message;
     
     public FIXMessageBuilder(String msgType) {
         this.message = new FIXMessage(msgType);
     }
     
+    /**
+     * Build on top of an existing message, e.g. one acquired from a FIXMessagePool
+     */
+    public FIXMessageBuilder(FIXMessage message) {
+        this.message = message;
+    }
+    
     /**
      * Add standard header fields
      */
@@ -28,10 +31,19 @@ public class FIXMessageBuilder {
     }
     
     /**
-     * Add standard header fields with current timestamp
+     * Add standard header fields with the current UTC timestamp (millisecond precision)
      */
     public FIXMessageBuilder withHeader(int seqNum) {
-        return withHeader(seqNum, getCurrentFIXTimestamp());
+        return withHeader(seqNum, FIXTimestampEncoder.UTC_MILLIS);
+    }
+    
+    /**
+     * Add standard header fields with the current UTC timestamp from the given encoder
+     */
+    public FIXMessageBuilder withHeader(int seqNum, FIXTimestampEncoder timestamps) {
+        message.setField(FIXMessage.TAG_MSG_SEQ_NUM, seqNum);
+        message.setTimestampField(FIXMessage.TAG_SENDING_TIME, timestamps);
+        return this;
     }
     
     /**
@@ -151,7 +163,7 @@ public class FIXMessageBuilder {
     public static FIXMessageBuilder reject(int seqNum, int refSeqNum, String reason) {
         return new FIXMessageBuilder(FIXMessage.MSG_TYPE_REJECT)
             .withHeader(seqNum)
-            .withField(45, refSeqNum) // RefSeqNum
+            .withField(FIXMessage.TAG_REF_SEQ_NUM, refSeqNum)
             .withField(FIXMessage.TAG_TEXT, reason);
     }
     
@@ -161,27 +173,27 @@ public class FIXMessageBuilder {
     public static FIXMessageBuilder sequenceReset(int seqNum, int newSeqNo, boolean gapFillFlag) {
         FIXMessageBuilder builder = new FIXMessageBuilder(FIXMessage.MSG_TYPE_SEQUENCE_RESET)
             .withHeader(seqNum)
-            .withField(36, newSeqNo); // NewSeqNo
+            .withField(FIXMessage.TAG_NEW_SEQ_NO, newSeqNo);
         
         if (gapFillFlag) {
-            builder.withField(123, "Y"); // GapFillFlag
+            builder.withField(FIXMessage.TAG_GAP_FILL_FLAG, "Y");
         }
         
         return builder;
     }
     
     /**
-     * Get current timestamp in FIX format (yyyyMMdd-HH:mm:ss.SSS)
+     * Get current UTC timestamp in FIX format (yyyyMMdd-HH:mm:ss.SSS)
      */
     public static String getCurrentFIXTimestamp() {
-        return ZonedDateTime.now().format(FIX_TIMESTAMP_FORMAT);
+        return FIXTimestampEncoder.UTC_MILLIS.now();
     }
     
     /**
-     * Format a ZonedDateTime to FIX timestamp
+     * Format a ZonedDateTime to FIX timestamp (converted to UTC, as FIX requires)
      */
     public static String toFIXTimestamp(ZonedDateTime dateTime) {
-        return dateTime.format(FIX_TIMESTAMP_FORMAT);
+        return FIXTimestampEncoder.UTC_MILLIS.format(dateTime.toInstant());
     }
 }
 
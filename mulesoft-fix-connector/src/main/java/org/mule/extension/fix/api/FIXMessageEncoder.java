@@ -0,0 +1,245 @@
+package org.mule.extension.fix.api;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes FIXMessage objects straight into a caller-supplied ByteBuffer.
+ * The frame is pre-sized in one pass over the fields, so BodyLength(9) is known before the
+ * first byte is written; ints are written as ASCII digits without String.valueOf and the
+ * CheckSum(10) is accumulated while writing. One encoder is created per session because the
+ * BeginString, SenderCompID and TargetCompID bytes are precomputed.
+ * Values are written as US-ASCII (non-ASCII characters become '?'). Not thread-safe.
+ */
+public final class FIXMessageEncoder {
+
+    private static final byte SOH = 0x01;
+    // "10=" + three digits + SOH
+    private static final int TRAILER_LENGTH = 7;
+    // Null values have always been written as "null" (StringBuilder semantics)
+    private static final byte[] NULL_VALUE = {'n', 'u', 'l', 'l'};
+    // Written right after TargetCompID, wherever they were set in the message
+    private static final int[] HEADER_TAGS = {
+        FIXMessage.TAG_MSG_SEQ_NUM, FIXMessage.TAG_POSS_DUP_FLAG, FIXMessage.TAG_POSS_RESEND,
+        FIXMessage.TAG_SENDING_TIME, FIXMessage.TAG_ORIG_SENDING_TIME
+    };
+
+    private final byte[] beginString;
+    private final byte[] senderCompId;
+    private final byte[] targetCompId;
+
+    private int checksum;
+
+    public FIXMessageEncoder(String beginString, String senderCompId, String targetCompId) {
+        this.beginString = ascii(beginString);
+        this.senderCompId = ascii(senderCompId);
+        this.targetCompId = ascii(targetCompId);
+    }
+
+    /**
+     * Calculate the exact encoded size of a message in bytes
+     */
+    public int encodedLength(FIXMessage message) {
+        int bodyLength = bodyLength(message);
+        return 2 + beginString.length + 1 + 2 + digits(bodyLength) + 1 + bodyLength + TRAILER_LENGTH;
+    }
+
+    /**
+     * Encode a message at the buffer's current position and advance it past the frame.
+     * Nothing is written if the buffer does not have room for the whole frame.
+     *
+     * @param message Message to encode
+     * @param out Destination buffer (heap or direct)
+     * @return Number of bytes written
+     * @throws BufferOverflowException if the frame does not fit in the remaining space
+     */
+    public int encode(FIXMessage message, ByteBuffer out) {
+        int bodyLength = bodyLength(message);
+        int frameLength = 2 + beginString.length + 1 + 2 + digits(bodyLength) + 1 + bodyLength + TRAILER_LENGTH;
+        if (out.remaining() < frameLength) {
+            throw new BufferOverflowException();
+        }
+
+        checksum = 0;
+
+        // Standard header: BeginString, BodyLength
+        putTag(out, FIXMessage.TAG_BEGIN_STRING);
+        putBytes(out, beginString);
+        put(out, SOH);
+        putTag(out, FIXMessage.TAG_BODY_LENGTH);
+        putInt(out, bodyLength);
+        put(out, SOH);
+
+        // MsgType, SenderCompID, TargetCompID, then the other header fields
+        FIXFieldTable fields = message.fieldTable();
+        int msgTypeIndex = fields.indexOf(FIXMessage.TAG_MSG_TYPE);
+        putTag(out, FIXMessage.TAG_MSG_TYPE);
+        if (msgTypeIndex == -1 || fields.isNull(msgTypeIndex)) {
+            putBytes(out, NULL_VALUE);
+        } else {
+            putBytes(out, fields.data, fields.valueOffsets[msgTypeIndex], fields.valueLengths[msgTypeIndex]);
+        }
+        put(out, SOH);
+        putTag(out, FIXMessage.TAG_SENDER_COMP_ID);
+        putBytes(out, senderCompId);
+        put(out, SOH);
+        putTag(out, FIXMessage.TAG_TARGET_COMP_ID);
+        putBytes(out, targetCompId);
+        put(out, SOH);
+
+        for (int tag : HEADER_TAGS) {
+            putField(out, fields, fields.indexOf(tag));
+        }
+
+        for (int i = 0; i < fields.fieldCount; i++) {
+            int tag = fields.tags[i];
+            if (isBodyField(tag)) {
+                putField(out, fields, i);
+            }
+        }
+
+        // Trailer: CheckSum (not part of its own sum)
+        int sum = checksum & 0xFF;
+        out.put((byte) '1').put((byte) '0').put((byte) '=')
+            .put((byte) ('0' + sum / 100))
+            .put((byte) ('0' + sum / 10 % 10))
+            .put((byte) ('0' + sum % 10))
+            .put(SOH);
+
+        return frameLength;
+    }
+
+    /**
+     * Encode a message into a new exactly-sized array (convenience for non hot-path callers)
+     */
+    public byte[] encode(FIXMessage message) {
+        ByteBuffer out = ByteBuffer.allocate(encodedLength(message));
+        encode(message, out);
+        return out.array();
+    }
+
+    /**
+     * Number of bytes between the BodyLength SOH and the CheckSum tag
+     */
+    private int bodyLength(FIXMessage message) {
+        FIXFieldTable fields = message.fieldTable();
+        int msgTypeIndex = fields.indexOf(FIXMessage.TAG_MSG_TYPE);
+        int msgTypeLength = msgTypeIndex == -1 || fields.isNull(msgTypeIndex)
+            ? NULL_VALUE.length : fields.valueLengths[msgTypeIndex];
+        int length = 3 + msgTypeLength + 1
+            + 3 + senderCompId.length + 1
+            + 3 + targetCompId.length + 1;
+        for (int i = 0; i < fields.fieldCount; i++) {
+            int tag = fields.tags[i];
+            if (tag != FIXMessage.TAG_BEGIN_STRING && tag != FIXMessage.TAG_BODY_LENGTH
+                    && tag != FIXMessage.TAG_MSG_TYPE && tag != FIXMessage.TAG_CHECKSUM
+                    && tag != FIXMessage.TAG_SENDER_COMP_ID && tag != FIXMessage.TAG_TARGET_COMP_ID) {
+                int valueLength = fields.isNull(i) ? NULL_VALUE.length : fields.valueLengths[i];
+                length += digits(tag) + 1 + valueLength + 1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isBodyField(int tag) {
+        return tag != FIXMessage.TAG_BEGIN_STRING && tag != FIXMessage.TAG_BODY_LENGTH
+            && tag != FIXMessage.TAG_MSG_TYPE && tag != FIXMessage.TAG_CHECKSUM
+            && tag != FIXMessage.TAG_SENDER_COMP_ID && tag != FIXMessage.TAG_TARGET_COMP_ID
+            && !isHeaderTag(tag);
+    }
+
+    private static boolean isHeaderTag(int tag) {
+        for (int headerTag : HEADER_TAGS) {
+            if (tag == headerTag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the field at a table position as tag=value SOH (nothing if the position is -1)
+     */
+    private void putField(ByteBuffer out, FIXFieldTable fields, int index) {
+        if (index == -1) {
+            return;
+        }
+        putTag(out, fields.tags[index]);
+        if (fields.isNull(index)) {
+            putBytes(out, NULL_VALUE);
+        } else {
+            putBytes(out, fields.data, fields.valueOffsets[index], fields.valueLengths[index]);
+        }
+        put(out, SOH);
+    }
+
+    private void put(ByteBuffer out, byte b) {
+        checksum += b;
+        out.put(b);
+    }
+
+    private void putBytes(ByteBuffer out, byte[] bytes) {
+        for (byte b : bytes) {
+            checksum += b;
+        }
+        out.put(bytes);
+    }
+
+    private void putBytes(ByteBuffer out, byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            checksum += bytes[i];
+        }
+        out.put(bytes, offset, length);
+    }
+
+    private void putTag(ByteBuffer out, int tag) {
+        putInt(out, tag);
+        put(out, (byte) '=');
+    }
+
+    /**
+     * Write an int as ASCII digits without allocating
+     */
+    private void putInt(ByteBuffer out, int value) {
+        // long so that -Integer.MIN_VALUE is positive
+        long remaining = value;
+        if (remaining < 0) {
+            put(out, (byte) '-');
+            remaining = -remaining;
+        }
+        long divisor = 1;
+        for (long n = remaining; n >= 10; n /= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            put(out, (byte) ('0' + remaining / divisor % 10));
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Number of ASCII characters needed to write an int
+     */
+    static int digits(int value) {
+        long remaining = value;
+        int digits = 1;
+        if (remaining < 0) {
+            remaining = -remaining;
+            digits++;
+        }
+        while (remaining >= 10) {
+            remaining /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static byte[] ascii(String value) {
+        byte[] bytes = new byte[value.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = value.charAt(i);
+            bytes[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        return bytes;
+    }
+}
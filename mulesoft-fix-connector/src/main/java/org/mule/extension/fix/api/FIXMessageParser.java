@@ -3,14 +3,18 @@ package org.mule.extension.fix.api;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Parser for FIX Protocol messages with checksum validation.
- * Handles the parsing of raw FIX message strings into FIXMessage objects.
+ * Handles the parsing of raw FIX message strings and byte frames into FIXMessage objects.
  */
 public class FIXMessageParser {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(FIXMessageParser.class);
     private static final char SOH = '\u0001'; // Start of Header delimiter
+    private static final int MAX_TAG_DIGITS = 9;
     
     /**
      * Parse a raw FIX message string into a FIXMessage object
@@ -20,86 +24,232 @@ public class FIXMessageParser {
      * @throws FIXParseException if the message is invalid or checksum fails
      */
     public static FIXMessage parse(String rawMessage) throws FIXParseException {
+        return parse(rawMessage, true);
+    }
+    
+    /**
+     * Parse a raw FIX message string into a FIXMessage object
+     * 
+     * @param rawMessage The raw FIX message string
+     * @param validateChecksum Whether to verify CheckSum(10); when false the byte sum is skipped entirely
+     * @return Parsed FIXMessage object
+     * @throws FIXParseException if the message is invalid or checksum fails
+     */
+    public static FIXMessage parse(String rawMessage, boolean validateChecksum) throws FIXParseException {
         if (rawMessage == null || rawMessage.isEmpty()) {
             throw new FIXParseException("Message is null or empty");
         }
         
-        FIXMessage message = new FIXMessage();
-        
-        // Split by SOH delimiter
-        String[] fields = rawMessage.split(String.valueOf(SOH));
-        
-        String checksumField = null;
-        String messageWithoutChecksum = null;
-        
-        // Parse all fields
-        for (int i = 0; i < fields.length; i++) {
-            String field = fields[i];
-            if (field.isEmpty()) {
-                continue;
+        byte[] bytes = rawMessage.getBytes(StandardCharsets.US_ASCII);
+        return parse(bytes, 0, bytes.length, new FIXMessageView(), validateChecksum).toFIXMessage();
+    }
+    
+    /**
+     * Parse a FIX frame straight from a ByteBuffer into a reusable view.
+     * Reads the buffer's remaining bytes without changing its position. Heap buffers are
+     * parsed in place; direct buffers are copied once into the view's scratch array.
+     *
+     * @param frame Buffer positioned at the start of exactly one FIX frame
+     * @param view View to populate (reused across calls)
+     * @return The populated view
+     * @throws FIXParseException if the frame is malformed or checksum fails
+     */
+    public static FIXMessageView parse(ByteBuffer frame, FIXMessageView view) throws FIXParseException {
+        return parse(frame, view, true);
+    }
+
+    /**
+     * Parse a FIX frame straight from a ByteBuffer into a reusable view, skipping checksum validation
+     * when requested. See {@link #parse(ByteBuffer, FIXMessageView)}.
+     */
+    public static FIXMessageView parse(ByteBuffer frame, FIXMessageView view, boolean validateChecksum)
+            throws FIXParseException {
+        int length = frame.remaining();
+        if (frame.hasArray()) {
+            return parse(frame.array(), frame.arrayOffset() + frame.position(), length, view, validateChecksum);
+        }
+        byte[] scratch = view.scratch(length);
+        frame.get(frame.position(), scratch, 0, length);
+        return parse(scratch, 0, length, view, validateChecksum);
+    }
+
+    /**
+     * Parse a FIX frame from a byte array slice into a reusable view.
+     * Tags are decoded as ints in a single pass; values are recorded as offset/length
+     * pairs into the given array, so no Strings are created.
+     *
+     * @param buffer Array holding the frame
+     * @param offset Offset of the first byte of the frame
+     * @param length Length of the frame in bytes
+     * @param view View to populate (reused across calls)
+     * @return The populated view
+     * @throws FIXParseException if the frame is malformed or checksum fails
+     */
+    public static FIXMessageView parse(byte[] buffer, int offset, int length, FIXMessageView view)
+            throws FIXParseException {
+        return parse(buffer, offset, length, view, true);
+    }
+
+    /**
+     * Parse a FIX frame from a byte array slice into a reusable view.
+     * The CheckSum(10) byte sum and the BodyLength(9) check are accumulated while the
+     * tokenizer walks the bytes, so a frame is validated without a second scan or copy.
+     * BeginString(8) and BodyLength(9) must be the first two fields and CheckSum(10) the last.
+     *
+     * @param buffer Array holding the frame
+     * @param offset Offset of the first byte of the frame
+     * @param length Length of the frame in bytes
+     * @param view View to populate (reused across calls)
+     * @param validateChecksum Whether to verify CheckSum(10); when false the byte sum is skipped entirely
+     * @return The populated view
+     * @throws FIXParseException if the frame is malformed, truncated or checksum fails
+     */
+    public static FIXMessageView parse(byte[] buffer, int offset, int length, FIXMessageView view,
+                                       boolean validateChecksum) throws FIXParseException {
+        if (buffer == null || length <= 0) {
+            throw new FIXParseException("Message is null or empty");
+        }
+
+        view.reset(buffer, offset, length);
+
+        int end = offset + length;
+        int pos = offset;
+        int sum = 0;
+        int bodyStart = -1;
+        int declaredBodyLength = -1;
+
+        while (pos < end) {
+            int fieldStart = pos;
+            int sumBeforeField = sum;
+
+            // Decode tag digits up to '='
+            int tag = 0;
+            byte b;
+            while (pos < end && (b = buffer[pos]) != '=') {
+                int digit = b - '0';
+                if (digit < 0 || digit > 9 || pos - fieldStart == MAX_TAG_DIGITS) {
+                    throw new FIXParseException("Invalid tag number at offset " + (fieldStart - offset));
+                }
+                tag = tag * 10 + digit;
+                sum += b;
+                pos++;
             }
-            
-            int equalsIndex = field.indexOf('=');
-            if (equalsIndex == -1) {
-                LOGGER.warn("Invalid field format (no '=' found): {}", field);
-                continue;
+            if (pos == fieldStart || pos == end) {
+                throw new FIXParseException("Invalid field format at offset " + (fieldStart - offset));
             }
-            
-            try {
-                int tag = Integer.parseInt(field.substring(0, equalsIndex));
-                String value = field.substring(equalsIndex + 1);
-                
-                // Store checksum separately for validation
-                if (tag == FIXMessage.TAG_CHECKSUM) {
-                    checksumField = value;
-                    // Calculate where checksum starts for validation
-                    int checksumStart = rawMessage.lastIndexOf(SOH + FIXMessage.TAG_CHECKSUM + "=");
-                    if (checksumStart != -1) {
-                        messageWithoutChecksum = rawMessage.substring(0, checksumStart + 1);
-                    }
-                } else {
-                    message.setField(tag, value);
+            sum += '=';
+
+            // Scan value up to SOH
+            int valueStart = ++pos;
+            if (validateChecksum) {
+                while (pos < end && (b = buffer[pos]) != SOH) {
+                    sum += b;
+                    pos++;
+                }
+            } else {
+                while (pos < end && buffer[pos] != SOH) {
+                    pos++;
                 }
-            } catch (NumberFormatException e) {
-                LOGGER.warn("Invalid tag number in field: {}", field, e);
+            }
+            if (pos == end) {
+                throw new FIXParseException("Truncated message: field " + tag + " is not terminated by SOH");
+            }
+            sum += SOH;
+
+            int fieldIndex = view.getFieldCount();
+            view.addField(tag, valueStart, pos - valueStart);
+            pos++;
+
+            // Standard header framing: 8= first, 9= second
+            if (fieldIndex == 0 && tag != FIXMessage.TAG_BEGIN_STRING) {
+                throw new FIXParseException("BeginString (8) must be the first field");
+            }
+            if (fieldIndex == 1) {
+                if (tag != FIXMessage.TAG_BODY_LENGTH) {
+                    throw new FIXParseException("BodyLength (9) must be the second field");
+                }
+                declaredBodyLength = view.getFieldAsInt(FIXMessage.TAG_BODY_LENGTH, -1);
+                if (declaredBodyLength < 0) {
+                    throw new FIXParseException("Invalid BodyLength (9)");
+                }
+                bodyStart = pos;
+                if (bodyStart + declaredBodyLength > end) {
+                    throw new FIXParseException(String.format(
+                        "Truncated message: BodyLength is %d but only %d bytes follow",
+                        declaredBodyLength, end - bodyStart));
+                }
+            }
+
+            if (tag == FIXMessage.TAG_CHECKSUM) {
+                if (fieldStart - bodyStart != declaredBodyLength) {
+                    throw new FIXParseException(String.format(
+                        "BodyLength validation failed. Declared: %d, Actual: %d",
+                        declaredBodyLength, fieldStart - bodyStart));
+                }
+                if (pos != end) {
+                    throw new FIXParseException("Unexpected data after CheckSum (10)");
+                }
+                if (validateChecksum) {
+                    validateChecksum(view, fieldIndex, sumBeforeField & 0xFF);
+                }
+                break;
             }
         }
-        
-        // Validate checksum
-        if (checksumField != null && messageWithoutChecksum != null) {
-            String calculatedChecksum = FIXMessage.calculateChecksum(messageWithoutChecksum);
-            if (!checksumField.equals(calculatedChecksum)) {
-                throw new FIXParseException(
-                    String.format("Checksum validation failed. Expected: %s, Calculated: %s", 
-                                  checksumField, calculatedChecksum));
+
+        if (!view.hasField(FIXMessage.TAG_CHECKSUM)) {
+            if (bodyStart != -1 && end - bodyStart != declaredBodyLength) {
+                throw new FIXParseException(String.format(
+                    "BodyLength validation failed. Declared: %d, Actual: %d",
+                    declaredBodyLength, end - bodyStart));
             }
-        } else {
             LOGGER.warn("Checksum field not found in message");
         }
-        
-        // Validate required fields
-        validateRequiredFields(message);
-        
-        return message;
+
+        validateRequiredFields(view);
+
+        return view;
     }
-    
+
+    /**
+     * Compare the CheckSum(10) value at the given position against the accumulated sum
+     */
+    private static void validateChecksum(FIXMessageView view, int checksumIndex, int calculated)
+            throws FIXParseException {
+        byte[] buffer = view.getBuffer();
+        int valueOffset = view.getValueOffset(checksumIndex);
+        int expected = -1;
+        if (view.getValueLength(checksumIndex) == 3) {
+            int d0 = buffer[valueOffset] - '0';
+            int d1 = buffer[valueOffset + 1] - '0';
+            int d2 = buffer[valueOffset + 2] - '0';
+            if ((d0 | d1 | d2) >= 0 && d0 <= 9 && d1 <= 9 && d2 <= 9) {
+                expected = d0 * 100 + d1 * 10 + d2;
+            }
+        }
+        if (expected != calculated) {
+            throw new FIXParseException(
+                String.format("Checksum validation failed. Expected: %s, Calculated: %03d",
+                              view.getValue(checksumIndex), calculated));
+        }
+    }
+
     /**
-     * Validate that required FIX fields are present
+     * Validate that required FIX fields are present in a parsed view
      */
-    private static void validateRequiredFields(FIXMessage message) throws FIXParseException {
-        if (!message.hasField(FIXMessage.TAG_MSG_TYPE)) {
+    private static void validateRequiredFields(FIXMessageView view) throws FIXParseException {
+        if (!view.hasField(FIXMessage.TAG_MSG_TYPE)) {
             throw new FIXParseException("Missing required field: MsgType (35)");
         }
-        if (!message.hasField(FIXMessage.TAG_MSG_SEQ_NUM)) {
+        if (!view.hasField(FIXMessage.TAG_MSG_SEQ_NUM)) {
             throw new FIXParseException("Missing required field: MsgSeqNum (34)");
         }
-        if (!message.hasField(FIXMessage.TAG_SENDER_COMP_ID)) {
+        if (!view.hasField(FIXMessage.TAG_SENDER_COMP_ID)) {
             throw new FIXParseException("Missing required field: SenderCompID (49)");
         }
-        if (!message.hasField(FIXMessage.TAG_TARGET_COMP_ID)) {
+        if (!view.hasField(FIXMessage.TAG_TARGET_COMP_ID)) {
             throw new FIXParseException("Missing required field: TargetCompID (56)");
         }
-        if (!message.hasField(FIXMessage.TAG_SENDING_TIME)) {
+        if (!view.hasField(FIXMessage.TAG_SENDING_TIME)) {
             throw new FIXParseException("Missing required field: SendingTime (52)");
         }
     }
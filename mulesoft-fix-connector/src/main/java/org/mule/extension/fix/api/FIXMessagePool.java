@@ -0,0 +1,72 @@
+package org.mule.extension.fix.api;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe pool of reusable FIXMessage instances (one per session).
+ *
+ * Ownership rules:
+ * - {@link #acquire(String)} hands out a cleared message owned exclusively by the caller.
+ * - Passing a pooled message to a session's sendMessage transfers ownership to the session,
+ *   which releases it back to the pool once the frame has been encoded. The caller must not
+ *   read or modify the message after that call.
+ * - A pooled message that is never sent must be returned with {@link FIXMessage#release()}.
+ * Releasing a message twice fails fast with IllegalStateException.
+ */
+public class FIXMessagePool {
+
+    private final ArrayBlockingQueue<FIXMessage> free;
+    private final LongAdder misses = new LongAdder();
+
+    public FIXMessagePool(int capacity) {
+        this.free = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            FIXMessage message = new FIXMessage();
+            message.attachPool(this);
+            free.offer(message);
+        }
+    }
+
+    /**
+     * Take a cleared message with the given MsgType from the pool (allocates only if the pool is empty)
+     */
+    public FIXMessage acquire(String msgType) {
+        FIXMessage message = free.poll();
+        if (message == null) {
+            misses.increment();
+            message = new FIXMessage();
+            message.attachPool(this);
+        }
+        message.markAcquired();
+        message.reset(msgType);
+        return message;
+    }
+
+    /**
+     * Return a message to the pool. Messages from other pools, or unpooled messages, are rejected.
+     */
+    public void release(FIXMessage message) {
+        if (!message.isOwnedBy(this)) {
+            throw new IllegalArgumentException("Message does not belong to this pool");
+        }
+        message.markReleased();
+        message.recycle();
+        // When the pool is already full the message is simply left to the GC
+        free.offer(message);
+    }
+
+    /**
+     * Number of messages currently available without allocating
+     */
+    public int available() {
+        return free.size();
+    }
+
+    /**
+     * Number of acquisitions that had to allocate because the pool was empty
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
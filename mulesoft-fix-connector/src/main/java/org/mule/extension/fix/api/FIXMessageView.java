@@ -0,0 +1,233 @@
+package org.mule.extension.fix.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Read-only, reusable view over a raw FIX frame held in a byte array.
+ * Tags are decoded as ints and values are exposed as offset/length pairs into the
+ * underlying buffer, so no String is created until a caller asks for one.
+ * A view is not thread-safe and is only valid until the underlying bytes are overwritten.
+ */
+public final class FIXMessageView {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private byte[] buffer;
+    private int offset;
+    private int length;
+
+    private int[] tags = new int[INITIAL_CAPACITY];
+    private int[] valueOffsets = new int[INITIAL_CAPACITY];
+    private int[] valueLengths = new int[INITIAL_CAPACITY];
+    private int fieldCount;
+
+    // Scratch copy used when parsing from a buffer without an accessible array
+    private byte[] scratch;
+
+    /**
+     * Point this view at a new frame and drop all previously decoded fields
+     */
+    void reset(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.fieldCount = 0;
+    }
+
+    /**
+     * Get a scratch array of at least the given size (reused across frames)
+     */
+    byte[] scratch(int size) {
+        if (scratch == null || scratch.length < size) {
+            scratch = new byte[Math.max(size, 1024)];
+        }
+        return scratch;
+    }
+
+    /**
+     * Record a decoded field
+     */
+    void addField(int tag, int valueOffset, int valueLength) {
+        if (fieldCount == tags.length) {
+            int newCapacity = tags.length << 1;
+            tags = Arrays.copyOf(tags, newCapacity);
+            valueOffsets = Arrays.copyOf(valueOffsets, newCapacity);
+            valueLengths = Arrays.copyOf(valueLengths, newCapacity);
+        }
+        tags[fieldCount] = tag;
+        valueOffsets[fieldCount] = valueOffset;
+        valueLengths[fieldCount] = valueLength;
+        fieldCount++;
+    }
+
+    /**
+     * Get the underlying buffer
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Get the offset of the frame within the buffer
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Get the length of the frame in bytes
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the number of decoded fields (in wire order)
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Get the tag of the field at the given position
+     */
+    public int getTag(int index) {
+        return tags[index];
+    }
+
+    /**
+     * Get the buffer offset of the value of the field at the given position
+     */
+    public int getValueOffset(int index) {
+        return valueOffsets[index];
+    }
+
+    /**
+     * Get the length of the value of the field at the given position
+     */
+    public int getValueLength(int index) {
+        return valueLengths[index];
+    }
+
+    /**
+     * Find the position of the first field with the given tag, or -1 if absent
+     */
+    public int indexOf(int tag) {
+        for (int i = 0; i < fieldCount; i++) {
+            if (tags[i] == tag) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if field exists
+     */
+    public boolean hasField(int tag) {
+        return indexOf(tag) != -1;
+    }
+
+    /**
+     * Get a field value as a String (allocates), or null if absent
+     */
+    public String getField(int tag) {
+        int index = indexOf(tag);
+        return index != -1 ? getValue(index) : null;
+    }
+
+    /**
+     * Get the value of the field at the given position as a String (allocates)
+     */
+    public String getValue(int index) {
+        return new String(buffer, valueOffsets[index], valueLengths[index], StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Get a field value as an int without allocating, or the default if absent or not numeric
+     */
+    public int getFieldAsInt(int tag, int defaultValue) {
+        int index = indexOf(tag);
+        if (index == -1) {
+            return defaultValue;
+        }
+        int pos = valueOffsets[index];
+        int end = pos + valueLengths[index];
+        if (pos == end) {
+            return defaultValue;
+        }
+        boolean negative = buffer[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        int value = 0;
+        for (; pos < end; pos++) {
+            int digit = buffer[pos] - '0';
+            if (digit < 0 || digit > 9) {
+                return defaultValue;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Compare a field value with an expected ASCII string without allocating
+     */
+    public boolean fieldEquals(int tag, String expected) {
+        int index = indexOf(tag);
+        if (index == -1 || valueLengths[index] != expected.length()) {
+            return false;
+        }
+        int pos = valueOffsets[index];
+        for (int i = 0; i < expected.length(); i++) {
+            if (buffer[pos + i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get message type (allocates)
+     */
+    public String getMsgType() {
+        return getField(FIXMessage.TAG_MSG_TYPE);
+    }
+
+    /**
+     * Get sequence number, or -1 if absent
+     */
+    public int getMsgSeqNum() {
+        return getFieldAsInt(FIXMessage.TAG_MSG_SEQ_NUM, -1);
+    }
+
+    /**
+     * Materialize this view into a standalone FIXMessage (all fields except CheckSum)
+     */
+    public FIXMessage toFIXMessage() {
+        return copyTo(new FIXMessage());
+    }
+    
+    /**
+     * Copy all fields except CheckSum into an existing (e.g. pooled) message
+     */
+    public FIXMessage copyTo(FIXMessage message) {
+        for (int i = 0; i < fieldCount; i++) {
+            if (tags[i] != FIXMessage.TAG_CHECKSUM) {
+                message.setField(tags[i], buffer, valueOffsets[i], valueLengths[i]);
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        if (buffer == null) {
+            return "FIXMessageView{}";
+        }
+        return "FIXMessageView{"
+            + new String(buffer, offset, length, StandardCharsets.US_ASCII).replace('\u0001', '|') + '}';
+    }
+}
@@ -0,0 +1,146 @@
+package org.mule.extension.fix.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Allocation-free UTC timestamp writer for FIX UTCTimestamp fields ({@code yyyyMMdd-HH:mm:ss[.fff...]}).
+ * The 17-byte {@code yyyyMMdd-HH:mm:ss} prefix is computed once per second and cached; within
+ * that second only the fractional digits are written. The cache is an immutable snapshot
+ * published through a volatile field, so a single instance can be shared by every thread
+ * stamping messages for a session.
+ */
+public final class FIXTimestampEncoder {
+
+    /**
+     * Shared millisecond-precision encoder on the system UTC clock
+     */
+    public static final FIXTimestampEncoder UTC_MILLIS = new FIXTimestampEncoder(TimestampPrecision.MILLIS);
+
+    private static final int PREFIX_LENGTH = 17;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private final TimestampPrecision precision;
+    private final Clock clock;
+    private final int length;
+
+    private volatile CachedSecond cached = new CachedSecond(Long.MIN_VALUE, null);
+
+    public FIXTimestampEncoder(TimestampPrecision precision) {
+        this(precision, Clock.systemUTC());
+    }
+
+    public FIXTimestampEncoder(TimestampPrecision precision, Clock clock) {
+        this.precision = precision;
+        this.clock = clock;
+        this.length = PREFIX_LENGTH + (precision.getDigits() > 0 ? 1 + precision.getDigits() : 0);
+    }
+
+    /**
+     * Get the configured precision
+     */
+    public TimestampPrecision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Number of bytes written by every encode call
+     */
+    public int encodedLength() {
+        return length;
+    }
+
+    /**
+     * Write the current time at the given offset
+     *
+     * @return Number of bytes written (always {@link #encodedLength()})
+     */
+    public int encode(byte[] out, int offset) {
+        if (precision.getDigits() <= 3) {
+            // Clock.millis() does not allocate for the system clock
+            long millis = clock.millis();
+            return encode(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, out, offset);
+        }
+        Instant now = clock.instant();
+        return encode(now.getEpochSecond(), now.getNano(), out, offset);
+    }
+
+    /**
+     * Write the given instant at the given offset, truncated to the configured precision
+     *
+     * @return Number of bytes written (always {@link #encodedLength()})
+     */
+    public int encode(long epochSecond, int nanos, byte[] out, int offset) {
+        CachedSecond second = cached;
+        if (second.epochSecond != epochSecond) {
+            second = new CachedSecond(epochSecond, prefix(epochSecond));
+            cached = second;
+        }
+        System.arraycopy(second.prefix, 0, out, offset, PREFIX_LENGTH);
+
+        int digits = precision.getDigits();
+        if (digits > 0) {
+            int pos = offset + PREFIX_LENGTH;
+            out[pos++] = '.';
+            int fraction = nanos / POWERS_OF_TEN[9 - digits];
+            for (int end = pos + digits - 1; end >= pos; end--) {
+                out[end] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Get the current time as a String (allocates; for non hot-path callers)
+     */
+    public String now() {
+        byte[] out = new byte[length];
+        encode(out, 0);
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Format an instant as a String at the configured precision
+     */
+    public String format(Instant instant) {
+        byte[] out = new byte[length];
+        encode(instant.getEpochSecond(), instant.getNano(), out, 0);
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] prefix(long epochSecond) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        byte[] prefix = new byte[PREFIX_LENGTH];
+        writeDigits(prefix, 0, time.getYear(), 4);
+        writeDigits(prefix, 4, time.getMonthValue(), 2);
+        writeDigits(prefix, 6, time.getDayOfMonth(), 2);
+        prefix[8] = '-';
+        writeDigits(prefix, 9, time.getHour(), 2);
+        prefix[11] = ':';
+        writeDigits(prefix, 12, time.getMinute(), 2);
+        prefix[14] = ':';
+        writeDigits(prefix, 15, time.getSecond(), 2);
+        return prefix;
+    }
+
+    private static void writeDigits(byte[] out, int offset, int value, int width) {
+        for (int pos = offset + width - 1; pos >= offset; pos--) {
+            out[pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static final class CachedSecond {
+        final long epochSecond;
+        final byte[] prefix;
+
+        CachedSecond(long epochSecond, byte[] prefix) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+        }
+    }
+}
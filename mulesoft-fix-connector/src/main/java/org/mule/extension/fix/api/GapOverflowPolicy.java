@@ -0,0 +1,22 @@
+package org.mule.extension.fix.api;
+
+/**
+ * What happens to an out-of-order message when the gap buffer is full.
+ */
+public enum GapOverflowPolicy {
+
+    /**
+     * Write the raw frame to a spill file and read it back when the gap closes
+     */
+    SPILL,
+
+    /**
+     * Discard the message; it is requested again once the buffered range has been processed
+     */
+    DROP,
+
+    /**
+     * Treat the overflow as fatal and disconnect the session
+     */
+    DISCONNECT
+}
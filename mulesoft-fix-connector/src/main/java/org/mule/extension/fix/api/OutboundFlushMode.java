@@ -0,0 +1,18 @@
+package org.mule.extension.fix.api;
+
+/**
+ * How the outbound writer decides when to write a batch of frames to the socket.
+ */
+public enum OutboundFlushMode {
+
+    /**
+     * Write as soon as no further frame is ready; never waits to coalesce
+     */
+    LATENCY,
+
+    /**
+     * While other senders are still publishing, wait a few microseconds so their frames
+     * join the same gathering write (fewer syscalls under bursty flow)
+     */
+    THROUGHPUT
+}
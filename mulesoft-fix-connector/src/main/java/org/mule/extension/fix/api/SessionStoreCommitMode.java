@@ -0,0 +1,24 @@
+package org.mule.extension.fix.api;
+
+/**
+ * How session state saves reach the session store.
+ */
+public enum SessionStoreCommitMode {
+
+    /**
+     * Every save is written straight to the store on the calling thread
+     */
+    DIRECT,
+
+    /**
+     * Write-behind: saves are coalesced and committed by a background thread; callers never wait
+     * (a crash may lose the last commit window)
+     */
+    ASYNC,
+
+    /**
+     * Group commit: saves are coalesced and committed together with one sync; each caller waits
+     * until the commit that includes its update is durable
+     */
+    SYNC
+}
@@ -0,0 +1,22 @@
+package org.mule.extension.fix.api;
+
+/**
+ * When persisted sequence numbers are forced to durable storage.
+ */
+public enum SessionStoreSyncPolicy {
+
+    /**
+     * After every update (safest, one fsync per message)
+     */
+    EVERY_MESSAGE,
+
+    /**
+     * After every {@code N} updates, and on close
+     */
+    BATCHED,
+
+    /**
+     * At most once per sync interval, checked on update, and on close
+     */
+    INTERVAL
+}
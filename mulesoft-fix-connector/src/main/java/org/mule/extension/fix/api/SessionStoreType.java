@@ -0,0 +1,22 @@
+package org.mule.extension.fix.api;
+
+/**
+ * Where session sequence numbers are persisted.
+ */
+public enum SessionStoreType {
+
+    /**
+     * Kept in memory only; sequence numbers survive reconnects but restart at 1 after a restart
+     */
+    MEMORY,
+
+    /**
+     * Small memory-mapped file per session; survives restarts and recovers without parsing
+     */
+    FILE,
+
+    /**
+     * Persistent Mule ObjectStore (shared with the runtime, e.g. across a cluster)
+     */
+    OBJECT_STORE
+}
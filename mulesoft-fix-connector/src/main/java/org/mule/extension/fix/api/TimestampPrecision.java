@@ -0,0 +1,26 @@
+package org.mule.extension.fix.api;
+
+/**
+ * Fractional-second precision of UTCTimestamp fields such as SendingTime(52).
+ * FIX 4.2/4.4 counterparties generally accept SECONDS or MILLIS; MICROS and NANOS
+ * require FIX 5.0 (TimestampPrecision/FIXT.1.1) support on the other side.
+ */
+public enum TimestampPrecision {
+    SECONDS(0),
+    MILLIS(3),
+    MICROS(6),
+    NANOS(9);
+
+    private final int digits;
+
+    TimestampPrecision(int digits) {
+        this.digits = digits;
+    }
+
+    /**
+     * Number of fractional digits written after the seconds
+     */
+    public int getDigits() {
+        return digits;
+    }
+}
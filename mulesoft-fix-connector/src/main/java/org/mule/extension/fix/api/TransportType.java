@@ -0,0 +1,17 @@
+package org.mule.extension.fix.api;
+
+/**
+ * How the connector drives a session's socket.
+ */
+public enum TransportType {
+
+    /**
+     * Blocking socket with a dedicated reader thread per session
+     */
+    BLOCKING,
+
+    /**
+     * Non-blocking socket multiplexed with other sessions on a small, shared pool of I/O event loops
+     */
+    NIO
+}
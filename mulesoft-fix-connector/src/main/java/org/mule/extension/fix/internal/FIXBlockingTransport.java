@@ -0,0 +1,144 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking socket with a dedicated reader thread per connection.
+ */
+public final class FIXBlockingTransport implements FIXTransport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXBlockingTransport.class);
+
+    private final String threadName;
+    private SocketChannel channel;
+    private Thread reader;
+    private volatile boolean closed;
+    // Guards readsPaused; the reader waits on it while reads are paused
+    private final Object readGate = new Object();
+    private boolean readsPaused;
+
+    public FIXBlockingTransport(String threadName) {
+        this.threadName = threadName;
+    }
+
+    @Override
+    public void connect(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    @Override
+    public void start(Listener listener) {
+        reader = new Thread(() -> {
+            LOGGER.info("Message processor thread started, waiting for messages...");
+            FIXFrameDecoder decoder = new FIXFrameDecoder();
+            FIXFrameDecoder.FrameHandler frameHandler = listener::onFrame;
+            IOException failure = null;
+            while (!closed) {
+                try {
+                    if (!awaitReadsResumed()) {
+                        break;
+                    }
+                    int bytesRead = decoder.readFrom(channel);
+                    if (bytesRead == -1) {
+                        break;
+                    }
+                    
+                    // Emit every complete frame in this read; a trailing partial frame carries over
+                    int frames;
+                    try {
+                        frames = decoder.decode(frameHandler);
+                    } finally {
+                        listener.onBatchEnd();
+                    }
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("Read {} bytes from socket, decoded {} frames, {} bytes pending",
+                            bytesRead, frames, decoder.pendingBytes());
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                    break;
+                } catch (RuntimeException e) {
+                    // Never let the reader die silently: the session must learn the connection is gone
+                    LOGGER.error("Unexpected failure reading FIX frames", e);
+                    failure = new IOException("Unexpected failure reading FIX frames", e);
+                    break;
+                }
+            }
+            if (!closed) {
+                listener.onDisconnected(failure);
+            }
+            LOGGER.info("Message processor thread stopped");
+        }, threadName);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public void write(ByteBuffer[] frames, int count) throws IOException {
+        int first = 0;
+        while (first < count) {
+            channel.write(frames, first, count - first);
+            while (first < count && !frames[first].hasRemaining()) {
+                first++;
+            }
+        }
+    }
+
+    @Override
+    public void pauseReads() {
+        synchronized (readGate) {
+            readsPaused = true;
+        }
+    }
+
+    @Override
+    public void resumeReads() {
+        synchronized (readGate) {
+            readsPaused = false;
+            readGate.notifyAll();
+        }
+    }
+
+    /**
+     * Wait while reads are paused
+     *
+     * @return False if the transport was closed (or the reader interrupted) meanwhile
+     */
+    private boolean awaitReadsResumed() {
+        synchronized (readGate) {
+            try {
+                while (readsPaused && !closed) {
+                    readGate.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !closed;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel != null && channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (readGate) {
+            readGate.notifyAll();
+        }
+        if (channel != null && channel.isOpen()) {
+            channel.close();
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package org.mule.extension.fix.internal;
 
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.api.GapOverflowPolicy;
+import org.mule.extension.fix.api.OutboundFlushMode;
+import org.mule.extension.fix.api.SessionStoreCommitMode;
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.mule.extension.fix.api.SessionStoreType;
+import org.mule.extension.fix.api.TimestampPrecision;
+import org.mule.extension.fix.api.TransportType;
 import org.mule.runtime.extension.api.annotation.Operations;
 import org.mule.runtime.extension.api.annotation.Sources;
 import org.mule.runtime.extension.api.annotation.connectivity.ConnectionProviders;
@@ -23,6 +31,29 @@ public class FIXConfiguration {
     private int heartbeatInterval;
     private boolean resetSequenceOnLogon;
     private boolean validateChecksum;
+    private TimestampPrecision timestampPrecision = TimestampPrecision.MILLIS;
+    private OutboundFlushMode outboundFlushMode = OutboundFlushMode.LATENCY;
+    private String messageStoreDirectory;
+    private SessionStoreType sessionStoreType = SessionStoreType.MEMORY;
+    private String sessionStoreDirectory;
+    private SessionStoreSyncPolicy sessionStoreSyncPolicy = SessionStoreSyncPolicy.INTERVAL;
+    private long sessionStoreSyncInterval = 1000;
+    private int sessionStoreSyncBatchSize = FIXSyncSchedule.DEFAULT_BATCH_SIZE;
+    private SessionStoreCommitMode sessionStoreCommitMode = SessionStoreCommitMode.DIRECT;
+    private long sessionStoreCommitWindow = 50;
+    private int sessionStoreCommitBatchSize = 64;
+    private String inboundJournalDirectory;
+    private int gapBufferMaxMessages = FIXGapBuffer.DEFAULT_MAX_MESSAGES;
+    private long gapBufferMaxBytes = FIXGapBuffer.DEFAULT_MAX_BYTES;
+    private GapOverflowPolicy gapOverflowPolicy = GapOverflowPolicy.SPILL;
+    private String gapSpillDirectory;
+    private TransportType transportType = TransportType.BLOCKING;
+    private int ioThreads;
+    private DispatchMode dispatchMode = DispatchMode.INLINE;
+    private int maxPendingDispatches = FIXDispatcher.DEFAULT_MAX_PENDING;
+    private boolean wireLogging;
+    private String wireCaptureDirectory;
+    private long wireCaptureFileSize = FIXWireCapture.DEFAULT_FILE_SIZE;
 
     public String getBeginString() {
         return beginString;
@@ -71,4 +102,188 @@ public class FIXConfiguration {
     public void setValidateChecksum(boolean validateChecksum) {
         this.validateChecksum = validateChecksum;
     }
+
+    public TimestampPrecision getTimestampPrecision() {
+        return timestampPrecision;
+    }
+    
+    public void setTimestampPrecision(TimestampPrecision timestampPrecision) {
+        this.timestampPrecision = timestampPrecision;
+    }
+
+    public OutboundFlushMode getOutboundFlushMode() {
+        return outboundFlushMode;
+    }
+    
+    public void setOutboundFlushMode(OutboundFlushMode outboundFlushMode) {
+        this.outboundFlushMode = outboundFlushMode;
+    }
+
+    public String getMessageStoreDirectory() {
+        return messageStoreDirectory;
+    }
+    
+    public void setMessageStoreDirectory(String messageStoreDirectory) {
+        this.messageStoreDirectory = messageStoreDirectory;
+    }
+
+    public SessionStoreType getSessionStoreType() {
+        return sessionStoreType;
+    }
+    
+    public void setSessionStoreType(SessionStoreType sessionStoreType) {
+        this.sessionStoreType = sessionStoreType;
+    }
+
+    public String getSessionStoreDirectory() {
+        return sessionStoreDirectory;
+    }
+    
+    public void setSessionStoreDirectory(String sessionStoreDirectory) {
+        this.sessionStoreDirectory = sessionStoreDirectory;
+    }
+
+    public SessionStoreSyncPolicy getSessionStoreSyncPolicy() {
+        return sessionStoreSyncPolicy;
+    }
+    
+    public void setSessionStoreSyncPolicy(SessionStoreSyncPolicy sessionStoreSyncPolicy) {
+        this.sessionStoreSyncPolicy = sessionStoreSyncPolicy;
+    }
+
+    public long getSessionStoreSyncInterval() {
+        return sessionStoreSyncInterval;
+    }
+    
+    public void setSessionStoreSyncInterval(long sessionStoreSyncInterval) {
+        this.sessionStoreSyncInterval = sessionStoreSyncInterval;
+    }
+
+    public int getSessionStoreSyncBatchSize() {
+        return sessionStoreSyncBatchSize;
+    }
+
+    public void setSessionStoreSyncBatchSize(int sessionStoreSyncBatchSize) {
+        this.sessionStoreSyncBatchSize = sessionStoreSyncBatchSize;
+    }
+
+    public SessionStoreCommitMode getSessionStoreCommitMode() {
+        return sessionStoreCommitMode;
+    }
+    
+    public void setSessionStoreCommitMode(SessionStoreCommitMode sessionStoreCommitMode) {
+        this.sessionStoreCommitMode = sessionStoreCommitMode;
+    }
+
+    public long getSessionStoreCommitWindow() {
+        return sessionStoreCommitWindow;
+    }
+    
+    public void setSessionStoreCommitWindow(long sessionStoreCommitWindow) {
+        this.sessionStoreCommitWindow = sessionStoreCommitWindow;
+    }
+
+    public int getSessionStoreCommitBatchSize() {
+        return sessionStoreCommitBatchSize;
+    }
+    
+    public void setSessionStoreCommitBatchSize(int sessionStoreCommitBatchSize) {
+        this.sessionStoreCommitBatchSize = sessionStoreCommitBatchSize;
+    }
+
+    public String getInboundJournalDirectory() {
+        return inboundJournalDirectory;
+    }
+    
+    public void setInboundJournalDirectory(String inboundJournalDirectory) {
+        this.inboundJournalDirectory = inboundJournalDirectory;
+    }
+
+    public int getGapBufferMaxMessages() {
+        return gapBufferMaxMessages;
+    }
+    
+    public void setGapBufferMaxMessages(int gapBufferMaxMessages) {
+        this.gapBufferMaxMessages = gapBufferMaxMessages;
+    }
+
+    public long getGapBufferMaxBytes() {
+        return gapBufferMaxBytes;
+    }
+    
+    public void setGapBufferMaxBytes(long gapBufferMaxBytes) {
+        this.gapBufferMaxBytes = gapBufferMaxBytes;
+    }
+
+    public GapOverflowPolicy getGapOverflowPolicy() {
+        return gapOverflowPolicy;
+    }
+    
+    public void setGapOverflowPolicy(GapOverflowPolicy gapOverflowPolicy) {
+        this.gapOverflowPolicy = gapOverflowPolicy;
+    }
+
+    public String getGapSpillDirectory() {
+        return gapSpillDirectory;
+    }
+    
+    public void setGapSpillDirectory(String gapSpillDirectory) {
+        this.gapSpillDirectory = gapSpillDirectory;
+    }
+
+    public TransportType getTransportType() {
+        return transportType;
+    }
+    
+    public void setTransportType(TransportType transportType) {
+        this.transportType = transportType;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+    
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+    
+    public void setDispatchMode(DispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+    }
+
+    public int getMaxPendingDispatches() {
+        return maxPendingDispatches;
+    }
+    
+    public void setMaxPendingDispatches(int maxPendingDispatches) {
+        this.maxPendingDispatches = maxPendingDispatches;
+    }
+
+    public boolean isWireLogging() {
+        return wireLogging;
+    }
+    
+    public void setWireLogging(boolean wireLogging) {
+        this.wireLogging = wireLogging;
+    }
+
+    public String getWireCaptureDirectory() {
+        return wireCaptureDirectory;
+    }
+    
+    public void setWireCaptureDirectory(String wireCaptureDirectory) {
+        this.wireCaptureDirectory = wireCaptureDirectory;
+    }
+
+    public long getWireCaptureFileSize() {
+        return wireCaptureFileSize;
+    }
+    
+    public void setWireCaptureFileSize(long wireCaptureFileSize) {
+        this.wireCaptureFileSize = wireCaptureFileSize;
+    }
 }
@@ -1,10 +1,14 @@
 package org.mule.extension.fix.internal;
 
 import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessagePool;
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.api.TransportType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Represents an active FIX protocol connection with session management.
@@ -17,23 +21,96 @@ public final class FIXConnection {
     private final String connectionId;
     private final FIXSessionManager sessionManager;
     private final FIXConfiguration config;
+    private FIXMappedMessageStore messageStore;
+    private FIXInboundJournal inboundJournal;
+    private FIXDispatcher dispatcher;
+    private FIXWireLog wireLog;
+    private FIXWireCapture wireCapture;
+    private FIXEventLoopGroup eventLoopGroup;
     private volatile boolean connected;
 
     public FIXConnection(FIXConfiguration config, String host, int port) throws IOException {
+        this(config, host, port, new FIXInMemorySessionStore());
+    }
+
+    /**
+     * @param sessionStore Store of sequence numbers; owned by the caller so it can outlive the connection
+     */
+    public FIXConnection(FIXConfiguration config, String host, int port, FIXSessionStore sessionStore)
+            throws IOException {
         this.config = config;
         this.connectionId = String.format("%s@%s:%d", config.getSenderCompId(), host, port);
-        this.sessionManager = new FIXSessionManager(config.getBeginString());
+        this.sessionManager = new FIXSessionManager(config.getBeginString(), config.isValidateChecksum(),
+            config.getTimestampPrecision(), config.getOutboundFlushMode());
         this.connected = false;
-
-        LOGGER.info("Created FIX connection: {}", connectionId);
-
-        // Connect to FIX server
-        sessionManager.connect(host, port, 
-                             config.getSenderCompId(), 
-                             config.getTargetCompId(), 
-                             config.getHeartbeatInterval());
+        sessionManager.setSessionStore(sessionStore);
+        sessionManager.setResetSequenceOnLogon(config.isResetSequenceOnLogon());
+        sessionManager.setGapBufferLimits(config.getGapBufferMaxMessages(), config.getGapBufferMaxBytes(),
+            config.getGapOverflowPolicy(), config.getGapSpillDirectory() == null || config.getGapSpillDirectory().isEmpty()
+                ? null : Paths.get(config.getGapSpillDirectory()));
+        
+        try {
+            openResources();
+
+            LOGGER.info("Created FIX connection: {}", connectionId);
+
+            // Connect to FIX server
+            sessionManager.connect(host, port,
+                                 config.getSenderCompId(),
+                                 config.getTargetCompId(),
+                                 config.getHeartbeatInterval());
+        } catch (IOException | RuntimeException e) {
+            // A failed attempt must not keep threads or file mappings; Mule retries with a new connection
+            closeResources();
+            throw e;
+        }
         
         this.connected = true;
+        sessionManager.getMetrics().register(connectionId);
+    }
+
+    /**
+     * Open the optional per-session resources and hand them to the session manager
+     */
+    private void openResources() throws IOException {
+        String sessionDirectory = config.getSenderCompId() + "-" + config.getTargetCompId();
+
+        // Held until this connection closes; the last connection to release the group stops its threads
+        if (config.getTransportType() == TransportType.NIO) {
+            eventLoopGroup = FIXEventLoopGroup.acquireShared(config.getIoThreads());
+            sessionManager.setEventLoopGroup(eventLoopGroup);
+        }
+
+        // Sent messages are kept per session so ResendRequests can be answered with the original content
+        if (config.getMessageStoreDirectory() != null && !config.getMessageStoreDirectory().isEmpty()) {
+            messageStore = new FIXMappedMessageStore(Paths.get(config.getMessageStoreDirectory(), sessionDirectory));
+            sessionManager.setMessageStore(messageStore);
+        }
+
+        // Received application messages are journaled so they can be replayed if processing is cut short
+        if (config.getInboundJournalDirectory() != null && !config.getInboundJournalDirectory().isEmpty()) {
+            inboundJournal = new FIXInboundJournal(Paths.get(config.getInboundJournalDirectory(), sessionDirectory));
+            sessionManager.setInboundJournal(inboundJournal);
+        }
+
+        // Handler callbacks (flows) run off the socket reader so a slow flow cannot delay reading or heartbeats
+        if (config.getDispatchMode() != DispatchMode.INLINE) {
+            dispatcher = new FIXDispatcher(config.getDispatchMode(), config.getMaxPendingDispatches(), connectionId);
+            sessionManager.setDispatcher(dispatcher);
+        }
+
+        // Frames are only copied on the socket threads; formatting happens on the wire log's own thread
+        if (config.isWireLogging()) {
+            wireLog = new FIXWireLog(connectionId);
+            sessionManager.setWireLog(wireLog);
+        }
+
+        // Every frame in both directions is appended to binary capture files for offline replay
+        if (config.getWireCaptureDirectory() != null && !config.getWireCaptureDirectory().isEmpty()) {
+            wireCapture = new FIXWireCapture(Paths.get(config.getWireCaptureDirectory(), sessionDirectory),
+                config.getWireCaptureFileSize());
+            sessionManager.setWireCapture(wireCapture);
+        }
     }
 
     /**
@@ -66,14 +143,31 @@ public final class FIXConnection {
     }
 
     /**
-     * Send a FIX message
+     * Get the pool used to build outbound messages for this connection
      */
-    public void sendMessage(FIXMessage message) throws IOException {
+    public FIXMessagePool getMessagePool() {
+        return sessionManager.getMessagePool();
+    }
+
+    /**
+     * Send a FIX message. Takes ownership of pooled messages, even when the send fails.
+     *
+     * @return Sequence number assigned to the message
+     */
+    public int sendMessage(FIXMessage message) throws IOException {
         FIXSessionState state = getSessionState();
         if (state == null || !state.isActive()) {
+            message.release();
             throw new IOException("FIX session is not active");
         }
-        sessionManager.sendMessage(state, message);
+        return sessionManager.sendMessage(state, message);
+    }
+
+    /**
+     * Mark a received application message as processed (see FIXSessionManager.MessageHandler)
+     */
+    public void commitInbound(long journalId) {
+        sessionManager.commitInbound(journalId);
     }
 
     /**
@@ -95,6 +189,57 @@ public final class FIXConnection {
                 LOGGER.error("Error disconnecting FIX session", e);
             } finally {
                 connected = false;
+                sessionManager.getMetrics().unregister();
+                closeResources();
+            }
+        }
+    }
+
+    /**
+     * Close every resource opened by openResources (those not opened are null)
+     */
+    private void closeResources() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+        if (wireLog != null) {
+            wireLog.close();
+        }
+        closeMessageStore();
+        closeInboundJournal();
+        closeWireCapture();
+        if (eventLoopGroup != null) {
+            FIXEventLoopGroup.releaseShared(eventLoopGroup);
+            eventLoopGroup = null;
+        }
+    }
+
+    private void closeMessageStore() {
+        if (messageStore != null) {
+            try {
+                messageStore.close();
+            } catch (IOException e) {
+                LOGGER.error("Error closing FIX message store", e);
+            }
+        }
+    }
+
+    private void closeInboundJournal() {
+        if (inboundJournal != null) {
+            try {
+                inboundJournal.close();
+            } catch (IOException e) {
+                LOGGER.error("Error closing FIX inbound journal", e);
+            }
+        }
+    }
+
+    private void closeWireCapture() {
+        if (wireCapture != null) {
+            try {
+                wireCapture.close();
+            } catch (IOException e) {
+                LOGGER.error("Error closing FIX wire capture", e);
             }
         }
     }
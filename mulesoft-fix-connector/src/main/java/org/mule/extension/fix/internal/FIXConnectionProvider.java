@@ -1,10 +1,22 @@
 package org.mule.extension.fix.internal;
 
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.api.GapOverflowPolicy;
+import org.mule.extension.fix.api.OutboundFlushMode;
+import org.mule.extension.fix.api.SessionStoreCommitMode;
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.mule.extension.fix.api.SessionStoreType;
+import org.mule.extension.fix.api.TimestampPrecision;
+import org.mule.extension.fix.api.TransportType;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.CachedConnectionProvider;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
@@ -12,14 +24,20 @@ import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.inject.Inject;
+
 import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * Connection provider for FIX Protocol connections.
  * Manages connection lifecycle including connect, disconnect, and validation.
  * Uses CachedConnectionProvider to maintain a single connection per configuration.
+ * The session store outlives individual connections so sequence numbers resume on reconnect.
  */
-public class FIXConnectionProvider implements CachedConnectionProvider<FIXConnection> {
+public class FIXConnectionProvider implements CachedConnectionProvider<FIXConnection>, Disposable {
+
+    private static final String OBJECT_STORE_NAME = "fix-session-sequences";
 
     private final Logger LOGGER = LoggerFactory.getLogger(FIXConnectionProvider.class);
 
@@ -84,6 +102,172 @@ public class FIXConnectionProvider implements CachedConnectionProvider<FIXConnec
     @Placement(order = 9)
     private boolean validateChecksum;
 
+    @Parameter
+    @DisplayName("Timestamp Precision")
+    @Summary("Fractional-second precision of SendingTime (MICROS/NANOS require FIX 5.0 support)")
+    @Optional(defaultValue = "MILLIS")
+    @Placement(order = 10)
+    private TimestampPrecision timestampPrecision;
+
+    @Parameter
+    @DisplayName("Outbound Flush Mode")
+    @Summary("LATENCY writes each frame as soon as it is ready; THROUGHPUT briefly coalesces concurrent sends into one write")
+    @Optional(defaultValue = "LATENCY")
+    @Placement(order = 11)
+    private OutboundFlushMode outboundFlushMode;
+
+    @Parameter
+    @DisplayName("Message Store Directory")
+    @Summary("Directory for memory-mapped stores of sent messages, used to answer ResendRequests. If empty, resends are gap filled")
+    @Optional
+    @Placement(order = 12)
+    private String messageStoreDirectory;
+
+    @Parameter
+    @DisplayName("Session Store")
+    @Summary("Where sequence numbers are persisted: MEMORY (lost on restart), FILE (memory-mapped file per session) or OBJECT_STORE (persistent Mule ObjectStore)")
+    @Optional(defaultValue = "MEMORY")
+    @Placement(order = 13)
+    private SessionStoreType sessionStoreType;
+
+    @Parameter
+    @DisplayName("Session Store Directory")
+    @Summary("Directory for the FILE session store")
+    @Optional
+    @Placement(order = 14)
+    private String sessionStoreDirectory;
+
+    @Parameter
+    @DisplayName("Session Store Sync Policy")
+    @Summary("When persisted sequence numbers are forced to durable storage: EVERY_MESSAGE, BATCHED or INTERVAL")
+    @Optional(defaultValue = "INTERVAL")
+    @Placement(order = 15)
+    private SessionStoreSyncPolicy sessionStoreSyncPolicy;
+
+    @Parameter
+    @DisplayName("Session Store Sync Interval")
+    @Summary("Minimum time between syncs in milliseconds for the INTERVAL policy; for BATCHED and INTERVAL, updates still pending are also synced once per interval")
+    @Optional(defaultValue = "1000")
+    @Placement(order = 16)
+    private long sessionStoreSyncInterval;
+
+    @Parameter
+    @DisplayName("Session Store Sync Batch Size")
+    @Summary("Number of updates per sync for the BATCHED policy")
+    @Optional(defaultValue = "64")
+    @Placement(order = 32)
+    private int sessionStoreSyncBatchSize;
+
+    @Parameter
+    @DisplayName("Session Store Commit Mode")
+    @Summary("DIRECT writes every state save; ASYNC (write-behind) and SYNC (group commit, callers wait for durability) coalesce saves into one write per commit window")
+    @Optional(defaultValue = "DIRECT")
+    @Placement(order = 17)
+    private SessionStoreCommitMode sessionStoreCommitMode;
+
+    @Parameter
+    @DisplayName("Session Store Commit Window")
+    @Summary("How long a group commit stays open for further updates, in microseconds. In SYNC mode the socket reader waits for one commit per read, so this bounds the read rate of a session that receives one message per read")
+    @Optional(defaultValue = "50")
+    @Placement(order = 18)
+    private long sessionStoreCommitWindow;
+
+    @Parameter
+    @DisplayName("Session Store Commit Batch Size")
+    @Summary("Number of state updates that closes a group commit before its window ends")
+    @Optional(defaultValue = "64")
+    @Placement(order = 19)
+    private int sessionStoreCommitBatchSize;
+
+    @Parameter
+    @DisplayName("Inbound Journal Directory")
+    @Summary("Directory for the memory-mapped journal of received messages. Messages whose flow did not complete are replayed to the listener on restart. If empty, nothing is journaled")
+    @Optional
+    @Placement(order = 20)
+    private String inboundJournalDirectory;
+
+    @Parameter
+    @DisplayName("Gap Buffer Max Messages")
+    @Summary("Maximum number of out-of-order messages held in memory while a sequence gap is being filled")
+    @Optional(defaultValue = "65536")
+    @Placement(order = 21)
+    private int gapBufferMaxMessages;
+
+    @Parameter
+    @DisplayName("Gap Buffer Max Bytes")
+    @Summary("Maximum frame bytes of out-of-order messages held in memory")
+    @Optional(defaultValue = "67108864")
+    @Placement(order = 22)
+    private long gapBufferMaxBytes;
+
+    @Parameter
+    @DisplayName("Gap Overflow Policy")
+    @Summary("What happens to out-of-order messages beyond the gap buffer limits: SPILL to disk, DROP (requested again later) or DISCONNECT")
+    @Optional(defaultValue = "SPILL")
+    @Placement(order = 23)
+    private GapOverflowPolicy gapOverflowPolicy;
+
+    @Parameter
+    @DisplayName("Gap Spill Directory")
+    @Summary("Directory for spilled out-of-order messages. If empty, the system temp directory is used")
+    @Optional
+    @Placement(order = 24)
+    private String gapSpillDirectory;
+
+    @Parameter
+    @DisplayName("Transport Type")
+    @Summary("BLOCKING uses a reader thread per session; NIO multiplexes all sessions on a few shared I/O threads, on which message handlers then run")
+    @Optional(defaultValue = "BLOCKING")
+    @Placement(order = 25)
+    private TransportType transportType;
+
+    @Parameter
+    @DisplayName("I/O Threads")
+    @Summary("Number of shared NIO event loops (0 = one per available processor). Fixed by the first NIO connection while any is open; the loops stop when the last one closes")
+    @Optional(defaultValue = "0")
+    @Placement(order = 26)
+    private int ioThreads;
+
+    @Parameter
+    @DisplayName("Dispatch Mode")
+    @Summary("Where received messages are handed to flows: INLINE on the socket reader, VIRTUAL_THREAD, or a per-session EXECUTOR thread. Order is kept per session")
+    @Optional(defaultValue = "INLINE")
+    @Placement(order = 27)
+    private DispatchMode dispatchMode;
+
+    @Parameter
+    @DisplayName("Max Pending Dispatches")
+    @Summary("Messages waiting for a flow above which the session is reported as falling behind and its socket is no longer read until half of them have been processed")
+    @Optional(defaultValue = "10000")
+    @Placement(order = 28)
+    private int maxPendingDispatches;
+
+    @Parameter
+    @DisplayName("Wire Logging")
+    @Summary("Log every frame sent and received to logger org.mule.extension.fix.wire. Frames are copied to a ring buffer and formatted on a background thread")
+    @Optional(defaultValue = "false")
+    @Placement(order = 29)
+    private boolean wireLogging;
+
+    @Parameter
+    @DisplayName("Wire Capture Directory")
+    @Summary("Directory for binary captures of every frame sent and received, with nanosecond timestamps (one subdirectory per session). Empty = no capture")
+    @Optional
+    @Placement(order = 30)
+    private String wireCaptureDirectory;
+
+    @Parameter
+    @DisplayName("Wire Capture File Size")
+    @Summary("Size in bytes at which a capture file is closed and a new one started (at most 2 GB)")
+    @Optional(defaultValue = "268435456")
+    @Placement(order = 31)
+    private long wireCaptureFileSize;
+
+    @Inject
+    private ObjectStoreManager objectStoreManager;
+
+    private FIXSessionStore sessionStore;
+
     /**
      * Establish FIX connection
      */
@@ -100,8 +284,31 @@ public class FIXConnectionProvider implements CachedConnectionProvider<FIXConnec
             config.setHeartbeatInterval(heartbeatInterval);
             config.setResetSequenceOnLogon(resetSequenceOnLogon);
             config.setValidateChecksum(validateChecksum);
+            config.setTimestampPrecision(timestampPrecision);
+            config.setOutboundFlushMode(outboundFlushMode);
+            config.setMessageStoreDirectory(messageStoreDirectory);
+            config.setSessionStoreType(sessionStoreType);
+            config.setSessionStoreDirectory(sessionStoreDirectory);
+            config.setSessionStoreSyncPolicy(sessionStoreSyncPolicy);
+            config.setSessionStoreSyncInterval(sessionStoreSyncInterval);
+            config.setSessionStoreSyncBatchSize(sessionStoreSyncBatchSize);
+            config.setSessionStoreCommitMode(sessionStoreCommitMode);
+            config.setSessionStoreCommitWindow(sessionStoreCommitWindow);
+            config.setSessionStoreCommitBatchSize(sessionStoreCommitBatchSize);
+            config.setInboundJournalDirectory(inboundJournalDirectory);
+            config.setGapBufferMaxMessages(gapBufferMaxMessages);
+            config.setGapBufferMaxBytes(gapBufferMaxBytes);
+            config.setGapOverflowPolicy(gapOverflowPolicy);
+            config.setGapSpillDirectory(gapSpillDirectory);
+            config.setTransportType(transportType);
+            config.setIoThreads(ioThreads);
+            config.setDispatchMode(dispatchMode);
+            config.setMaxPendingDispatches(maxPendingDispatches);
+            config.setWireLogging(wireLogging);
+            config.setWireCaptureDirectory(wireCaptureDirectory);
+            config.setWireCaptureFileSize(wireCaptureFileSize);
             
-            FIXConnection connection = new FIXConnection(config, host, port);
+            FIXConnection connection = new FIXConnection(config, host, port, getSessionStore(config));
             
             // Wait for logon to complete
             int waited = 0;
@@ -149,6 +356,54 @@ public class FIXConnectionProvider implements CachedConnectionProvider<FIXConnec
         }
     }
 
+    /**
+     * Sync and close the session store
+     */
+    @Override
+    public synchronized void dispose() {
+        if (sessionStore != null) {
+            try {
+                sessionStore.close();
+            } catch (IOException e) {
+                LOGGER.error("Error closing FIX session store", e);
+            }
+            sessionStore = null;
+        }
+    }
+
+    /**
+     * Get the session store shared by every connection of this provider, creating it on first use
+     */
+    private synchronized FIXSessionStore getSessionStore(FIXConfiguration config) throws IOException {
+        if (sessionStore == null) {
+            switch (config.getSessionStoreType()) {
+                case FILE:
+                    if (config.getSessionStoreDirectory() == null || config.getSessionStoreDirectory().isEmpty()) {
+                        throw new IOException("Session Store Directory is required for the FILE session store");
+                    }
+                    sessionStore = new FIXMappedSessionStore(Paths.get(config.getSessionStoreDirectory()),
+                        config.getSessionStoreSyncPolicy(), config.getSessionStoreSyncBatchSize(),
+                        config.getSessionStoreSyncInterval());
+                    break;
+                case OBJECT_STORE:
+                    ObjectStore<long[]> objectStore = objectStoreManager.getOrCreateObjectStore(OBJECT_STORE_NAME,
+                        ObjectStoreSettings.builder().persistent(true).build());
+                    sessionStore = new FIXObjectStoreSessionStore(objectStore, config.getSessionStoreSyncPolicy(),
+                        config.getSessionStoreSyncBatchSize(), config.getSessionStoreSyncInterval());
+                    break;
+                default:
+                    // Nothing to gain from group commit in memory
+                    sessionStore = new FIXInMemorySessionStore();
+                    return sessionStore;
+            }
+            if (config.getSessionStoreCommitMode() != SessionStoreCommitMode.DIRECT) {
+                sessionStore = new FIXGroupCommitSessionStore(sessionStore, config.getSessionStoreCommitMode(),
+                    config.getSessionStoreCommitWindow(), config.getSessionStoreCommitBatchSize());
+            }
+        }
+        return sessionStore;
+    }
+
     /**
      * Validate FIX connection
      */
@@ -0,0 +1,252 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.DispatchMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a session's handler callbacks off the socket reader thread, strictly one after another in submission order.
+ * Submitting never blocks: a task beyond the pending limit is still queued (it has already been accepted from
+ * the wire and sequenced), but the dispatcher then pauses reads on the session's socket through its
+ * {@link ReadControl} until half the backlog has drained, so the queue stays bounded by the limit plus what the
+ * reader had already read. Each episode is counted and logged so slow flows show up in the logs and metrics.
+ */
+public final class FIXDispatcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXDispatcher.class);
+
+    public static final int DEFAULT_MAX_PENDING = 10000;
+
+    /**
+     * Stops and restarts reading the session's socket
+     */
+    public interface ReadControl {
+        void pauseReads();
+
+        void resumeReads();
+    }
+
+    private final String name;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maxPending;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder saturations = new LongAdder();
+    private final Runnable drain = this::drain;
+    private volatile boolean saturated;
+    private volatile int highWaterMark;
+    private volatile ReadControl readControl;
+    // Calls to readControl are made under readLock, so a pause and a resume can never be applied out of order
+    private final Object readLock = new Object();
+    private volatile boolean readsPaused;
+    private volatile boolean closed;
+
+    /**
+     * @param mode VIRTUAL_THREAD or EXECUTOR
+     * @param maxPending Queued tasks above which the dispatcher counts as saturated
+     * @param name Session name, used for thread names and logging
+     */
+    public FIXDispatcher(DispatchMode mode, int maxPending, String name) {
+        this.name = name;
+        this.maxPending = Math.max(1, maxPending);
+        switch (mode) {
+            case VIRTUAL_THREAD:
+                this.executor = SharedExecutor.INSTANCE;
+                this.ownedExecutor = null;
+                break;
+            case EXECUTOR:
+                this.ownedExecutor = Executors.newSingleThreadExecutor(daemonThreads("fix-dispatch-" + name));
+                this.executor = ownedExecutor;
+                break;
+            default:
+                throw new IllegalArgumentException("Dispatch mode " + mode + " does not use a dispatcher");
+        }
+    }
+
+    /**
+     * Set what pauses the session's reads while the dispatcher is saturated (set once the transport is connected)
+     */
+    public void setReadControl(ReadControl readControl) {
+        synchronized (readLock) {
+            this.readControl = readControl;
+            if (readsPaused && readControl != null) {
+                // A new transport of a session that is still behind
+                readControl.pauseReads();
+            }
+        }
+        updateReads();
+    }
+
+    /**
+     * Queue a task behind every task submitted before it (never blocks; ignored once closed)
+     */
+    public void execute(Runnable task) {
+        if (closed) {
+            return;
+        }
+        tasks.add(task);
+        int queued = pending.incrementAndGet();
+        if (queued == 1) {
+            // Nothing was draining: start a drain; otherwise the running drain picks the task up
+            executor.execute(drain);
+        } else if (queued > maxPending) {
+            if (!saturated) {
+                saturated = true;
+                saturations.increment();
+                LOGGER.warn("Dispatch of session {} is falling behind: {} messages pending (limit {})", name, queued, maxPending);
+            }
+            if (!readsPaused) {
+                updateReads();
+            }
+        }
+        if (queued > highWaterMark) {
+            highWaterMark = queued;
+        }
+    }
+
+    private void drain() {
+        int remaining;
+        do {
+            Runnable task = tasks.poll();
+            // Tasks still queued when the dispatcher is closed are dropped
+            if (!closed) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Error dispatching message of session {}", name, e);
+                }
+                dispatched.increment();
+            }
+            remaining = pending.decrementAndGet();
+            if (saturated && remaining <= maxPending / 2) {
+                saturated = false;
+                LOGGER.info("Dispatch of session {} caught up", name);
+            }
+            if (readsPaused && remaining <= maxPending / 2) {
+                updateReads();
+            }
+        } while (remaining > 0);
+    }
+
+    /**
+     * Pause reads above the pending limit and resume them once half the limit has drained
+     */
+    private void updateReads() {
+        synchronized (readLock) {
+            ReadControl control = readControl;
+            if (control == null) {
+                return;
+            }
+            int queued = pending.get();
+            if (!readsPaused && queued > maxPending) {
+                readsPaused = true;
+                control.pauseReads();
+                // The drain may have caught up before it could see the pause
+                queued = pending.get();
+            }
+            if (readsPaused && queued <= maxPending / 2) {
+                readsPaused = false;
+                control.resumeReads();
+            }
+        }
+    }
+
+    /**
+     * Number of tasks queued or running
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /**
+     * Highest number of tasks that were pending at once
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Number of tasks completed
+     */
+    public long getDispatched() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Whether more than the pending limit is queued
+     */
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    /**
+     * Whether the session's reads are paused because the pending limit was exceeded
+     */
+    public boolean isReadsPaused() {
+        return readsPaused;
+    }
+
+    /**
+     * Number of times the pending limit was exceeded
+     */
+    public long getSaturations() {
+        return saturations.sum();
+    }
+
+    /**
+     * Drop the queued tasks (a running one completes), release the read pause and stop the dedicated thread, if any
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (readLock) {
+            if (readsPaused && readControl != null) {
+                readControl.resumeReads();
+            }
+            readsPaused = false;
+            readControl = null;
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One virtual thread per drain where the runtime supports it (Java 21+); otherwise a shared cached pool
+     */
+    private static final class SharedExecutor {
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                Executor executor = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                LOGGER.info("Dispatching FIX messages on virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.info("Virtual threads are not available, dispatching FIX messages on pooled threads");
+                return Executors.newCachedThreadPool(daemonThreads("fix-dispatch"));
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of I/O event loops, each a thread multiplexing many sessions' channels with one Selector.
+ * A channel stays on the loop it was registered with, so all reads of a session happen on one thread.
+ * New channels go to the loop with the fewest registrations.
+ * Connections share one JVM-wide group through {@link #acquireShared(int)} / {@link #releaseShared(FIXEventLoopGroup)};
+ * its threads stop when the last connection releases it.
+ */
+public final class FIXEventLoopGroup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXEventLoopGroup.class);
+
+    private static FIXEventLoopGroup shared;
+    private static int sharedUsers;
+
+    /**
+     * Callback of a registered channel, run on its event loop
+     */
+    interface Handler {
+        void onReadable(SelectionKey key);
+    }
+
+    /**
+     * Get the JVM-wide group, created with the given number of loops if no connection holds it.
+     * Every call must be matched by one {@link #releaseShared(FIXEventLoopGroup)}.
+     *
+     * @param threads Number of event loops (0 or less for one per available processor)
+     */
+    public static synchronized FIXEventLoopGroup acquireShared(int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        if (shared == null) {
+            shared = new FIXEventLoopGroup(size);
+        } else if (shared.loops.length != size) {
+            LOGGER.warn("Shared FIX event loop group already runs {} loops; ignoring requested size {}",
+                shared.loops.length, size);
+        }
+        sharedUsers++;
+        return shared;
+    }
+
+    /**
+     * Release a group obtained from {@link #acquireShared(int)}; the last release stops its threads
+     */
+    public static synchronized void releaseShared(FIXEventLoopGroup group) {
+        if (group != shared || --sharedUsers > 0) {
+            return;
+        }
+        shared = null;
+        group.close();
+    }
+
+    private final EventLoop[] loops;
+
+    public FIXEventLoopGroup(int threads) {
+        this.loops = new EventLoop[Math.max(1, threads)];
+        try {
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new EventLoop("fix-io-" + i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open selector", e);
+        }
+        LOGGER.info("Started {} FIX I/O event loops", loops.length);
+    }
+
+    /**
+     * Register a non-blocking channel for reads on the least loaded loop
+     */
+    Registration register(SelectableChannel channel, Handler handler) {
+        EventLoop target = loops[0];
+        for (EventLoop loop : loops) {
+            if (loop.registrations.get() < target.registrations.get()) {
+                target = loop;
+            }
+        }
+        return target.register(channel, handler);
+    }
+
+    /**
+     * Number of event loops
+     */
+    public int size() {
+        return loops.length;
+    }
+
+    /**
+     * Stop every loop and close its selector; channels still registered are no longer read
+     */
+    public void close() {
+        for (EventLoop loop : loops) {
+            loop.close();
+        }
+        LOGGER.info("Stopped {} FIX I/O event loops", loops.length);
+    }
+
+    /**
+     * Registration of a channel with its event loop; the key is set on the loop thread
+     */
+    static final class Registration {
+        private final EventLoop loop;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private SelectionKey key;
+
+        private Registration(EventLoop loop) {
+            this.loop = loop;
+        }
+
+        /**
+         * Turn read interest on or off (safe from any thread; applied on the loop in call order)
+         */
+        void setReading(boolean reading) {
+            loop.execute(() -> {
+                if (key != null && key.isValid()) {
+                    key.interestOps(reading ? SelectionKey.OP_READ : 0);
+                }
+            });
+        }
+
+        /**
+         * Deregister the channel (safe from any thread, idempotent)
+         */
+        void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                loop.registrations.decrementAndGet();
+                loop.execute(() -> {
+                    if (key != null) {
+                        key.cancel();
+                    }
+                });
+            }
+        }
+    }
+
+    private static final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger registrations = new AtomicInteger();
+        private final Thread thread;
+        private volatile boolean closed;
+
+        EventLoop(String name) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        Registration register(SelectableChannel channel, Handler handler) {
+            Registration future = new Registration(this);
+            registrations.incrementAndGet();
+            execute(() -> {
+                try {
+                    future.key = channel.register(selector, SelectionKey.OP_READ, handler);
+                } catch (ClosedChannelException e) {
+                    // Closed before the loop got to it; cancel() accounts for it
+                }
+            });
+            return future;
+        }
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void close() {
+            closed = true;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                try {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+                    Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                    while (selected.hasNext()) {
+                        SelectionKey key = selected.next();
+                        selected.remove();
+                        if (key.isValid() && key.isReadable()) {
+                            ((Handler) key.attachment()).onReadable(key);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // One misbehaving session must not take the loop (and every other session) down
+                    LOGGER.error("Error in FIX I/O event loop", e);
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close FIX I/O selector", e);
+            }
+        }
+    }
+}
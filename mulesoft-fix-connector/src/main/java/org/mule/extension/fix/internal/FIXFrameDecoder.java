@@ -0,0 +1,223 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Stateful, incremental FIX frame decoder over a reusable ByteBuffer.
+ * Frames are cut on exact boundaries using the BeginString(8) / BodyLength(9) header:
+ * a frame is {@code 8=...|9=N|} followed by N body bytes and the {@code 10=xxx|} trailer.
+ * Every complete frame in the buffer is emitted per decode call; a trailing partial frame
+ * stays in place and is only compacted to the front when the buffer runs out of room.
+ * Not thread-safe - owned by a single reader.
+ */
+public class FIXFrameDecoder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXFrameDecoder.class);
+
+    private static final byte SOH = 0x01;
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_FRAME_SIZE = 1024 * 1024;
+    // "10=" + three digits + SOH
+    private static final int TRAILER_LENGTH = 7;
+    // Longest plausible "8=FIXT.1.1|9=nnnnnnn|" prefix before we give up and resync
+    private static final int MAX_HEADER_LENGTH = 32;
+
+    private final int maxFrameSize;
+    private ByteBuffer buffer;
+    // Start of the first undecoded byte; buffer.position() is the end of valid data
+    private int readIndex;
+
+    /**
+     * Callback receiving each complete frame. The slice is only valid for the duration of the call.
+     */
+    public interface FrameHandler {
+        void onFrame(byte[] buffer, int offset, int length);
+    }
+
+    public FIXFrameDecoder() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    public FIXFrameDecoder(int initialBufferSize, int maxFrameSize) {
+        this.buffer = ByteBuffer.allocate(initialBufferSize);
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Read available bytes from the channel into the decode buffer
+     *
+     * @return Number of bytes read, or -1 on end of stream
+     */
+    public int readFrom(ReadableByteChannel channel) throws IOException {
+        ensureWritable();
+        return channel.read(buffer);
+    }
+
+    /**
+     * Copy bytes into the decode buffer (for callers that already hold the data)
+     */
+    public void append(byte[] data, int offset, int length) {
+        while (length > 0) {
+            ensureWritable();
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(data, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Emit every complete frame currently buffered
+     *
+     * @return Number of frames emitted
+     */
+    public int decode(FrameHandler handler) {
+        byte[] array = buffer.array();
+        int writeIndex = buffer.position();
+        int frames = 0;
+
+        while (readIndex < writeIndex) {
+            int frameLength = frameLength(array, readIndex, writeIndex);
+            if (frameLength == 0) {
+                break; // need more bytes
+            }
+            if (frameLength < 0) {
+                resync(array, writeIndex);
+                continue;
+            }
+            handler.onFrame(array, readIndex, frameLength);
+            readIndex += frameLength;
+            frames++;
+        }
+
+        if (readIndex == writeIndex) {
+            // Everything consumed: rewind without copying
+            buffer.clear();
+            readIndex = 0;
+        }
+        return frames;
+    }
+
+    /**
+     * Number of buffered bytes not yet emitted as frames
+     */
+    public int pendingBytes() {
+        return buffer.position() - readIndex;
+    }
+
+    /**
+     * Determine the length of the frame starting at {@code start}.
+     *
+     * @return Frame length, 0 if more bytes are needed, or -1 if the bytes are not a valid frame
+     */
+    private int frameLength(byte[] array, int start, int end) {
+        // BeginString: "8=" ... SOH
+        if (end - start < 2) {
+            return array[start] == '8' ? 0 : -1;
+        }
+        if (array[start] != '8' || array[start + 1] != '=') {
+            return -1;
+        }
+        int pos = start + 2;
+        int headerLimit = Math.min(end, start + MAX_HEADER_LENGTH);
+        while (pos < headerLimit && array[pos] != SOH) {
+            pos++;
+        }
+        if (pos == headerLimit) {
+            return headerLimit == end && end - start < MAX_HEADER_LENGTH ? 0 : -1;
+        }
+        pos++;
+
+        // BodyLength: "9=" digits SOH
+        if (end - pos < 2) {
+            return 0;
+        }
+        if (array[pos] != '9' || array[pos + 1] != '=') {
+            return -1;
+        }
+        pos += 2;
+        int bodyLength = 0;
+        int digitsStart = pos;
+        while (pos < headerLimit && array[pos] != SOH) {
+            int digit = array[pos] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            // Stop before the value can overflow: anything past maxFrameSize is discarded anyway
+            if (bodyLength > (maxFrameSize - digit) / 10) {
+                LOGGER.warn("Discarding frame with BodyLength over the maximum frame size of {} bytes", maxFrameSize);
+                return -1;
+            }
+            bodyLength = bodyLength * 10 + digit;
+            pos++;
+        }
+        if (pos == headerLimit) {
+            return headerLimit == end && end - start < MAX_HEADER_LENGTH ? 0 : -1;
+        }
+        if (pos == digitsStart) {
+            return -1;
+        }
+        pos++;
+
+        int frameLength = pos - start + bodyLength + TRAILER_LENGTH;
+        if (frameLength > maxFrameSize) {
+            LOGGER.warn("Discarding frame of {} bytes (max {})", frameLength, maxFrameSize);
+            return -1;
+        }
+        if (end - start < frameLength) {
+            return 0;
+        }
+
+        int trailer = start + frameLength - TRAILER_LENGTH;
+        if (array[trailer] != '1' || array[trailer + 1] != '0' || array[trailer + 2] != '='
+                || array[start + frameLength - 1] != SOH) {
+            LOGGER.warn("BodyLength does not point at CheckSum (10); discarding bytes until next frame");
+            return -1;
+        }
+        return frameLength;
+    }
+
+    /**
+     * Skip to the next "8=" that follows an SOH; everything before it is not a valid frame
+     */
+    private void resync(byte[] array, int end) {
+        int skipFrom = readIndex;
+        int pos = readIndex + 1;
+        while (pos < end && !(array[pos] == '8' && array[pos - 1] == SOH)) {
+            pos++;
+        }
+        readIndex = pos;
+        LOGGER.warn("Skipped {} bytes of unframed data", pos - skipFrom);
+    }
+
+    /**
+     * Make room for the next read: compact the pending partial frame to the front only when
+     * the tail of the buffer runs low, and grow when a single frame exceeds the buffer.
+     */
+    private void ensureWritable() {
+        int minReadSpace = Math.max(1, buffer.capacity() >> 4);
+        if (buffer.remaining() >= minReadSpace) {
+            return;
+        }
+        if (readIndex > 0) {
+            int pending = buffer.position() - readIndex;
+            byte[] array = buffer.array();
+            System.arraycopy(array, readIndex, array, 0, pending);
+            buffer.position(pending);
+            readIndex = 0;
+        }
+        if (buffer.remaining() < minReadSpace && buffer.capacity() < maxFrameSize) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.min(buffer.capacity() << 1, maxFrameSize));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        } else if (!buffer.hasRemaining()) {
+            throw new IllegalStateException("FIX frame exceeds maximum size of " + maxFrameSize + " bytes");
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+import org.mule.extension.fix.api.GapOverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Bounded buffer for messages received ahead of a sequence gap.
+ * Buffered messages are kept already parsed in a power-of-two ring indexed by seqNum, so taking
+ * the next expected message is an array lookup and nothing is parsed twice. The ring is capped by
+ * message count and by frame bytes; past either cap the overflow policy applies. Spilled frames
+ * are appended to a file, indexed by seqNum, and parsed again only when the gap closes.
+ * Owned by the session's reader thread; only the counters may be read from other threads.
+ */
+public final class FIXGapBuffer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXGapBuffer.class);
+
+    public static final int DEFAULT_MAX_MESSAGES = 65536;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    private static final int INITIAL_SPILL_INDEX_SIZE = 1024;
+
+    /**
+     * A buffered message with the frame it was parsed from
+     */
+    public static final class Entry {
+        final int seqNum;
+        final FIXMessage message;
+        final byte[] frame;
+
+        Entry(int seqNum, FIXMessage message, byte[] frame) {
+            this.seqNum = seqNum;
+            this.message = message;
+            this.frame = frame;
+        }
+
+        public FIXMessage getMessage() {
+            return message;
+        }
+
+        public byte[] getFrame() {
+            return frame;
+        }
+    }
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final GapOverflowPolicy policy;
+    private final Path spillDirectory;
+
+    private final Entry[] ring;
+    private final int mask;
+    private volatile int bufferedCount;
+    private volatile long bufferedBytes;
+
+    // Spill file and its seqNum -> (position, length) index, relative to spillBase
+    private FileChannel spill;
+    private Path spillFile;
+    private long spillPosition;
+    private int spillBase;
+    private long[] spillPositions;
+    private int[] spillLengths;
+    private volatile int spilledCount;
+    private FIXMessageView spillView;
+
+    private long overflows;
+    // Highest seqNum rejected by the overflow policy (0 if none), so the gap can be requested again
+    private int highestDropped;
+
+    public FIXGapBuffer() {
+        this(DEFAULT_MAX_MESSAGES, DEFAULT_MAX_BYTES, GapOverflowPolicy.SPILL, null);
+    }
+
+    /**
+     * @param maxMessages Messages held in memory
+     * @param maxBytes Frame bytes held in memory
+     * @param policy What to do with messages beyond either limit
+     * @param spillDirectory Directory for the spill file (SPILL policy; null for the temp directory)
+     */
+    public FIXGapBuffer(int maxMessages, long maxBytes, GapOverflowPolicy policy, Path spillDirectory) {
+        this.maxMessages = Math.max(1, maxMessages);
+        this.maxBytes = maxBytes;
+        this.policy = policy;
+        this.spillDirectory = spillDirectory;
+        int capacity = Integer.highestOneBit(this.maxMessages - 1 | 1) << 1;
+        this.ring = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Buffer a message received ahead of a gap
+     *
+     * @return Whether the message was kept (in memory or spilled); false if the overflow policy rejected it
+     */
+    public boolean add(int seqNum, FIXMessage message, byte[] buffer, int offset, int length) {
+        int slot = seqNum & mask;
+        Entry existing = ring[slot];
+        if (existing != null && existing.seqNum == seqNum || isSpilled(seqNum)) {
+            // Already buffered (e.g. a duplicate of a resent message)
+            return true;
+        }
+        if (existing == null && bufferedCount < maxMessages && bufferedBytes + length <= maxBytes) {
+            ring[slot] = new Entry(seqNum, message, Arrays.copyOfRange(buffer, offset, offset + length));
+            bufferedCount++;
+            bufferedBytes += length;
+            return true;
+        }
+        overflows++;
+        if (policy == GapOverflowPolicy.SPILL) {
+            try {
+                spill(seqNum, buffer, offset, length);
+                return true;
+            } catch (IOException e) {
+                LOGGER.error("Failed to spill out-of-order message {}; dropping it", seqNum, e);
+            }
+        }
+        highestDropped = Math.max(highestDropped, seqNum);
+        return false;
+    }
+
+    /**
+     * Remove and return the message with the given seqNum, or null if it is not buffered
+     */
+    public Entry take(int seqNum) {
+        int slot = seqNum & mask;
+        Entry entry = ring[slot];
+        if (entry != null && entry.seqNum == seqNum) {
+            ring[slot] = null;
+            bufferedCount--;
+            bufferedBytes -= entry.frame.length;
+            return entry;
+        }
+        return isSpilled(seqNum) ? takeSpilled(seqNum) : null;
+    }
+
+    /**
+     * Get the number of buffered messages (in memory and spilled)
+     */
+    public int size() {
+        return bufferedCount + spilledCount;
+    }
+
+    /**
+     * Get the lowest buffered seqNum (in memory or spilled), or -1 if nothing is buffered.
+     * Scans the ring, so it is meant for the rare case of a gap closing with messages still buffered.
+     */
+    public int lowestSeqNum() {
+        int lowest = -1;
+        if (bufferedCount > 0) {
+            for (Entry entry : ring) {
+                if (entry != null && (lowest == -1 || entry.seqNum < lowest)) {
+                    lowest = entry.seqNum;
+                }
+            }
+        }
+        if (spilledCount > 0) {
+            for (int index = 0; index < spillLengths.length; index++) {
+                if (spillLengths[index] > 0) {
+                    int seqNum = spillBase + index;
+                    if (lowest == -1 || seqNum < lowest) {
+                        lowest = seqNum;
+                    }
+                    break;
+                }
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Get the highest seqNum the overflow policy rejected (0 if none)
+     */
+    public int getHighestDropped() {
+        return highestDropped;
+    }
+
+    /**
+     * Get the number of messages spilled to disk
+     */
+    public int getSpilledCount() {
+        return spilledCount;
+    }
+
+    /**
+     * Get the frame bytes held in memory
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Get the number of messages that did not fit in memory
+     */
+    public long getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Get the policy applied to messages that do not fit in memory
+     */
+    public GapOverflowPolicy getOverflowPolicy() {
+        return policy;
+    }
+
+    /**
+     * Drop every buffered message (sequence reset)
+     */
+    public void clear() {
+        Arrays.fill(ring, null);
+        bufferedCount = 0;
+        bufferedBytes = 0;
+        highestDropped = 0;
+        resetSpill();
+    }
+
+    @Override
+    public void close() throws IOException {
+        clear();
+        if (spill != null) {
+            spill.close();
+            Files.deleteIfExists(spillFile);
+            spill = null;
+        }
+    }
+
+    private boolean isSpilled(int seqNum) {
+        if (spilledCount == 0) {
+            return false;
+        }
+        int index = seqNum - spillBase;
+        return index >= 0 && index < spillLengths.length && spillLengths[index] > 0;
+    }
+
+    private void spill(int seqNum, byte[] buffer, int offset, int length) throws IOException {
+        if (spill == null) {
+            Path directory = spillDirectory != null ? spillDirectory : Path.of(System.getProperty("java.io.tmpdir"));
+            Files.createDirectories(directory);
+            spillFile = Files.createTempFile(directory, "fix-gap-", ".spill");
+            spill = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            spillView = new FIXMessageView();
+        }
+        if (spilledCount == 0) {
+            spillBase = seqNum;
+            spillPositions = new long[INITIAL_SPILL_INDEX_SIZE];
+            spillLengths = new int[INITIAL_SPILL_INDEX_SIZE];
+        } else if (seqNum < spillBase) {
+            rebaseSpillIndex(seqNum);
+        }
+        int index = seqNum - spillBase;
+        if (index >= spillLengths.length) {
+            int size = Math.max(spillLengths.length << 1, index + 1);
+            spillPositions = Arrays.copyOf(spillPositions, size);
+            spillLengths = Arrays.copyOf(spillLengths, size);
+        }
+
+        ByteBuffer source = ByteBuffer.wrap(buffer, offset, length);
+        long position = spillPosition;
+        while (source.hasRemaining()) {
+            position += spill.write(source, position);
+        }
+        spillPositions[index] = spillPosition;
+        spillLengths[index] = length;
+        spillPosition = position;
+        spilledCount++;
+        if (spilledCount == 1) {
+            LOGGER.warn("Gap buffer full ({} messages, {} bytes); spilling to {}", bufferedCount, bufferedBytes, spillFile);
+        }
+    }
+
+    private void rebaseSpillIndex(int newBase) {
+        int shift = spillBase - newBase;
+        long[] positions = new long[spillLengths.length + shift];
+        int[] lengths = new int[spillLengths.length + shift];
+        System.arraycopy(spillPositions, 0, positions, shift, spillPositions.length);
+        System.arraycopy(spillLengths, 0, lengths, shift, spillLengths.length);
+        spillPositions = positions;
+        spillLengths = lengths;
+        spillBase = newBase;
+    }
+
+    private Entry takeSpilled(int seqNum) {
+        int index = seqNum - spillBase;
+        int length = spillLengths[index];
+        long position = spillPositions[index];
+        spillLengths[index] = 0;
+        try {
+            byte[] frame = new byte[length];
+            ByteBuffer target = ByteBuffer.wrap(frame);
+            while (target.hasRemaining()) {
+                int read = spill.read(target, position);
+                if (read < 0) {
+                    throw new IOException("Spill file truncated");
+                }
+                position += read;
+            }
+            FIXMessage message = FIXMessageParser.parse(frame, 0, length, spillView, false).toFIXMessage();
+            return new Entry(seqNum, message, frame);
+        } catch (IOException | FIXParseException e) {
+            LOGGER.error("Failed to read spilled message {}", seqNum, e);
+            return null;
+        } finally {
+            if (--spilledCount == 0) {
+                resetSpill();
+            }
+        }
+    }
+
+    private void resetSpill() {
+        spilledCount = 0;
+        spillPosition = 0;
+        spillPositions = null;
+        spillLengths = null;
+        if (spill != null) {
+            try {
+                // Every spilled frame has been taken; reuse the file from the start
+                spill.truncate(0);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to truncate gap spill file {}", spillFile, e);
+            }
+        }
+    }
+}
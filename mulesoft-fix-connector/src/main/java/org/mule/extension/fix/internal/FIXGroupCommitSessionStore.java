@@ -0,0 +1,267 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.SessionStoreCommitMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group-commit layer in front of another session store.
+ * Saves only mark their session dirty; a committer thread collects every save made within a small
+ * time window (or until a batch fills up), writes the latest state of each dirty session once and,
+ * in {@link SessionStoreCommitMode#SYNC} mode, syncs the store once for the whole group.
+ * Many updates per message therefore cost one write per window instead of one write each.
+ * <p>
+ * A SYNC save waits for the commit of its group, so a thread saving one message at a time could only
+ * save once per window. Inside {@link #beginBatch()}/{@link #endBatch()} saves return at once and the
+ * thread waits once, at the end of the batch, for the last group any of them joined; the socket reader
+ * thereby waits once per read rather than once per message.
+ */
+public class FIXGroupCommitSessionStore implements FIXSessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXGroupCommitSessionStore.class);
+
+    private static final int DEPTH = 0;
+    private static final int AWAITED_EPOCH = 1;
+
+    private final FIXSessionStore delegate;
+    private final boolean syncAcknowledge;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Thread committer;
+    // Per thread: batch nesting depth and the group its saves must wait for (0 if none)
+    private final ThreadLocal<long[]> batches = ThreadLocal.withInitial(() -> new long[2]);
+
+    // Everything below is guarded by lock
+    private final Object lock = new Object();
+    private final Map<String, FIXSessionState> dirty = new LinkedHashMap<>();
+    private int pendingUpdates;
+    private long takenEpoch;      // Groups handed to the committer so far
+    private long committedEpoch;  // Groups fully committed so far
+    private long commits;
+    private long updates;
+    private boolean flushRequested;
+    private boolean closed;
+    private boolean committerRunning = true;
+
+    /**
+     * @param delegate Store the groups are committed to
+     * @param mode ASYNC or SYNC acknowledgement
+     * @param windowMicros How long a group stays open for further updates
+     * @param maxBatch Number of updates that closes a group early
+     */
+    public FIXGroupCommitSessionStore(FIXSessionStore delegate, SessionStoreCommitMode mode, long windowMicros,
+                                      int maxBatch) {
+        if (mode == SessionStoreCommitMode.DIRECT) {
+            throw new IllegalArgumentException("Group commit requires ASYNC or SYNC mode");
+        }
+        this.delegate = delegate;
+        this.syncAcknowledge = mode == SessionStoreCommitMode.SYNC;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.committer = new Thread(this::commitLoop, "fix-session-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    @Override
+    public boolean restore(FIXSessionState state) throws IOException {
+        return delegate.restore(state);
+    }
+
+    @Override
+    public void save(FIXSessionState state) {
+        synchronized (lock) {
+            if (!committerRunning) {
+                delegate.save(state);
+                return;
+            }
+            dirty.put(state.getSessionId(), state);
+            updates++;
+            if (++pendingUpdates == 1) {
+                lock.notifyAll();
+            } else if (pendingUpdates == maxBatch) {
+                LockSupport.unpark(committer);
+            }
+            if (syncAcknowledge) {
+                // This update belongs to the group after the ones already taken
+                long[] batch = batches.get();
+                if (batch[DEPTH] > 0) {
+                    batch[AWAITED_EPOCH] = takenEpoch + 1;
+                } else {
+                    awaitCommit(takenEpoch + 1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beginBatch() {
+        batches.get()[DEPTH]++;
+    }
+
+    @Override
+    public void endBatch() {
+        long[] batch = batches.get();
+        if (batch[DEPTH] == 0 || --batch[DEPTH] > 0 || batch[AWAITED_EPOCH] == 0) {
+            return;
+        }
+        long epoch = batch[AWAITED_EPOCH];
+        batch[AWAITED_EPOCH] = 0;
+        synchronized (lock) {
+            awaitCommit(epoch);
+        }
+    }
+
+    @Override
+    public void sync() throws IOException {
+        synchronized (lock) {
+            if (pendingUpdates > 0) {
+                flushRequested = true;
+                LockSupport.unpark(committer);
+                awaitCommit(takenEpoch + 1);
+            } else {
+                awaitCommit(takenEpoch);
+            }
+        }
+        delegate.sync();
+    }
+
+    @Override
+    public void remove(String sessionId) throws IOException {
+        synchronized (lock) {
+            dirty.remove(sessionId);
+        }
+        delegate.remove(sessionId);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        LockSupport.unpark(committer);
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    /**
+     * Number of groups committed so far
+     */
+    public long getCommits() {
+        synchronized (lock) {
+            return commits;
+        }
+    }
+
+    /**
+     * Number of saves received so far
+     */
+    public long getUpdates() {
+        synchronized (lock) {
+            return updates;
+        }
+    }
+
+    private void awaitCommit(long epoch) {
+        try {
+            while (committedEpoch < epoch && committerRunning) {
+                lock.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commitLoop() {
+        List<FIXSessionState> group = new ArrayList<>();
+        try {
+            while (true) {
+                long epoch;
+                synchronized (lock) {
+                    while (pendingUpdates == 0 && !closed) {
+                        lock.wait();
+                    }
+                    if (pendingUpdates == 0) {
+                        committerRunning = false;
+                        return;
+                    }
+                }
+                // Keep the group open for the window so concurrent updates share the commit. Parked outside
+                // the monitor: Object.wait rounds any sub-millisecond timeout up to a whole millisecond.
+                long deadline = System.nanoTime() + windowNanos;
+                long remaining;
+                while (!groupClosed() && (remaining = deadline - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                synchronized (lock) {
+                    group.addAll(dirty.values());
+                    dirty.clear();
+                    pendingUpdates = 0;
+                    flushRequested = false;
+                    epoch = ++takenEpoch;
+                }
+
+                commit(group);
+                group.clear();
+
+                synchronized (lock) {
+                    committedEpoch = epoch;
+                    commits++;
+                    lock.notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                // Saves go straight to the delegate from now on; write whatever is still pending
+                // and release any waiter
+                committerRunning = false;
+                group.addAll(dirty.values());
+                dirty.clear();
+                pendingUpdates = 0;
+                commit(group);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Whether the open group should be committed before its window ends
+     */
+    private boolean groupClosed() {
+        synchronized (lock) {
+            return closed || flushRequested || pendingUpdates >= maxBatch;
+        }
+    }
+
+    private void commit(List<FIXSessionState> group) {
+        // Saves read the state at commit time, so each session is written once with its latest numbers
+        for (FIXSessionState state : group) {
+            delegate.save(state);
+        }
+        if (syncAcknowledge) {
+            try {
+                delegate.sync();
+            } catch (IOException e) {
+                LOGGER.error("Failed to sync session store", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.mule.extension.fix.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-durable session store. Sequence numbers survive reconnects for as long as this instance
+ * lives (it is held by the connection provider), but not a restart.
+ */
+public class FIXInMemorySessionStore implements FIXSessionStore {
+
+    // Packed sequence numbers (see FIXSessionState#getSequenceNumbers) per session
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean restore(FIXSessionState state) {
+        AtomicLong packed = sequences.get(state.getSessionId());
+        if (packed == null) {
+            return false;
+        }
+        state.restoreSequenceNumbers(packed.get());
+        return true;
+    }
+
+    @Override
+    public void save(FIXSessionState state) {
+        sequences.computeIfAbsent(state.getSessionId(), key -> new AtomicLong())
+            .set(state.getSequenceNumbers());
+    }
+
+    @Override
+    public void sync() {
+        // Nothing durable to sync
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sequences.remove(sessionId);
+    }
+
+    @Override
+    public void close() {
+        // Kept for the next connection of the same provider
+    }
+}
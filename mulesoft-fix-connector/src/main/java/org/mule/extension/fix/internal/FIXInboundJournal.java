@@ -0,0 +1,371 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only journal of received application frames, backed by memory-mapped segment files.
+ * Every frame is appended before it is dispatched and gets a journal id (1, 2, 3, ... across
+ * restarts and sequence resets). Once the consumer has finished with a frame it commits the id,
+ * which sets a committed flag in the record itself, so flows may complete out of order and a
+ * commit survives a restart wherever it lands. The commit cursor is the highest id up to which
+ * every frame has been committed. After a crash, {@link #replay(RecordHandler)} hands back every
+ * uncommitted frame.
+ * Each record is {@code [int length][long id][frame bytes]}, the top bit of the id being the
+ * committed flag; appending is a copy into the mapping, with no system call on the receive path.
+ * A segment is deleted as soon as every frame in it is committed (the segment being written aside).
+ * The heap only holds one int per frame of a live segment, to find a record by id.
+ */
+public final class FIXInboundJournal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXInboundJournal.class);
+
+    /**
+     * Journal id used for frames that were dispatched without being journaled
+     */
+    public static final long NOT_JOURNALED = -1L;
+
+    static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int RECORD_HEADER = 12;
+    private static final int ID_OFFSET = 4;
+    // Set in the high byte of the (big-endian) id; journal ids never reach it
+    private static final byte COMMITTED = (byte) 0x80;
+    private static final long ID_MASK = Long.MAX_VALUE;
+    private static final int INITIAL_SEGMENT_INDEX = 1024;
+    // Uncommitted frames behind the oldest outstanding one before a stuck commit is reported
+    static final long COMMIT_LAG_WARNING = 100_000;
+    private static final String SEGMENT_PREFIX = "inbound-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR_FILE = "inbound.cursor";
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Receives journaled frames during replay
+     */
+    public interface RecordHandler {
+        void onRecord(long id, byte[] buffer, int offset, int length);
+    }
+
+    private static final class Segment {
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer mapped;
+        // Ids within a segment are contiguous: record firstId + i is at offsets[i]
+        long firstId;
+        int[] offsets = new int[INITIAL_SEGMENT_INDEX];
+        int count;
+        int uncommitted;
+
+        Segment(Path file, int size) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        long lastId() {
+            return firstId + count - 1;
+        }
+
+        void add(long id, int offset, boolean committed) {
+            if (count == 0) {
+                firstId = id;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count << 1);
+            }
+            offsets[count++] = offset;
+            if (!committed) {
+                uncommitted++;
+            }
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final FileChannel cursorChannel;
+    private final MappedByteBuffer cursor;
+    private int nextSegmentNumber;
+    private int writeOffset;
+    private long lastId;
+    private long committedId;
+    private boolean replaying;
+    private boolean lagReported;
+
+    /**
+     * Open (or create) a journal in the given directory, recovering any existing segments
+     */
+    public FIXInboundJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public FIXInboundJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        this.cursorChannel = FileChannel.open(directory.resolve(CURSOR_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.cursor = cursorChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        this.committedId = (long) LONGS.getAcquire(cursor, 0);
+        recover();
+        LOGGER.info("Opened inbound journal at {} (last id {}, committed {})", directory, lastId, committedId);
+    }
+
+    /**
+     * Append a received frame
+     *
+     * @return Journal id to commit once the frame has been processed
+     */
+    public synchronized long append(byte[] buffer, int offset, int length) throws IOException {
+        int recordLength = RECORD_HEADER + length;
+        if (recordLength > segmentSize) {
+            throw new IOException("Frame of " + length + " bytes exceeds the journal segment size");
+        }
+        if (segments.isEmpty() || writeOffset + recordLength > segmentSize) {
+            startSegment();
+        }
+        Segment segment = segments.get(segments.size() - 1);
+        long id = lastId + 1;
+        segment.mapped.put(writeOffset + RECORD_HEADER, buffer, offset, length);
+        segment.mapped.putLong(writeOffset + ID_OFFSET, id);
+        // Length last: a record with length 0 marks the end of the segment during recovery
+        segment.mapped.putInt(writeOffset, length);
+        segment.add(id, writeOffset, false);
+        writeOffset += recordLength;
+        lastId = id;
+        if (!lagReported && id - committedId > COMMIT_LAG_WARNING) {
+            lagReported = true;
+            LOGGER.warn("Inbound journal frame {} is still not committed, {} frames later; "
+                + "its segments are kept and it will be replayed on restart", committedId + 1, id - committedId - 1);
+        }
+        return id;
+    }
+
+    /**
+     * Mark a frame as processed; the cursor advances over every contiguous committed id
+     */
+    public synchronized void commit(long id) {
+        if (id <= committedId || id > lastId) {
+            return;
+        }
+        Segment segment = segmentOf(id);
+        if (segment == null) {
+            return;
+        }
+        int offset = segment.offsets[(int) (id - segment.firstId)];
+        byte flags = segment.mapped.get(offset + ID_OFFSET);
+        if ((flags & COMMITTED) != 0) {
+            return;
+        }
+        segment.mapped.put(offset + ID_OFFSET, (byte) (flags | COMMITTED));
+        segment.uncommitted--;
+        if (id == committedId + 1) {
+            advanceCursor();
+        }
+        if (segment.uncommitted == 0) {
+            reclaimSegments();
+        }
+    }
+
+    /**
+     * Hand every frame after the commit cursor to the handler, oldest first
+     *
+     * @return Number of frames replayed
+     */
+    public synchronized int replay(RecordHandler handler) {
+        int replayed = 0;
+        byte[] frame = new byte[256];
+        // The handler may commit as it goes; segments are only deleted once the replay is over
+        replaying = true;
+        try {
+            for (Segment segment : segments) {
+                if (segment.uncommitted == 0) {
+                    continue;
+                }
+                MappedByteBuffer mapped = segment.mapped;
+                for (int i = 0; i < segment.count; i++) {
+                    int offset = segment.offsets[i];
+                    long id = segment.firstId + i;
+                    if (id <= committedId || (mapped.get(offset + ID_OFFSET) & COMMITTED) != 0) {
+                        continue;
+                    }
+                    int length = mapped.getInt(offset);
+                    if (frame.length < length) {
+                        frame = new byte[length];
+                    }
+                    mapped.get(offset + RECORD_HEADER, frame, 0, length);
+                    handler.onRecord(id, frame, 0, length);
+                    replayed++;
+                }
+            }
+        } finally {
+            replaying = false;
+        }
+        reclaimSegments();
+        return replayed;
+    }
+
+    /**
+     * Get the id of the last appended frame (0 if none)
+     */
+    public synchronized long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Get the commit cursor: every frame up to this id has been processed
+     */
+    public synchronized long getCommittedId() {
+        return committedId;
+    }
+
+    /**
+     * Force journaled frames and the cursor to disk
+     */
+    public synchronized void sync() {
+        for (Segment segment : segments) {
+            segment.mapped.force();
+        }
+        cursor.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        segments.clear();
+        cursorChannel.close();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            Segment segment = new Segment(file, segmentSize);
+            segments.add(segment);
+            int offset = 0;
+            while (offset + RECORD_HEADER <= segmentSize) {
+                int length = segment.mapped.getInt(offset);
+                if (length <= 0 || offset + RECORD_HEADER + length > segmentSize) {
+                    break;
+                }
+                long id = segment.mapped.getLong(offset + ID_OFFSET) & ID_MASK;
+                boolean committed = id <= committedId || (segment.mapped.get(offset + ID_OFFSET) & COMMITTED) != 0;
+                segment.add(id, offset, committed);
+                offset += RECORD_HEADER + length;
+            }
+            if (segment.count > 0) {
+                lastId = Math.max(lastId, segment.lastId());
+            }
+            writeOffset = offset;
+            String name = file.getFileName().toString();
+            nextSegmentNumber = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                name.length() - SEGMENT_SUFFIX.length())) + 1;
+        }
+        if (committedId > lastId) {
+            // A cursor ahead of the journal (e.g. segments removed by hand) must not hide new frames;
+            // the next frame starts a new segment so ids stay contiguous within each one
+            lastId = committedId;
+            writeOffset = segmentSize;
+        }
+        advanceCursor();
+        reclaimSegments();
+    }
+
+    /**
+     * Move the cursor over every committed frame that directly follows it
+     */
+    private void advanceCursor() {
+        long next = committedId;
+        for (Segment segment : segments) {
+            if (segment.count == 0 || segment.lastId() <= next) {
+                continue;
+            }
+            // Ids before this segment's first belonged to deleted segments, which were fully committed
+            next = Math.max(next, segment.firstId - 1);
+            while (next < segment.lastId()
+                    && (segment.mapped.get(segment.offsets[(int) (next + 1 - segment.firstId)] + ID_OFFSET) & COMMITTED) != 0) {
+                next++;
+            }
+            if (next < segment.lastId()) {
+                break;
+            }
+        }
+        if (next != committedId) {
+            committedId = next;
+            LONGS.setRelease(cursor, 0, committedId);
+            if (lastId - committedId <= COMMIT_LAG_WARNING) {
+                lagReported = false;
+            }
+        }
+    }
+
+    /**
+     * Find the live segment holding an id, or null if its segment was deleted
+     */
+    private Segment segmentOf(long id) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Segment segment = segments.get(middle);
+            if (segment.count == 0 || id > segment.lastId()) {
+                low = middle + 1;
+            } else if (id < segment.firstId) {
+                high = middle - 1;
+            } else {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Delete every segment, except the one being written, whose frames are all committed
+     */
+    private void reclaimSegments() {
+        if (replaying) {
+            return;
+        }
+        for (int i = segments.size() - 2; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (segment.uncommitted == 0) {
+                segments.remove(i);
+                try {
+                    segment.channel.close();
+                    Files.deleteIfExists(segment.file);
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to delete committed inbound journal segment {}", segment.file, e);
+                }
+            }
+        }
+    }
+
+    private void startSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+        segments.add(new Segment(file, segmentSize));
+        writeOffset = 0;
+        // The previous segment is no longer being written and can go once committed
+        reclaimSegments();
+    }
+}
@@ -0,0 +1,210 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.FIXFieldVisitor;
+import org.mule.extension.fix.api.FIXMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes FIX messages as escape-correct JSON (RFC 8259) into a reusable UTF-8 buffer. Documents are read
+ * straight from that buffer, so each one stays valid only until the writer's next write.
+ * Field values are written straight from the message's ASCII bytes, so no per-field Strings are created.
+ * Output is pure ASCII: control characters and non-ASCII characters are written as \\u escapes.
+ * Not thread-safe; use one writer per thread at a time.
+ */
+public final class FIXJsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean useTagNames;
+    private final FIXFieldVisitor fieldWriter = this::writeField;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private boolean firstField;
+
+    /**
+     * @param useTagNames Key fields by their dictionary name (e.g. "ClOrdID") instead of their tag number
+     */
+    public FIXJsonWriter(boolean useTagNames) {
+        this.useTagNames = useTagNames;
+    }
+
+    /**
+     * Write an application message as a JSON document
+     *
+     * @return A stream over the document in the writer's buffer (no copy)
+     */
+    public InputStream write(FIXMessage message, long timestamp) {
+        length = 0;
+        raw("{\"messageType\":");
+        string(message.getMsgType());
+        raw(",\"seqNum\":");
+        Integer seqNum = message.getMsgSeqNum();
+        if (seqNum != null) {
+            number(seqNum);
+        } else {
+            raw("null");
+        }
+        raw(",\"senderCompId\":");
+        string(message.getField(FIXMessage.TAG_SENDER_COMP_ID));
+        raw(",\"targetCompId\":");
+        string(message.getField(FIXMessage.TAG_TARGET_COMP_ID));
+        raw(",\"sendingTime\":");
+        string(message.getField(FIXMessage.TAG_SENDING_TIME));
+        raw(",\"fields\":{");
+        firstField = true;
+        message.forEachField(fieldWriter);
+        raw("},\"timestamp\":");
+        number(timestamp);
+        raw("}");
+        return new ByteArrayInputStream(buffer, 0, length);
+    }
+
+    /**
+     * Write a session event (e.g. LOGON or LOGOUT) as a JSON document
+     *
+     * @param reason Optional reason, omitted when null
+     */
+    public InputStream writeSessionEvent(String messageType, String sessionId, String reason, long timestamp) {
+        length = 0;
+        raw("{\"messageType\":");
+        string(messageType);
+        raw(",\"sessionId\":");
+        string(sessionId);
+        if (reason != null) {
+            raw(",\"reason\":");
+            string(reason);
+        }
+        raw(",\"timestamp\":");
+        number(timestamp);
+        raw("}");
+        return new ByteArrayInputStream(buffer, 0, length);
+    }
+
+    /**
+     * Length in bytes of the last document written
+     */
+    public int getLength() {
+        return length;
+    }
+
+    private void writeField(int tag, byte[] value, int offset, int valueLength) {
+        if (!firstField) {
+            raw(',');
+        }
+        firstField = false;
+        String name = useTagNames ? FIXTagNames.nameOf(tag) : null;
+        if (name != null) {
+            string(name);
+        } else {
+            raw('"');
+            number(tag);
+            raw('"');
+        }
+        raw(':');
+        if (valueLength < 0) {
+            raw("null");
+            return;
+        }
+        ensure(valueLength * 6 + 2);
+        buffer[length++] = '"';
+        for (int i = offset, end = offset + valueLength; i < end; i++) {
+            // FIX values are ASCII; other bytes are not valid text and become U+FFFD, as in FIXMessage.getField
+            escape(value[i] >= 0 ? value[i] : 0xFFFD);
+        }
+        buffer[length++] = '"';
+    }
+
+    private void string(String value) {
+        if (value == null) {
+            raw("null");
+            return;
+        }
+        ensure(value.length() * 6 + 2);
+        buffer[length++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            escape(value.charAt(i));
+        }
+        buffer[length++] = '"';
+    }
+
+    /**
+     * Append one UTF-16 character, escaped as needed (capacity must already be ensured)
+     */
+    private void escape(int c) {
+        switch (c) {
+            case '"':
+                buffer[length++] = '\\';
+                buffer[length++] = '"';
+                return;
+            case '\\':
+                buffer[length++] = '\\';
+                buffer[length++] = '\\';
+                return;
+            case '\n':
+                buffer[length++] = '\\';
+                buffer[length++] = 'n';
+                return;
+            case '\r':
+                buffer[length++] = '\\';
+                buffer[length++] = 'r';
+                return;
+            case '\t':
+                buffer[length++] = '\\';
+                buffer[length++] = 't';
+                return;
+            default:
+                if (c >= 0x20 && c < 0x7F) {
+                    buffer[length++] = (byte) c;
+                    return;
+                }
+                buffer[length++] = '\\';
+                buffer[length++] = 'u';
+                buffer[length++] = HEX[(c >> 12) & 0xF];
+                buffer[length++] = HEX[(c >> 8) & 0xF];
+                buffer[length++] = HEX[(c >> 4) & 0xF];
+                buffer[length++] = HEX[c & 0xF];
+        }
+    }
+
+    private void number(long value) {
+        ensure(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            buffer[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // Digits were written least significant first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void raw(String ascii) {
+        ensure(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[length++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    private void raw(char c) {
+        ensure(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
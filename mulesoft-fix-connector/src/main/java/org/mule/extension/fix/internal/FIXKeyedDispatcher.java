@@ -0,0 +1,147 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.api.FIXMessage;
+
+import java.io.Closeable;
+
+/**
+ * Spreads messages across parallel lanes by the values of a few tags (e.g. ClOrdID(11) or Symbol(55)).
+ * Messages with the same key always land on the same lane and run in arrival order; different keys run in
+ * parallel. Messages carrying none of the tags share one lane. Each lane is a {@link FIXDispatcher}, i.e. a
+ * lock-free queue drained by one thread at a time.
+ * <p>
+ * Submitting never blocks. While any lane is past its limit, the session's reads are paused through the
+ * {@link FIXDispatcher.ReadControl} set with {@link #setReadControl}; they resume once every lane has drained
+ * half its backlog.
+ */
+public final class FIXKeyedDispatcher implements Closeable {
+
+    private final int[] tags;
+    private final FIXDispatcher[] lanes;
+    // Counts the saturated lanes; the session's reads are paused while any lane is
+    private final LaneReads laneReads = new LaneReads();
+    private final Object readLock = new Object();
+    private FIXDispatcher.ReadControl readControl; // guarded by readLock
+    private int pausedLanes; // guarded by readLock
+
+    private final class LaneReads implements FIXDispatcher.ReadControl {
+        @Override
+        public void pauseReads() {
+            synchronized (readLock) {
+                if (pausedLanes++ == 0 && readControl != null) {
+                    readControl.pauseReads();
+                }
+            }
+        }
+
+        @Override
+        public void resumeReads() {
+            synchronized (readLock) {
+                if (--pausedLanes == 0 && readControl != null) {
+                    readControl.resumeReads();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param tags Tags whose values form the partition key
+     * @param lanes Number of lanes (0 or less for one per available processor)
+     * @param maxPendingPerLane Queued messages above which a lane counts as saturated
+     * @param name Session name, used for logging
+     */
+    public FIXKeyedDispatcher(int[] tags, int lanes, int maxPendingPerLane, String name) {
+        if (tags.length == 0) {
+            throw new IllegalArgumentException("At least one partition tag is required");
+        }
+        this.tags = tags.clone();
+        this.lanes = new FIXDispatcher[lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = new FIXDispatcher(DispatchMode.VIRTUAL_THREAD, maxPendingPerLane, name + "-lane-" + i);
+            this.lanes[i].setReadControl(laneReads);
+        }
+    }
+
+    /**
+     * Parse a comma-separated tag list such as "55,11"
+     */
+    public static int[] parseTags(String tagList) {
+        String[] parts = tagList.split(",");
+        int[] tags = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                tags[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid partition tag '" + parts[i].trim() + "' in '" + tagList + "'");
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Set what pauses the session's reads while a lane is saturated
+     */
+    public void setReadControl(FIXDispatcher.ReadControl readControl) {
+        synchronized (readLock) {
+            if (pausedLanes > 0 && this.readControl != null) {
+                this.readControl.resumeReads();
+            }
+            this.readControl = readControl;
+            if (pausedLanes > 0 && readControl != null) {
+                readControl.pauseReads();
+            }
+        }
+    }
+
+    /**
+     * Queue a task on the lane of the message's key (never blocks)
+     */
+    public void execute(FIXMessage message, Runnable task) {
+        lanes[laneOf(message)].execute(task);
+    }
+
+    /**
+     * Lane index of the message's key
+     */
+    public int laneOf(FIXMessage message) {
+        int hash = 0;
+        boolean keyed = false;
+        for (int tag : tags) {
+            String value = message.getField(tag);
+            hash = 31 * hash + (value != null ? value.hashCode() : 0);
+            keyed |= value != null;
+        }
+        if (!keyed) {
+            return 0;
+        }
+        // Spread the bits so keys differing only in their last characters still separate
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, lanes.length);
+    }
+
+    /**
+     * Number of lanes
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Get a lane, e.g. for its pending and saturation counters
+     */
+    public FIXDispatcher getLane(int index) {
+        return lanes[index];
+    }
+
+    /**
+     * Drop the tasks still queued on every lane (running ones complete) and release the read pause
+     */
+    @Override
+    public void close() {
+        // Queued tasks are dropped, so nothing reaches the listener once it has stopped
+        for (FIXDispatcher lane : lanes) {
+            lane.close();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Journaled store of sent frames keyed by MsgSeqNum, backed by memory-mapped segment files.
+ * Each record is {@code [int seqNum][int length][frame bytes]}; records are appended to the
+ * current segment and a new segment is started when one is full. Only a primitive
+ * seqNum -> (segment, offset) index lives on the heap, so resending a range of any size reads
+ * the original bytes straight out of the mapping one frame at a time.
+ * On open, existing segments are scanned to rebuild the index.
+ * Appends come from a single writer thread. Resend reads, resets and close may come from other
+ * threads and are serialised with appends on the store's monitor, which is uncontended except
+ * while a resend or reset is in progress.
+ */
+public final class FIXMappedMessageStore implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXMappedMessageStore.class);
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int RECORD_HEADER = 8;
+    private static final int INITIAL_INDEX_SIZE = 1024;
+    // 8 MB of index, about a million seqNums
+    private static final int MAX_INDEX_SIZE = 1 << 20;
+    private static final long ABSENT = -1L;
+    private static final String SEGMENT_PREFIX = "outbound-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final List<FileChannel> channels = new ArrayList<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int writeOffset;
+    private boolean closed;
+
+    private Index index = new Index(1, INITIAL_INDEX_SIZE);
+    // Highest stored seqNum; volatile so it can be read without the monitor
+    private volatile int lastSeqNum;
+
+    /**
+     * (segment << 32 | offset) of the record for seqNum base + i, ABSENT if not stored.
+     * Entries are filled in place; a grown or rebased index replaces the instance.
+     */
+    private static final class Index {
+        final int base;
+        final long[] entries;
+
+        Index(int base, int size) {
+            this.base = base;
+            this.entries = new long[size];
+            Arrays.fill(entries, ABSENT);
+        }
+    }
+
+    /**
+     * Open (or create) a store in the given directory, recovering any existing segments
+     */
+    public FIXMappedMessageStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public FIXMappedMessageStore(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+        LOGGER.info("Opened outbound message store at {} (last seqNum {})", directory, lastSeqNum);
+    }
+
+    /**
+     * Append a sent frame (single writer only)
+     *
+     * @param seqNum MsgSeqNum of the frame
+     * @param source Buffer holding the frame; its position and limit are not changed
+     */
+    public synchronized void append(int seqNum, ByteBuffer source, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Outbound message store is closed");
+        }
+        int recordLength = RECORD_HEADER + length;
+        if (recordLength > segmentSize) {
+            throw new IOException("Frame of " + length + " bytes exceeds the store segment size");
+        }
+        if (segments.isEmpty() || writeOffset + recordLength > segmentSize) {
+            openSegment(segments.size());
+        }
+        int segment = segments.size() - 1;
+        MappedByteBuffer mapped = segments.get(segment);
+        int recordOffset = writeOffset;
+        mapped.put(recordOffset + RECORD_HEADER, source, offset, length);
+        mapped.putInt(recordOffset, seqNum);
+        // Length last: a record with length 0 marks the end of the segment during recovery
+        mapped.putInt(recordOffset + 4, length);
+        writeOffset += recordLength;
+        index(seqNum, (long) segment << 32 | recordOffset);
+    }
+
+    /**
+     * Get a read-only view of a stored frame, or null if the seqNum was not stored
+     */
+    public synchronized ByteBuffer get(int seqNum) {
+        if (closed || seqNum > lastSeqNum) {
+            return null;
+        }
+        Index current = index;
+        int slot = seqNum - current.base;
+        long location = slot >= 0 && slot < current.entries.length ? current.entries[slot] : ABSENT;
+        if (location == ABSENT) {
+            return null;
+        }
+        ByteBuffer mapped = segments.get((int) (location >>> 32)).duplicate();
+        int recordOffset = (int) location;
+        int length = mapped.getInt(recordOffset + 4);
+        mapped.limit(recordOffset + RECORD_HEADER + length).position(recordOffset + RECORD_HEADER);
+        return mapped.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Get the highest stored seqNum (0 if empty)
+     */
+    public int getLastSeqNum() {
+        return lastSeqNum;
+    }
+
+    /**
+     * Drop every stored frame (sequence reset) and start a fresh first segment
+     */
+    public synchronized void reset() throws IOException {
+        closeSegments();
+        deleteSegments();
+        index = new Index(1, INITIAL_INDEX_SIZE);
+        lastSeqNum = 0;
+        LOGGER.info("Reset outbound message store at {}", directory);
+    }
+
+    /**
+     * Force stored frames to disk
+     */
+    public synchronized void sync() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        closeSegments();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = segmentFiles();
+        for (int segment = 0; segment < files.size(); segment++) {
+            openSegment(segment);
+            MappedByteBuffer mapped = segments.get(segment);
+            int offset = 0;
+            while (offset + RECORD_HEADER <= segmentSize) {
+                int seqNum = mapped.getInt(offset);
+                int length = mapped.getInt(offset + 4);
+                if (length <= 0 || offset + RECORD_HEADER + length > segmentSize) {
+                    break;
+                }
+                index(seqNum, (long) segment << 32 | offset);
+                offset += RECORD_HEADER + length;
+            }
+            writeOffset = offset;
+        }
+    }
+
+    private void openSegment(int segment) throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channels.add(channel);
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        writeOffset = 0;
+    }
+
+    /**
+     * Record the location of a seqNum, growing (or rebasing) the index as needed.
+     * The index never spans more than MAX_INDEX_SIZE seqNums: a jump is indexed from the new seqNum on, and a
+     * full index slides forward, so frames outside it are no longer resent (they are gap filled instead).
+     */
+    private void index(int seqNum, long location) {
+        Index current = index;
+        if (lastSeqNum == 0 && seqNum != current.base) {
+            // The first record decides the base, so a session starting at a high seqNum wastes no index space
+            current = new Index(seqNum, current.entries.length);
+        } else if (seqNum < current.base) {
+            long span = (long) current.entries.length + (current.base - seqNum);
+            if (span > MAX_INDEX_SIZE) {
+                current = restartIndex(seqNum);
+            } else {
+                Index rebased = new Index(seqNum, (int) span);
+                System.arraycopy(current.entries, 0, rebased.entries, current.base - seqNum, current.entries.length);
+                current = rebased;
+            }
+        }
+        int slot = seqNum - current.base;
+        if (slot >= current.entries.length) {
+            int size = current.entries.length;
+            if (slot >= size << 1) {
+                // Not contiguous (e.g. the outgoing seqNum was moved far ahead): don't allocate the span in between
+                current = restartIndex(seqNum);
+            } else if (size << 1 > MAX_INDEX_SIZE) {
+                // Keep the newest half of the seqNums, in an index of the same size
+                int base = seqNum - MAX_INDEX_SIZE / 2 + 1;
+                Index slid = new Index(base, size);
+                int shift = base - current.base;
+                if (shift < size) {
+                    System.arraycopy(current.entries, shift, slid.entries, 0, size - shift);
+                }
+                current = slid;
+            } else {
+                Index grown = new Index(current.base, size << 1);
+                System.arraycopy(current.entries, 0, grown.entries, 0, size);
+                current = grown;
+            }
+        }
+        current.entries[seqNum - current.base] = location;
+        index = current;
+        lastSeqNum = Math.max(lastSeqNum, seqNum);
+    }
+
+    private Index restartIndex(int seqNum) {
+        LOGGER.info("Outbound seqNum jumped to {}; frames stored before it in {} will be gap filled if requested",
+            seqNum, directory);
+        return new Index(seqNum, INITIAL_INDEX_SIZE);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private void deleteSegments() throws IOException {
+        for (Path file : segmentFiles()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        segments.clear();
+        for (FileChannel channel : channels) {
+            channel.close();
+        }
+        channels.clear();
+        writeOffset = 0;
+    }
+}
@@ -0,0 +1,160 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * File-backed session store: one tiny memory-mapped file per session.
+ * Both sequence numbers are packed into a single aligned long and published with one ordered
+ * (release) write, so a crash can never leave a half-written pair behind; recovery is a single
+ * read of the mapping. The mapping is forced to disk according to the sync policy; under BATCHED and
+ * INTERVAL a timer also forces whatever is still pending once per sync interval.
+ */
+public class FIXMappedSessionStore implements FIXSessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXMappedSessionStore.class);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final int FILE_SIZE = 16;
+    private static final int SEQUENCES_OFFSET = 0;
+    private static final int MAGIC_OFFSET = 8;
+    private static final long MAGIC = 0x4649585345510001L; // "FIXSEQ" v1
+    private static final String FILE_SUFFIX = ".seqnums";
+
+    private final Path directory;
+    private final SessionStoreSyncPolicy syncPolicy;
+    private final int batchSize;
+    private final long syncIntervalMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushTimer;
+
+    private final class Entry {
+        final FileChannel channel;
+        final MappedByteBuffer mapped;
+        final FIXSyncSchedule schedule = new FIXSyncSchedule(syncPolicy, batchSize, syncIntervalMillis);
+
+        Entry(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+        }
+    }
+
+    public FIXMappedSessionStore(Path directory, SessionStoreSyncPolicy syncPolicy, long syncIntervalMillis)
+            throws IOException {
+        this(directory, syncPolicy, FIXSyncSchedule.DEFAULT_BATCH_SIZE, syncIntervalMillis);
+    }
+
+    /**
+     * @param directory Directory holding one file per session
+     * @param syncPolicy When updates are forced to disk
+     * @param batchSize Updates per sync for {@link SessionStoreSyncPolicy#BATCHED}
+     * @param syncIntervalMillis Minimum time between syncs for {@link SessionStoreSyncPolicy#INTERVAL}, and
+     *                           how often pending updates are flushed for BATCHED and INTERVAL
+     */
+    public FIXMappedSessionStore(Path directory, SessionStoreSyncPolicy syncPolicy, int batchSize,
+                                 long syncIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.syncPolicy = syncPolicy;
+        this.batchSize = batchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        Files.createDirectories(directory);
+        this.flushTimer = FIXSyncSchedule.startFlushTimer(syncPolicy, syncIntervalMillis, this::sync);
+    }
+
+    @Override
+    public boolean restore(FIXSessionState state) throws IOException {
+        Entry entry = entry(state.getSessionId());
+        if ((long) LONGS.getAcquire(entry.mapped, MAGIC_OFFSET) != MAGIC) {
+            return false;
+        }
+        state.restoreSequenceNumbers((long) LONGS.getAcquire(entry.mapped, SEQUENCES_OFFSET));
+        return true;
+    }
+
+    @Override
+    public void save(FIXSessionState state) {
+        Entry entry = entries.get(state.getSessionId());
+        if (entry == null) {
+            try {
+                entry = entry(state.getSessionId());
+            } catch (IOException e) {
+                LOGGER.error("Failed to open session store for {}", state.getSessionId(), e);
+                return;
+            }
+        }
+        // Reading the state under the entry lock keeps the last write the most recent state
+        synchronized (entry) {
+            LONGS.setRelease(entry.mapped, SEQUENCES_OFFSET, state.getSequenceNumbers());
+            if ((long) LONGS.getAcquire(entry.mapped, MAGIC_OFFSET) != MAGIC) {
+                LONGS.setRelease(entry.mapped, MAGIC_OFFSET, MAGIC);
+            }
+            if (entry.schedule.onUpdate()) {
+                entry.mapped.force();
+                entry.schedule.synced();
+            }
+        }
+    }
+
+    @Override
+    public void sync() {
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                if (entry.schedule.isDirty()) {
+                    entry.mapped.force();
+                    entry.schedule.synced();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(String sessionId) throws IOException {
+        Entry entry = entries.remove(sessionId);
+        if (entry != null) {
+            entry.channel.close();
+        }
+        Files.deleteIfExists(file(sessionId));
+    }
+
+    @Override
+    public void close() throws IOException {
+        FIXSyncSchedule.stopFlushTimer(flushTimer);
+        sync();
+        for (Entry entry : entries.values()) {
+            entry.channel.close();
+        }
+        entries.clear();
+    }
+
+    private Entry entry(String sessionId) throws IOException {
+        Entry entry = entries.get(sessionId);
+        if (entry == null) {
+            synchronized (entries) {
+                entry = entries.get(sessionId);
+                if (entry == null) {
+                    entry = new Entry(file(sessionId));
+                    entries.put(sessionId, entry);
+                }
+            }
+        }
+        return entry;
+    }
+
+    private Path file(String sessionId) {
+        return directory.resolve(sessionId + FILE_SUFFIX);
+    }
+}
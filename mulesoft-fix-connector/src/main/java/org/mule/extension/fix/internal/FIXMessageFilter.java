@@ -0,0 +1,188 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the application messages a handler wants, by MsgType and field values.
+ * Can be evaluated on a zero-copy {@link FIXMessageView} straight after framing, so messages nobody consumes are
+ * never materialized. Session-level messages are never filtered.
+ *
+ * Message types: "ALL" or a comma-separated list such as "D,8,AE".
+ * Field conditions: semicolon-separated predicates that must all hold, each "tag=value" or "tag!=value", with
+ * alternatives separated by '|', e.g. "55=EUR/USD|GBP/USD;207!=XOFF".
+ */
+public final class FIXMessageFilter {
+
+    // MsgTypes the session handles itself; Reject(3) goes to the handler like application messages
+    private static final String SESSION_LEVEL_TYPES = "01245A";
+
+    private static final FIXMessageFilter ACCEPT_ALL = new FIXMessageFilter(null, new Condition[0]);
+
+    private final String[] msgTypes;
+    private final Condition[] conditions;
+
+    private FIXMessageFilter(String[] msgTypes, Condition[] conditions) {
+        this.msgTypes = msgTypes;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Build a filter from its text form
+     *
+     * @param messageTypes "ALL", a comma-separated list of MsgTypes, or null/empty for all
+     * @param fieldConditions Field predicates, or null/empty for none
+     */
+    public static FIXMessageFilter parse(String messageTypes, String fieldConditions) {
+        String[] types = null;
+        if (messageTypes != null && !messageTypes.trim().isEmpty() && !messageTypes.trim().equals("ALL")) {
+            List<String> list = new ArrayList<>();
+            for (String type : messageTypes.split(",")) {
+                if (!type.trim().isEmpty()) {
+                    list.add(type.trim());
+                }
+            }
+            types = list.toArray(new String[0]);
+        }
+        List<Condition> conditions = new ArrayList<>();
+        if (fieldConditions != null) {
+            for (String predicate : fieldConditions.split(";")) {
+                if (!predicate.trim().isEmpty()) {
+                    conditions.add(Condition.parse(predicate.trim()));
+                }
+            }
+        }
+        if (types == null && conditions.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        return new FIXMessageFilter(types, conditions.toArray(new Condition[0]));
+    }
+
+    /**
+     * Whether every application message passes
+     */
+    public boolean isAcceptAll() {
+        return msgTypes == null && conditions.length == 0;
+    }
+
+    /**
+     * Whether the framed message passes (no allocation)
+     */
+    public boolean accepts(FIXMessageView view) {
+        if (isAdmin(view)) {
+            return true;
+        }
+        if (msgTypes != null) {
+            boolean matched = false;
+            for (String type : msgTypes) {
+                if (view.fieldEquals(FIXMessage.TAG_MSG_TYPE, type)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        for (Condition condition : conditions) {
+            boolean any = false;
+            for (String value : condition.values) {
+                if (view.fieldEquals(condition.tag, value)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (any == condition.negated) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the materialized message passes
+     */
+    public boolean accepts(FIXMessage message) {
+        String msgType = message.getMsgType();
+        if (msgType == null || (msgType.length() == 1 && SESSION_LEVEL_TYPES.indexOf(msgType.charAt(0)) >= 0)) {
+            return true;
+        }
+        if (msgTypes != null) {
+            boolean matched = false;
+            for (String type : msgTypes) {
+                if (type.equals(msgType)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        for (Condition condition : conditions) {
+            String actual = message.getField(condition.tag);
+            boolean any = false;
+            for (String value : condition.values) {
+                if (value.equals(actual)) {
+                    any = true;
+                    break;
+                }
+            }
+            if (any == condition.negated) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the framed message is handled by the session itself, checked without allocating
+     */
+    static boolean isAdmin(FIXMessageView view) {
+        int index = view.indexOf(FIXMessage.TAG_MSG_TYPE);
+        if (index == -1) {
+            return true;
+        }
+        return view.getValueLength(index) == 1
+            && SESSION_LEVEL_TYPES.indexOf(view.getBuffer()[view.getValueOffset(index)]) >= 0;
+    }
+
+    private static final class Condition {
+        final int tag;
+        final boolean negated;
+        final String[] values;
+
+        private Condition(int tag, boolean negated, String[] values) {
+            this.tag = tag;
+            this.negated = negated;
+            this.values = values;
+        }
+
+        static Condition parse(String predicate) {
+            int eq = predicate.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid field condition '" + predicate + "', expected tag=value");
+            }
+            boolean negated = predicate.charAt(eq - 1) == '!';
+            String tag = predicate.substring(0, negated ? eq - 1 : eq).trim();
+            int tagNumber;
+            try {
+                tagNumber = Integer.parseInt(tag);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid tag '" + tag + "' in field condition '" + predicate + "'");
+            }
+            // Spaces around alternatives are for readability, e.g. "55=EUR/USD | GBP/USD"
+            String[] values = predicate.substring(eq + 1).split("\\|", -1);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = values[i].trim();
+                if (values[i].isEmpty()) {
+                    throw new IllegalArgumentException("Empty value in field condition '" + predicate + "'");
+                }
+            }
+            return new Condition(tagNumber, negated, values);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.mule.extension.fix.api.FIXMessage;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.extension.api.annotation.Alias;
+import org.mule.runtime.extension.api.annotation.execution.OnTerminate;
 import org.mule.runtime.extension.api.annotation.param.Connection;
 import org.mule.runtime.extension.api.annotation.param.MediaType;
 import org.mule.runtime.extension.api.annotation.param.Optional;
@@ -12,13 +13,16 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.runtime.extension.api.runtime.source.SourceResult;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.mule.runtime.extension.api.annotation.param.MediaType.APPLICATION_JSON;
 
@@ -29,9 +33,11 @@ import static org.mule.runtime.extension.api.annotation.param.MediaType.APPLICAT
 @Alias("listener")
 @DisplayName("FIX Message Listener")
 @MediaType(value = APPLICATION_JSON, strict = false)
-public class FIXMessageListener extends Source<String, Void> {
+public class FIXMessageListener extends Source<InputStream, Void> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FIXMessageListener.class);
+    private static final String JOURNAL_ID = "fixInboundJournalId";
+    private static final String JSON_WRITER = "fixJsonWriter";
 
     @Connection
     private ConnectionProvider<FIXConnection> connectionProvider;
@@ -39,37 +45,71 @@ public class FIXMessageListener extends Source<String, Void> {
     @Parameter
     @Optional(defaultValue = "ALL")
     @DisplayName("Message Type Filter")
-    @Summary("Filter messages by type (e.g., 'D', '8', 'ALL' for all messages)")
+    @Summary("Filter messages by type: one type, a comma-separated list (e.g., 'D,8') or 'ALL' for all messages")
     private String messageTypeFilter;
 
+    @Parameter
+    @Optional
+    @DisplayName("Field Filter")
+    @Summary("Only pass messages whose fields match, e.g. '55=EUR/USD|GBP/USD;207!=XOFF' (all conditions must hold, '|' separates alternatives)")
+    private String fieldFilter;
+
     @Parameter
     @Optional(defaultValue = "false")
     @DisplayName("Include Admin Messages")
     @Summary("Include administrative messages (Heartbeat, TestRequest, etc.)")
     private boolean includeAdminMessages;
 
+    @Parameter
+    @Optional
+    @DisplayName("Partition Tags")
+    @Summary("Comma-separated tags (e.g. '11' or '55,11') whose values partition application messages across parallel lanes. Order is kept per key only. If empty, messages are processed in session order")
+    private String partitionTags;
+
+    @Parameter
+    @Optional(defaultValue = "0")
+    @DisplayName("Partition Lanes")
+    @Summary("Number of parallel lanes when Partition Tags is set (0 = one per available processor)")
+    private int partitionLanes;
+
+    @Parameter
+    @Optional(defaultValue = "false")
+    @DisplayName("Use Tag Names")
+    @Summary("Key the 'fields' object by field name (e.g. 'ClOrdID') where the built-in FIX 4.4 dictionary knows the tag, instead of by tag number")
+    private boolean useTagNames;
+
     private volatile boolean started = false;
-    private FIXConnection connection;
+    private volatile FIXConnection connection;
+    private volatile FIXKeyedDispatcher lanes;
+    private volatile FIXMessageFilter filter;
+    private final Queue<FIXJsonWriter> writers = new ConcurrentLinkedQueue<>();
 
     @Override
-    public void onStart(SourceCallback<String, Void> sourceCallback) {
+    public void onStart(SourceCallback<InputStream, Void> sourceCallback) {
         LOGGER.info("Starting FIX Message Listener");
         
         try {
             connection = connectionProvider.connect();
             
+            // Pushed down to the session so unwanted messages are dropped before they are parsed into a FIXMessage
+            filter = FIXMessageFilter.parse(messageTypeFilter, fieldFilter);
+            connection.getSessionManager().setInboundFilter(filter);
+            if (partitionTags != null && !partitionTags.trim().isEmpty()) {
+                lanes = new FIXKeyedDispatcher(FIXKeyedDispatcher.parseTags(partitionTags), partitionLanes,
+                    FIXDispatcher.DEFAULT_MAX_PENDING, connection.getId());
+                // A saturated lane pauses the session's reads rather than blocking the thread that dispatches to it
+                lanes.setReadControl(connection.getSessionManager().newReadControl("partition lanes"));
+                LOGGER.info("Partitioning application messages by tags [{}] across {} lanes",
+                    partitionTags, lanes.getLaneCount());
+            }
+            
             // Register message handler
             connection.getSessionManager().setMessageHandler(new FIXSessionManager.MessageHandler() {
                 @Override
                 public void onLogon(FIXSessionState session) {
                     LOGGER.info("Session logged on: {}", session.getSessionId());
                     if (includeAdminMessages) {
-                        String message = String.format("{\"messageType\":\"LOGON\",\"sessionId\":\"%s\",\"timestamp\":%d}",
-                            session.getSessionId(), System.currentTimeMillis());
-                        
-                        sourceCallback.handle(Result.<String, Void>builder()
-                            .output(message)
-                            .build());
+                        emitSessionEvent(sourceCallback, "LOGON", session.getSessionId(), null);
                     }
                 }
 
@@ -77,51 +117,35 @@ public class FIXMessageListener extends Source<String, Void> {
                 public void onLogout(FIXSessionState session, String reason) {
                     LOGGER.info("Session logged out: {}, reason: {}", session.getSessionId(), reason);
                     if (includeAdminMessages) {
-                        String message = String.format("{\"messageType\":\"LOGOUT\",\"sessionId\":\"%s\",\"reason\":\"%s\",\"timestamp\":%d}",
-                            session.getSessionId(), reason != null ? reason : "", System.currentTimeMillis());
-                        
-                        sourceCallback.handle(Result.<String, Void>builder()
-                            .output(message)
-                            .build());
+                        emitSessionEvent(sourceCallback, "LOGOUT", session.getSessionId(), reason != null ? reason : "");
                     }
                 }
 
                 @Override
                 public void onApplicationMessage(FIXSessionState session, FIXMessage fixMessage) {
-                    String msgType = fixMessage.getMsgType();
-                    
-                    // Check if message type matches filter
-                    if (!messageTypeFilter.equals("ALL") && !messageTypeFilter.equals(msgType)) {
+                    onApplicationMessage(session, fixMessage, FIXInboundJournal.NOT_JOURNALED);
+                }
+
+                @Override
+                public boolean commitsInbound() {
+                    return true;
+                }
+
+                @Override
+                public void onApplicationMessage(FIXSessionState session, FIXMessage fixMessage, long journalId) {
+                    // Messages journaled before the filter was set can still be replayed here
+                    if (!filter.accepts(fixMessage)) {
+                        connection.commitInbound(journalId);
                         return;
                     }
                     
-                    LOGGER.debug("Received FIX message: type={}, seqNum={}", 
-                               msgType, fixMessage.getMsgSeqNum());
-                    
-                    // Convert FIX message to JSON string
-                    StringBuilder jsonBuilder = new StringBuilder("{");
-                    jsonBuilder.append("\"messageType\":\"").append(msgType).append("\",");
-                    jsonBuilder.append("\"seqNum\":").append(fixMessage.getMsgSeqNum()).append(",");
-                    jsonBuilder.append("\"senderCompId\":\"").append(fixMessage.getField(FIXMessage.TAG_SENDER_COMP_ID)).append("\",");
-                    jsonBuilder.append("\"targetCompId\":\"").append(fixMessage.getField(FIXMessage.TAG_TARGET_COMP_ID)).append("\",");
-                    jsonBuilder.append("\"sendingTime\":\"").append(fixMessage.getField(FIXMessage.TAG_SENDING_TIME)).append("\",");
-                    
-                    // Add all fields
-                    jsonBuilder.append("\"fields\":{");
-                    boolean first = true;
-                    for (Map.Entry<Integer, String> entry : fixMessage.getFields().entrySet()) {
-                        if (!first) jsonBuilder.append(",");
-                        jsonBuilder.append("\"").append(entry.getKey()).append("\":\"").append(entry.getValue()).append("\"");
-                        first = false;
+                    // Messages of different keys may run in parallel; the journal accepts out-of-order commits
+                    FIXKeyedDispatcher current = lanes;
+                    if (current != null) {
+                        current.execute(fixMessage, () -> handleApplicationMessage(sourceCallback, fixMessage, journalId));
+                    } else {
+                        handleApplicationMessage(sourceCallback, fixMessage, journalId);
                     }
-                    jsonBuilder.append("},");
-                    jsonBuilder.append("\"timestamp\":").append(System.currentTimeMillis());
-                    jsonBuilder.append("}");
-                    
-                    // Trigger flow
-                    sourceCallback.handle(Result.<String, Void>builder()
-                            .output(jsonBuilder.toString())
-                            .build());
                 }
             });
             
@@ -134,11 +158,73 @@ public class FIXMessageListener extends Source<String, Void> {
         }
     }
 
+    /**
+     * Convert an application message to JSON and trigger the flow
+     */
+    private void handleApplicationMessage(SourceCallback<InputStream, Void> sourceCallback, FIXMessage fixMessage,
+                                          long journalId) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Received FIX message: type={}, seqNum={}", 
+                       fixMessage.getMsgType(), fixMessage.getMsgSeqNum());
+        }
+        
+        // The payload streams from the writer's buffer; the writer is pooled again when the flow terminates
+        FIXJsonWriter writer = acquireWriter();
+        InputStream json = writer.write(fixMessage, System.currentTimeMillis());
+        
+        // Trigger flow; the journal entry is committed when the flow terminates
+        SourceCallbackContext context = sourceCallback.createContext();
+        context.addVariable(JOURNAL_ID, journalId);
+        context.addVariable(JSON_WRITER, writer);
+        sourceCallback.handle(Result.<InputStream, Void>builder()
+                .output(json)
+                .length(writer.getLength())
+                .build(), context);
+    }
+
+    private void emitSessionEvent(SourceCallback<InputStream, Void> sourceCallback, String messageType,
+                                  String sessionId, String reason) {
+        FIXJsonWriter writer = acquireWriter();
+        InputStream json = writer.writeSessionEvent(messageType, sessionId, reason, System.currentTimeMillis());
+        SourceCallbackContext context = sourceCallback.createContext();
+        context.addVariable(JSON_WRITER, writer);
+        sourceCallback.handle(Result.<InputStream, Void>builder()
+            .output(json)
+            .length(writer.getLength())
+            .build(), context);
+    }
+
+    /**
+     * Writers keep their buffer between messages; one per flow in progress ends up pooled
+     */
+    private FIXJsonWriter acquireWriter() {
+        FIXJsonWriter writer = writers.poll();
+        return writer != null ? writer : new FIXJsonWriter(useTagNames);
+    }
+
+    /**
+     * Commit the inbound journal entry of a message once its flow has finished (successfully or not), and
+     * pool the writer whose buffer held its payload
+     */
+    @OnTerminate
+    public void onTerminate(SourceResult result) {
+        FIXConnection current = connection;
+        if (current != null) {
+            result.getSourceCallbackContext().<Long>getVariable(JOURNAL_ID).ifPresent(current::commitInbound);
+        }
+        result.getSourceCallbackContext().<FIXJsonWriter>getVariable(JSON_WRITER).ifPresent(writers::offer);
+    }
+
     @Override
     public void onStop() {
         LOGGER.info("Stopping FIX Message Listener");
         started = false;
         
+        if (lanes != null) {
+            lanes.close();
+            lanes = null;
+        }
+        
         if (connection != null) {
             try {
                 connectionProvider.disconnect(connection);
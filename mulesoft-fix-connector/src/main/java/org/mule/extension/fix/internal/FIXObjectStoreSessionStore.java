@@ -0,0 +1,156 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Session store backed by a persistent Mule ObjectStore.
+ * ObjectStore writes are comparatively slow, so the latest sequence numbers are kept in memory
+ * and only written through when the sync policy says so, by a timer once per sync interval for
+ * BATCHED and INTERVAL, and on close.
+ * <p>
+ * An ObjectStore cannot overwrite a key, and replacing a value takes a remove and a store. Each write
+ * therefore goes to the one of two alternating keys that holds the older value, as
+ * {@code [generation, sequences]}. A crash between the remove and the store loses at most that
+ * write; the other key still holds the previous state. Restore takes the higher generation.
+ */
+public class FIXObjectStoreSessionStore implements FIXSessionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXObjectStoreSessionStore.class);
+
+    private static final int GENERATION = 0;
+    private static final int SEQUENCES = 1;
+
+    private final ObjectStore<long[]> objectStore;
+    private final SessionStoreSyncPolicy syncPolicy;
+    private final int batchSize;
+    private final long syncIntervalMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushTimer;
+
+    private final class Entry {
+        long sequences;
+        // Generation of the last value written; the next write goes to key (generation + 1) & 1
+        long generation;
+        final FIXSyncSchedule schedule = new FIXSyncSchedule(syncPolicy, batchSize, syncIntervalMillis);
+    }
+
+    public FIXObjectStoreSessionStore(ObjectStore<long[]> objectStore, SessionStoreSyncPolicy syncPolicy,
+                                      long syncIntervalMillis) {
+        this(objectStore, syncPolicy, FIXSyncSchedule.DEFAULT_BATCH_SIZE, syncIntervalMillis);
+    }
+
+    /**
+     * @param batchSize Updates per write for {@link SessionStoreSyncPolicy#BATCHED}
+     * @param syncIntervalMillis Minimum time between writes for {@link SessionStoreSyncPolicy#INTERVAL}, and
+     *                           how often pending updates are written for BATCHED and INTERVAL
+     */
+    public FIXObjectStoreSessionStore(ObjectStore<long[]> objectStore, SessionStoreSyncPolicy syncPolicy,
+                                      int batchSize, long syncIntervalMillis) {
+        this.objectStore = objectStore;
+        this.syncPolicy = syncPolicy;
+        this.batchSize = batchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.flushTimer = FIXSyncSchedule.startFlushTimer(syncPolicy, syncIntervalMillis, this::sync);
+    }
+
+    @Override
+    public boolean restore(FIXSessionState state) throws IOException {
+        String sessionId = state.getSessionId();
+        try {
+            long[] latest = null;
+            for (int slot = 0; slot < 2; slot++) {
+                String key = key(sessionId, slot);
+                if (objectStore.contains(key)) {
+                    long[] value = objectStore.retrieve(key);
+                    if (latest == null || value[GENERATION] > latest[GENERATION]) {
+                        latest = value;
+                    }
+                }
+            }
+            if (latest == null) {
+                return false;
+            }
+            state.restoreSequenceNumbers(latest[SEQUENCES]);
+            Entry entry = entries.computeIfAbsent(sessionId, key -> new Entry());
+            synchronized (entry) {
+                entry.generation = Math.max(entry.generation, latest[GENERATION]);
+            }
+            return true;
+        } catch (ObjectStoreException e) {
+            throw new IOException("Failed to restore session " + sessionId, e);
+        }
+    }
+
+    @Override
+    public void save(FIXSessionState state) {
+        Entry entry = entries.computeIfAbsent(state.getSessionId(), key -> new Entry());
+        synchronized (entry) {
+            entry.sequences = state.getSequenceNumbers();
+            if (entry.schedule.onUpdate()) {
+                write(state.getSessionId(), entry);
+            }
+        }
+    }
+
+    @Override
+    public void sync() {
+        entries.forEach((sessionId, entry) -> {
+            synchronized (entry) {
+                if (entry.schedule.isDirty()) {
+                    write(sessionId, entry);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void remove(String sessionId) throws IOException {
+        entries.remove(sessionId);
+        try {
+            for (int slot = 0; slot < 2; slot++) {
+                String key = key(sessionId, slot);
+                if (objectStore.contains(key)) {
+                    objectStore.remove(key);
+                }
+            }
+        } catch (ObjectStoreException e) {
+            throw new IOException("Failed to remove session " + sessionId, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        FIXSyncSchedule.stopFlushTimer(flushTimer);
+        sync();
+        entries.clear();
+    }
+
+    private void write(String sessionId, Entry entry) {
+        long generation = entry.generation + 1;
+        String key = key(sessionId, (int) (generation & 1));
+        try {
+            // Replaces the older of the two values; the newer one stays intact until this write completes
+            if (objectStore.contains(key)) {
+                objectStore.remove(key);
+            }
+            objectStore.store(key, new long[] {generation, entry.sequences});
+            entry.generation = generation;
+            entry.schedule.synced();
+        } catch (ObjectStoreException e) {
+            LOGGER.error("Failed to persist sequence numbers for {}", sessionId, e);
+        }
+    }
+
+    private static String key(String sessionId, int slot) {
+        return sessionId + "#" + slot;
+    }
+}
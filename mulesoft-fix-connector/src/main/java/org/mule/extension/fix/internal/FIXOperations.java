@@ -72,34 +72,44 @@ public class FIXOperations {
             }
             
             // Build message
-            FIXMessageBuilder builder = new FIXMessageBuilder(msgType)
-                .withHeader(state.getNextOutgoingSeqNum());
-            
-            // Add custom fields (expecting JSON or comma-separated format)
-            if (fields != null && !fields.isEmpty()) {
-                // Simple parsing - expecting format like: "11=ORDER123,55=AAPL,54=1"
-                String[] fieldPairs = fields.split(",");
-                for (String pair : fieldPairs) {
-                    String[] parts = pair.split("=");
-                    if (parts.length == 2) {
-                        try {
-                            int tag = Integer.parseInt(parts[0].trim());
-                            builder.withField(tag, parts[1].trim());
-                        } catch (NumberFormatException e) {
-                            LOGGER.warn("Invalid tag number: {}", parts[0]);
+            // MsgSeqNum and SendingTime are assigned by the session when the message is written
+            FIXMessage message = connection.getMessagePool().acquire(msgType);
+            // Until sendMessage takes it, the pooled message is ours to release, whatever fails while parsing
+            boolean handedOff = false;
+            int seqNum;
+            try {
+                FIXMessageBuilder builder = new FIXMessageBuilder(message);
+                
+                // Add custom fields (expecting JSON or comma-separated format)
+                if (fields != null && !fields.isEmpty()) {
+                    // Simple parsing - expecting format like: "11=ORDER123,55=AAPL,54=1"
+                    String[] fieldPairs = fields.split(",");
+                    for (String pair : fieldPairs) {
+                        String[] parts = pair.split("=");
+                        if (parts.length == 2) {
+                            try {
+                                int tag = Integer.parseInt(parts[0].trim());
+                                builder.withField(tag, parts[1].trim());
+                            } catch (NumberFormatException e) {
+                                LOGGER.warn("Invalid tag number: {}", parts[0]);
+                            }
                         }
                     }
                 }
+                
+                handedOff = true;
+                seqNum = connection.sendMessage(builder.build());
+            } finally {
+                if (!handedOff) {
+                    message.release();
+                }
             }
             
-            FIXMessage message = builder.build();
-            connection.sendMessage(message);
-            
             result.put("success", true);
             result.put("msgType", msgType);
-            result.put("seqNum", state.getCurrentOutgoingSeqNum());
+            result.put("seqNum", seqNum);
             
-            LOGGER.info("Sent FIX message: type={}, seqNum={}", msgType, state.getCurrentOutgoingSeqNum());
+            LOGGER.info("Sent FIX message: type={}, seqNum={}", msgType, seqNum);
             
         } catch (IOException e) {
             LOGGER.error("Failed to send FIX message", e);
@@ -134,17 +144,18 @@ public class FIXOperations {
                 return mapToJson(result);
             }
             
-            FIXMessageBuilder builder = FIXMessageBuilder.heartbeat(state.getNextOutgoingSeqNum());
+            FIXMessageBuilder builder = new FIXMessageBuilder(
+                connection.getMessagePool().acquire(FIXMessage.MSG_TYPE_HEARTBEAT));
             
             if (testReqId != null && !testReqId.isEmpty()) {
                 builder.withField(FIXMessage.TAG_TEST_REQ_ID, testReqId);
             }
             
-            connection.sendMessage(builder.build());
+            int seqNum = connection.sendMessage(builder.build());
             
             result.put("success", true);
             result.put("msgType", FIXMessage.MSG_TYPE_HEARTBEAT);
-            result.put("seqNum", state.getCurrentOutgoingSeqNum());
+            result.put("seqNum", seqNum);
             
             LOGGER.info("Sent Heartbeat message");
             
@@ -181,16 +192,17 @@ public class FIXOperations {
                 return mapToJson(result);
             }
             
-            FIXMessage message = FIXMessageBuilder
-                .testRequest(state.getNextOutgoingSeqNum(), testReqId)
+            FIXMessage message = new FIXMessageBuilder(
+                    connection.getMessagePool().acquire(FIXMessage.MSG_TYPE_TEST_REQUEST))
+                .withField(FIXMessage.TAG_TEST_REQ_ID, testReqId)
                 .build();
             
-            connection.sendMessage(message);
+            int seqNum = connection.sendMessage(message);
             
             result.put("success", true);
             result.put("msgType", FIXMessage.MSG_TYPE_TEST_REQUEST);
             result.put("testReqId", testReqId);
-            result.put("seqNum", state.getCurrentOutgoingSeqNum());
+            result.put("seqNum", seqNum);
             
             LOGGER.info("Sent Test Request: {}", testReqId);
             
@@ -229,17 +241,19 @@ public class FIXOperations {
                 return mapToJson(result);
             }
             
-            FIXMessage message = FIXMessageBuilder
-                .resendRequest(state.getNextOutgoingSeqNum(), beginSeqNo, endSeqNo)
+            FIXMessage message = new FIXMessageBuilder(
+                    connection.getMessagePool().acquire(FIXMessage.MSG_TYPE_RESEND_REQUEST))
+                .withField(FIXMessage.TAG_BEGIN_SEQ_NO, beginSeqNo)
+                .withField(FIXMessage.TAG_END_SEQ_NO, endSeqNo)
                 .build();
             
-            connection.sendMessage(message);
+            int seqNum = connection.sendMessage(message);
             
             result.put("success", true);
             result.put("msgType", FIXMessage.MSG_TYPE_RESEND_REQUEST);
             result.put("beginSeqNo", beginSeqNo);
             result.put("endSeqNo", endSeqNo);
-            result.put("seqNum", state.getCurrentOutgoingSeqNum());
+            result.put("seqNum", seqNum);
             
             LOGGER.info("Sent Resend Request: {} to {}", beginSeqNo, endSeqNo);
             
@@ -288,6 +302,20 @@ public class FIXOperations {
         return mapToJson(result);
     }
 
+    /**
+     * Get hot-path metrics of the session: message and byte counts by MsgType, parse / encode / dispatch
+     * latency percentiles, heartbeat lateness, queue depths and gap recovery counts
+     * 
+     * @param connection The FIX connection
+     * @return Metrics as JSON; counters are cumulative since the connection was created
+     */
+    @MediaType(value = APPLICATION_JSON, strict = false)
+    @DisplayName("Get Session Metrics")
+    @Summary("Retrieve message counters, latency histograms and queue depths of the FIX session")
+    public String getSessionMetrics(@Connection FIXConnection connection) {
+        return connection.getSessionManager().getMetrics().toJson();
+    }
+
     /**
      * Reset sequence numbers
      * 
@@ -307,8 +335,14 @@ public class FIXOperations {
             return mapToJson(result);
         }
         
-        state.resetSequenceNumbers();
-        connection.getSessionManager().getStateManager().saveSession(state);
+        try {
+            connection.getSessionManager().resetSequenceNumbers(state);
+        } catch (IOException e) {
+            LOGGER.error("Failed to reset sequence numbers", e);
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            return mapToJson(result);
+        }
         
         result.put("success", true);
         result.put("message", "Sequence numbers reset to 1");
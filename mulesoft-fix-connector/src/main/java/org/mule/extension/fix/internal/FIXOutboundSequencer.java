@@ -0,0 +1,397 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.OutboundFlushMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-producer, single-writer outbound pipeline over a preallocated ring of slots.
+ * Producers claim a ring position with a single atomic increment, publish their message into
+ * the slot and park until it has been written. A dedicated writer thread drains published
+ * slots strictly in position order, lets the {@link Writer} assign MsgSeqNum(34) and encode
+ * each message into the slot's own frame buffer, and hands the whole batch to one gathering
+ * write. Wire order therefore always matches sequence order, producers never block on a
+ * monitor, and a burst of N sends costs one syscall instead of N. State the writer reads while
+ * encoding (such as the outgoing sequence) is changed through {@link #execute(Runnable)}, which
+ * runs on the writer thread between frames.
+ */
+public final class FIXOutboundSequencer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXOutboundSequencer.class);
+
+    private static final int INITIAL_FRAME_SIZE = 512;
+    private static final int MAX_BATCH = 64;
+    // THROUGHPUT mode: how long the writer lingers for in-flight senders before writing
+    private static final long LINGER_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int WRITER_SPINS = 200;
+    private static final int SPINS_BEFORE_YIELD = 100;
+    private static final int YIELDS_BEFORE_PARK = 10;
+    private static final long PARK_NANOS = 20_000;
+    // Producers are unparked by the writer; the timeout only bounds a missed wake-up
+    private static final long WAITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Encoder and transport, only ever called from the writer thread
+     */
+    public interface Writer {
+
+        /**
+         * Assign a sequence number (if requested) and encode one message into the frame.
+         * The buffer obtained from {@link Frame#claim(int)} must be left positioned after the last byte.
+         *
+         * @return Sequence number the message is sent with
+         */
+        int encode(FIXMessage message, boolean assignSeqNum, Frame frame);
+
+        /**
+         * Write every remaining byte of frames [0, count) to the transport
+         */
+        void write(ByteBuffer[] frames, int count) throws IOException;
+    }
+
+    /**
+     * Reusable per-slot frame buffer
+     */
+    public static final class Frame {
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_FRAME_SIZE);
+
+        /**
+         * Get this frame's buffer, cleared and with room for at least the given number of bytes
+         */
+        public ByteBuffer claim(int length) {
+            if (buffer.capacity() < length) {
+                buffer = ByteBuffer.allocateDirect(Math.max(length, buffer.capacity() << 1));
+            }
+            buffer.clear();
+            return buffer;
+        }
+    }
+
+    private static final class Slot {
+        // Position this slot may next be claimed for, published at, and completed at
+        volatile long available;
+        volatile long published = -1;
+        volatile long completed = -1;
+
+        final Frame frame = new Frame();
+        FIXMessage message;
+        // Set instead of a message for a slot published by execute()
+        Runnable action;
+        boolean assignSeqNum;
+        Thread waiter;
+        int seqNum;
+        IOException error;
+    }
+
+    private final Writer writer;
+    private final OutboundFlushMode flushMode;
+    private final Slot[] slots;
+    private final int mask;
+    private final ByteBuffer[] batch = new ByteBuffer[MAX_BATCH];
+    private final AtomicLong claimed = new AtomicLong();
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+    private volatile boolean writerExited;
+    // Next position to drain; only advanced by the writer thread
+    private volatile long consumed;
+    private volatile long writes;
+    private volatile long framesWritten;
+
+    /**
+     * @param capacity Ring size, rounded up to a power of two
+     * @param flushMode When the writer flushes a batch
+     * @param writer Encoder/transport invoked on the writer thread
+     * @param name Writer thread name
+     */
+    public FIXOutboundSequencer(int capacity, OutboundFlushMode flushMode, Writer writer, String name) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.writer = writer;
+        this.flushMode = flushMode;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            slots[i].available = i;
+        }
+        this.writerThread = new Thread(this::runWriter, name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Publish a message and wait until it has been written.
+     * Ownership of pooled messages passes to the sequencer; they are released once encoded.
+     *
+     * @param message Message to send
+     * @param assignSeqNum Whether the message consumes the next outgoing sequence number
+     *                     (false for messages that already carry one, e.g. gap fills)
+     * @return Sequence number the message was sent with
+     * @throws IOException if the message could not be encoded or written, or the sequencer is closed
+     */
+    public int send(FIXMessage message, boolean assignSeqNum) throws IOException {
+        return publish(message, assignSeqNum, null);
+    }
+
+    /**
+     * Run an action on the writer thread and wait for it. Every message published before the action has
+     * been written when it runs, and every message published after it is encoded after it.
+     *
+     * @throws IOException if the action failed or the sequencer is closed
+     */
+    public void execute(Runnable action) throws IOException {
+        publish(null, false, action);
+    }
+
+    private int publish(FIXMessage message, boolean assignSeqNum, Runnable action) throws IOException {
+        if (!running) {
+            release(message);
+            throw new IOException("FIX outbound writer is closed");
+        }
+        long position = claimed.getAndIncrement();
+        Slot slot = slots[(int) (position & mask)];
+
+        // Ring full: wait until the previous lap's producer has collected its result
+        for (int idle = 0; slot.available != position; idle++) {
+            if (writerExited) {
+                release(message);
+                throw new IOException("FIX outbound writer is closed");
+            }
+            backOff(idle);
+        }
+        slot.message = message;
+        slot.action = action;
+        slot.assignSeqNum = assignSeqNum;
+        slot.waiter = Thread.currentThread();
+        slot.error = null;
+        slot.published = position;
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+
+        for (int idle = 0; slot.completed != position; idle++) {
+            if (writerExited && slot.completed != position) {
+                // Nobody will drain this slot any more
+                failUnwritten(slot, position);
+                break;
+            }
+            if (idle < SPINS_BEFORE_YIELD) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, WAITER_PARK_NANOS);
+            }
+        }
+        int seqNum = slot.seqNum;
+        IOException error = slot.error;
+        slot.message = null;
+        slot.action = null;
+        slot.waiter = null;
+        slot.available = position + slots.length;
+
+        if (error != null) {
+            throw error;
+        }
+        return seqNum;
+    }
+
+    /**
+     * Stop the writer thread once everything already published has been written
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of messages claimed but not yet written
+     */
+    public int pending() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    /**
+     * Number of gathering writes issued so far
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * Number of frames written so far
+     */
+    public long getFramesWritten() {
+        return framesWritten;
+    }
+
+    private void runWriter() {
+        LOGGER.debug("FIX outbound writer started ({} mode)", flushMode);
+        try {
+            while (running || isPublished(consumed)) {
+                if (!writeBatch()) {
+                    idle();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("FIX outbound writer failed", e);
+        } finally {
+            running = false;
+            writerExited = true;
+            // Wake producers still waiting on slots that will never be drained
+            for (Slot slot : slots) {
+                Thread waiter = slot.waiter;
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+            }
+            LOGGER.debug("FIX outbound writer stopped");
+        }
+    }
+
+    /**
+     * Encode every ready frame (up to MAX_BATCH) and write them with one gathering write
+     *
+     * @return Whether anything was drained
+     */
+    private boolean writeBatch() {
+        long from = consumed;
+        long next = from;
+        int count = 0;
+        long lingerDeadline = 0;
+        while (count < MAX_BATCH) {
+            if (isPublished(next)) {
+                Slot slot = slots[(int) (next & mask)];
+                if (slot.action != null) {
+                    // Frames before an action are written first; the action runs alone as its own batch
+                    if (next == from) {
+                        run(slot);
+                        next++;
+                    }
+                    break;
+                }
+                if (encode(slot)) {
+                    batch[count++] = slot.frame.buffer;
+                }
+                next++;
+            } else if (flushMode == OutboundFlushMode.THROUGHPUT && next > from && claimed.get() > next) {
+                // Another sender has claimed a slot and is about to publish: give it a moment to join
+                long now = System.nanoTime();
+                if (lingerDeadline == 0) {
+                    lingerDeadline = now + LINGER_NANOS;
+                } else if (now - lingerDeadline > 0) {
+                    break;
+                }
+                Thread.onSpinWait();
+            } else {
+                break;
+            }
+        }
+        if (next == from) {
+            return false;
+        }
+
+        IOException failure = null;
+        if (count > 0) {
+            try {
+                writer.write(batch, count);
+                writes++;
+                framesWritten += count;
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                // e.g. the session store failing after the write; every slot of the batch must still complete
+                failure = new IOException("Failed to write FIX messages", e);
+            }
+        }
+        for (long position = from; position < next; position++) {
+            Slot slot = slots[(int) (position & mask)];
+            if (failure != null && slot.error == null) {
+                slot.error = failure;
+            }
+            Thread waiter = slot.waiter;
+            slot.completed = position;
+            LockSupport.unpark(waiter);
+        }
+        consumed = next;
+        return true;
+    }
+
+    /**
+     * Encode one slot into its frame; failures are recorded on the slot
+     */
+    private boolean encode(Slot slot) {
+        boolean encoded = false;
+        try {
+            slot.seqNum = writer.encode(slot.message, slot.assignSeqNum, slot.frame);
+            slot.frame.buffer.flip();
+            encoded = true;
+        } catch (RuntimeException e) {
+            slot.error = new IOException("Failed to encode FIX message", e);
+        }
+        slot.message.release();
+        // Released exactly once, even if the slot is later failed by its waiter
+        slot.message = null;
+        return encoded;
+    }
+
+    private static void run(Slot slot) {
+        try {
+            slot.action.run();
+        } catch (RuntimeException e) {
+            slot.error = new IOException("FIX outbound writer action failed", e);
+        }
+    }
+
+    private void failUnwritten(Slot slot, long position) {
+        release(slot.message);
+        slot.error = new IOException("FIX outbound writer is closed");
+        slot.completed = position;
+    }
+
+    private static void release(FIXMessage message) {
+        if (message != null) {
+            message.release();
+        }
+    }
+
+    private void idle() {
+        for (int i = 0; i < WRITER_SPINS; i++) {
+            if (isPublished(consumed) || !running) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        writerParked = true;
+        // Re-check after announcing the park so a concurrent publish cannot be missed
+        if (running && !isPublished(consumed)) {
+            LockSupport.park(this);
+        }
+        writerParked = false;
+    }
+
+    private boolean isPublished(long position) {
+        return slots[(int) (position & mask)].published == position;
+    }
+
+    private static void backOff(int idle) {
+        if (idle < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS_BEFORE_YIELD + YIELDS_BEFORE_PARK) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
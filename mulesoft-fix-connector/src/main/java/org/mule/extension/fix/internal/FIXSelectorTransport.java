@@ -0,0 +1,137 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Non-blocking socket driven by a shared {@link FIXEventLoopGroup}, so many sessions share a few I/O threads.
+ * Reads and frame decoding happen on the channel's event loop. Writes are issued by the caller (the session's
+ * outbound writer) directly; when the socket buffer is full the writer backs off briefly instead of waiting for
+ * OP_WRITE, which keeps the event loop free of any session's back-pressure.
+ */
+public final class FIXSelectorTransport implements FIXTransport, FIXEventLoopGroup.Handler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXSelectorTransport.class);
+
+    // Upper bound on reads per readiness event so one busy session cannot starve the rest of the loop
+    private static final int MAX_READS_PER_EVENT = 16;
+    private static final long WRITE_BACKOFF_NANOS = 50_000;
+
+    private final FIXEventLoopGroup group;
+    private final FIXFrameDecoder decoder = new FIXFrameDecoder();
+    private SocketChannel channel;
+    private Listener listener;
+    private FIXFrameDecoder.FrameHandler frameHandler;
+    private FIXEventLoopGroup.Registration registration;
+    private volatile boolean closed;
+
+    public FIXSelectorTransport(FIXEventLoopGroup group) {
+        this.group = group;
+    }
+
+    @Override
+    public void connect(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.configureBlocking(false);
+    }
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+        this.frameHandler = listener::onFrame;
+        this.registration = group.register(channel, this);
+    }
+
+    @Override
+    public void onReadable(SelectionKey key) {
+        IOException failure = null;
+        boolean endOfStream = false;
+        try {
+            for (int i = 0; i < MAX_READS_PER_EVENT; i++) {
+                int bytesRead = decoder.readFrom(channel);
+                if (bytesRead == -1) {
+                    endOfStream = true;
+                    break;
+                }
+                if (bytesRead == 0) {
+                    break;
+                }
+                int frames = decoder.decode(frameHandler);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Read {} bytes from socket, decoded {} frames, {} bytes pending",
+                        bytesRead, frames, decoder.pendingBytes());
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            // The same bytes would fail on every later read; drop the connection instead
+            LOGGER.error("Unexpected failure reading FIX frames", e);
+            failure = new IOException("Unexpected failure reading FIX frames", e);
+        } finally {
+            // Once per event rather than per read, so the frames of every read share one acknowledgement
+            listener.onBatchEnd();
+        }
+        if (endOfStream || failure != null) {
+            registration.cancel();
+            if (!closed) {
+                listener.onDisconnected(failure);
+            }
+        }
+    }
+
+    @Override
+    public void write(ByteBuffer[] frames, int count) throws IOException {
+        int first = 0;
+        while (first < count) {
+            if (channel.write(frames, first, count - first) == 0) {
+                if (closed) {
+                    throw new IOException("Transport closed");
+                }
+                LockSupport.parkNanos(WRITE_BACKOFF_NANOS);
+            }
+            while (first < count && !frames[first].hasRemaining()) {
+                first++;
+            }
+        }
+    }
+
+    @Override
+    public void pauseReads() {
+        if (registration != null) {
+            registration.setReading(false);
+        }
+    }
+
+    @Override
+    public void resumeReads() {
+        if (registration != null) {
+            registration.setReading(true);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel != null && channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (registration != null) {
+            registration.cancel();
+        }
+        if (channel != null && channel.isOpen()) {
+            channel.close();
+        }
+    }
+}
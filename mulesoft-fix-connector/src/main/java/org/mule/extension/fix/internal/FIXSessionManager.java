@@ -5,11 +5,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Socket;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Core FIX session manager that handles protocol logic, message routing, and session lifecycle.
@@ -22,25 +25,130 @@ import java.util.concurrent.*;
 public class FIXSessionManager {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(FIXSessionManager.class);
+    private static final int MESSAGE_POOL_SIZE = 64;
+    private static final int SEQUENCER_CAPACITY = 1024;
     
     private final FIXSessionStateManager stateManager;
     private final String beginString;
-    private Socket socket;
-    private OutputStream outputStream;
-    private InputStream inputStream;
+    private final boolean validateChecksum;
+    private final FIXTimestampEncoder timestamps;
+    private volatile FIXTransport transport;
+    private FIXEventLoopGroup eventLoopGroup;
     private volatile boolean running;
     
+    // Reused by the reader thread for every inbound frame, and for frames read back for resends
+    private final FIXMessageView inboundView = new FIXMessageView();
+    private final FIXMessageView resendView = new FIXMessageView();
+    
+    // Sent frames by MsgSeqNum, used to answer ResendRequests (optional)
+    private volatile FIXMappedMessageStore messageStore;
+    
+    // Received application frames are journaled before dispatch when a journal is set
+    private volatile FIXInboundJournal inboundJournal;
+    // Orders journal appends with handler registration, so replay and live dispatch never interleave
+    private final Object dispatchLock = new Object();
+    private volatile FIXSessionState activeSession;
+    
+    // Limits of the out-of-order buffer created for each connection
+    private int gapBufferMaxMessages = FIXGapBuffer.DEFAULT_MAX_MESSAGES;
+    private long gapBufferMaxBytes = FIXGapBuffer.DEFAULT_MAX_BYTES;
+    private GapOverflowPolicy gapOverflowPolicy = GapOverflowPolicy.SPILL;
+    private Path gapSpillDirectory;
+    
+    // Whether Logon asks the counterparty to restart both sequences at 1 instead of resuming them
+    private volatile boolean resetSequenceOnLogon;
+    
+    // Reusable messages for admin traffic and operations; sendMessage releases them after encoding
+    private final FIXMessagePool messagePool = new FIXMessagePool(MESSAGE_POOL_SIZE);
+    
+    // Outbound path: producers publish to the sequencer; the encoder is only used on its writer thread
+    private final OutboundFlushMode flushMode;
+    private FIXOutboundSequencer sequencer;
+    private FIXMessageEncoder encoder;
+    
     // Background tasks
-    private ScheduledExecutorService heartbeatScheduler;
-    private ExecutorService messageProcessorExecutor;
+    private FIXSessionTimers sessionTimers;
+    private FIXTimerWheel timerWheel;
     
     // Message handlers
     private MessageHandler messageHandler;
+    // Dispatch stages (the dispatcher, listener lanes) that currently hold the session's reads paused
+    private final Object readPauseLock = new Object();
+    private int readPauses;
+    private final FIXDispatcher.ReadControl dispatchReads = newReadControl("dispatch");
+    // Runs handler callbacks off the reader thread in arrival order; null calls them inline
+    private volatile FIXDispatcher dispatcher;
+    // Application messages the handler does not want; applied before they are materialized
+    private volatile FIXMessageFilter inboundFilter;
+    private final LongAdder filteredMessages = new LongAdder();
+    
+    // Raw frames in both directions, formatted off the hot path (optional)
+    private volatile FIXWireLog wireLog;
+    // Raw frames in both directions, appended to binary capture files (optional)
+    private volatile FIXWireCapture wireCapture;
+    
+    // Counters and latency histograms of the hot paths, read over JMX and by the getSessionMetrics operation
+    private final FIXSessionMetrics metrics;
     
     public FIXSessionManager(String beginString) {
+        this(beginString, true);
+    }
+    
+    /**
+     * @param beginString FIX version used on outgoing messages
+     * @param validateChecksum Whether inbound CheckSum(10) is verified; when false the byte sum is skipped
+     */
+    public FIXSessionManager(String beginString, boolean validateChecksum) {
+        this(beginString, validateChecksum, TimestampPrecision.MILLIS);
+    }
+    
+    /**
+     * @param beginString FIX version used on outgoing messages
+     * @param validateChecksum Whether inbound CheckSum(10) is verified; when false the byte sum is skipped
+     * @param timestampPrecision Fractional-second precision of outgoing SendingTime(52)
+     */
+    public FIXSessionManager(String beginString, boolean validateChecksum, TimestampPrecision timestampPrecision) {
+        this(beginString, validateChecksum, timestampPrecision, OutboundFlushMode.LATENCY);
+    }
+    
+    /**
+     * @param beginString FIX version used on outgoing messages
+     * @param validateChecksum Whether inbound CheckSum(10) is verified; when false the byte sum is skipped
+     * @param timestampPrecision Fractional-second precision of outgoing SendingTime(52)
+     * @param flushMode When the outbound writer thread writes a batch to the socket
+     */
+    public FIXSessionManager(String beginString, boolean validateChecksum, TimestampPrecision timestampPrecision,
+                             OutboundFlushMode flushMode) {
         this.beginString = beginString;
+        this.flushMode = flushMode;
+        this.validateChecksum = validateChecksum;
+        this.timestamps = new FIXTimestampEncoder(timestampPrecision);
         this.stateManager = new FIXSessionStateManager();
         this.running = false;
+        this.metrics = new FIXSessionMetrics(new FIXSessionMetrics.Gauges() {
+            @Override
+            public int sendQueueDepth() {
+                FIXOutboundSequencer current = sequencer;
+                return current != null ? current.pending() : 0;
+            }
+            
+            @Override
+            public int dispatchPending() {
+                FIXDispatcher current = dispatcher;
+                return current != null ? current.getPending() : 0;
+            }
+            
+            @Override
+            public int gapBufferDepth() {
+                FIXSessionState session = activeSession;
+                return session != null ? session.getBufferedMessageCount() : 0;
+            }
+            
+            @Override
+            public long filteredMessages() {
+                return filteredMessages.sum();
+            }
+        });
     }
     
     /**
@@ -51,12 +159,50 @@ public class FIXSessionManager {
         
         LOGGER.info("Connecting to FIX server at {}:{}", host, port);
         
-        socket = new Socket(host, port);
-        outputStream = socket.getOutputStream();
-        inputStream = socket.getInputStream();
-        
         // Get or create session state
         FIXSessionState session = stateManager.getOrCreateSession(senderCompId, targetCompId);
+        transport = eventLoopGroup != null
+            ? new FIXSelectorTransport(eventLoopGroup)
+            : new FIXBlockingTransport("fix-reader-" + session.getSessionId());
+        transport.connect(new InetSocketAddress(host, port));
+        
+        try {
+            startSession(session, senderCompId, targetCompId, heartbeatInterval);
+        } catch (IOException | RuntimeException e) {
+            // Nothing started for a failed attempt may outlive it
+            running = false;
+            stopBackgroundServices();
+            try {
+                transport.close();
+                session.setGapBuffer(null);
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        
+        LOGGER.info("Connected to FIX server");
+    }
+    
+    /**
+     * Start the writer, timers and reader of a connected transport and send Logon
+     */
+    private void startSession(FIXSessionState session, String senderCompId, String targetCompId, int heartbeatInterval)
+            throws IOException {
+        activeSession = session;
+        session.setGapBuffer(new FIXGapBuffer(gapBufferMaxMessages, gapBufferMaxBytes, gapOverflowPolicy, gapSpillDirectory));
+        encoder = new FIXMessageEncoder(beginString, senderCompId, targetCompId);
+        sequencer = new FIXOutboundSequencer(SEQUENCER_CAPACITY, flushMode, new FIXOutboundSequencer.Writer() {
+            @Override
+            public int encode(FIXMessage message, boolean assignSeqNum, FIXOutboundSequencer.Frame frame) {
+                return encodeOutbound(session, message, assignSeqNum, frame);
+            }
+            
+            @Override
+            public void write(ByteBuffer[] frames, int count) throws IOException {
+                writeOutbound(session, frames, count);
+            }
+        }, "fix-writer-" + session.getSessionId());
         session.setHeartbeatInterval(heartbeatInterval);
         session.setStatus(FIXSessionState.SessionStatus.CONNECTING);
         
@@ -69,8 +215,6 @@ public class FIXSessionManager {
         
         // Send Logon message
         sendLogon(session, heartbeatInterval);
-        
-        LOGGER.info("Connected to FIX server");
     }
     
     /**
@@ -85,8 +229,13 @@ public class FIXSessionManager {
         
         stopBackgroundServices();
         
-        if (socket != null && !socket.isClosed()) {
-            socket.close();
+        if (transport != null) {
+            transport.close();
+        }
+        
+        if (session != null) {
+            // Releases the spill file; messages still buffered are requested again after reconnecting
+            session.setGapBuffer(null);
         }
         
         running = false;
@@ -97,20 +246,27 @@ public class FIXSessionManager {
      * Send Logon message
      */
     private void sendLogon(FIXSessionState session, int heartbeatInterval) throws IOException {
-        FIXMessage logonMsg = FIXMessageBuilder.logon(session.getNextOutgoingSeqNum(), heartbeatInterval)
-            .build();
+        FIXMessageBuilder builder = new FIXMessageBuilder(FIXMessage.MSG_TYPE_LOGON)
+            .withField(FIXMessage.TAG_ENCRYPT_METHOD, 0) // No encryption
+            .withField(FIXMessage.TAG_HEARTBEAT_INTERVAL, heartbeatInterval);
         
-        String fixString = logonMsg.toFIXString(beginString, session.getSenderCompId(), session.getTargetCompId());
-        LOGGER.info("Sending Logon message: {}", fixString.replace("\u0001", "|"));
-        sendMessage(session, logonMsg);
-        LOGGER.info("Sent Logon message");
+        if (resetSequenceOnLogon) {
+            resetSequenceNumbers(session);
+            builder.withField(FIXMessage.TAG_RESET_SEQ_NUM_FLAG, "Y");
+        }
+        
+        FIXMessage logonMsg = builder.build();
+        
+        int seqNum = sendMessage(session, logonMsg);
+        LOGGER.info("Sent Logon message with seqNum: {}", seqNum);
     }
     
     /**
      * Send Logout message
      */
     private void sendLogout(FIXSessionState session, String reason) throws IOException {
-        FIXMessage logoutMsg = FIXMessageBuilder.logout(session.getNextOutgoingSeqNum(), reason)
+        FIXMessage logoutMsg = new FIXMessageBuilder(FIXMessage.MSG_TYPE_LOGOUT)
+            .withField(FIXMessage.TAG_TEXT, reason)
             .build();
         
         sendMessage(session, logoutMsg);
@@ -118,14 +274,75 @@ public class FIXSessionManager {
     }
     
     /**
-     * Send a FIX message
+     * Send a FIX message.
+     * The message is handed to the session's outbound writer thread, which assigns MsgSeqNum(34)
+     * and SendingTime(52) when it serializes the message, so concurrent callers can never put
+     * sequence numbers on the wire out of order. Frames that are ready together go out in one
+     * gathering write. Pooled messages are owned by the session from this call on and are
+     * released back to their pool once encoded, whether or not the write succeeds.
+     *
+     * @return Sequence number the message was sent with
      */
-    public void sendMessage(FIXSessionState session, FIXMessage message) throws IOException {
-        String fixString = message.toFIXString(beginString, session.getSenderCompId(), session.getTargetCompId());
-        
-        LOGGER.debug("Sending FIX message: {}", message);
-        outputStream.write(fixString.getBytes());
-        outputStream.flush();
+    public int sendMessage(FIXSessionState session, FIXMessage message) throws IOException {
+        return sendMessage(session, message, true);
+    }
+    
+    /**
+     * Send a FIX message, optionally keeping the MsgSeqNum(34) and SendingTime(52) it already
+     * carries (gap fills and resends do not consume a new sequence number).
+     *
+     * @return Sequence number the message was sent with
+     */
+    public int sendMessage(FIXSessionState session, FIXMessage message, boolean assignSeqNum) throws IOException {
+        if (sequencer == null) {
+            message.release();
+            throw new IOException("FIX session is not connected");
+        }
+        metrics.recordSendQueueDepth(sequencer.pending());
+        return sequencer.send(message, assignSeqNum);
+    }
+    
+    /**
+     * Stamp and encode one message into its frame (writer thread only)
+     */
+    private int encodeOutbound(FIXSessionState session, FIXMessage message, boolean assignSeqNum,
+                               FIXOutboundSequencer.Frame frame) {
+        long start = System.nanoTime();
+        if (assignSeqNum) {
+            // Only the writer advances the outgoing sequence, so peek now and commit once encoded
+            message.setField(FIXMessage.TAG_MSG_SEQ_NUM, session.getCurrentOutgoingSeqNum());
+            message.setTimestampField(FIXMessage.TAG_SENDING_TIME, timestamps);
+        }
+        ByteBuffer buffer = frame.claim(encoder.encodedLength(message));
+        encoder.encode(message, buffer);
+        metrics.recordOutbound(buffer, buffer.position(), System.nanoTime() - start);
+        FIXWireLog log = wireLog;
+        if (log != null) {
+            log.record(false, buffer, buffer.position());
+        }
+        FIXWireCapture capture = wireCapture;
+        if (capture != null) {
+            capture.capture(FIXWireCapture.OUTBOUND, buffer, buffer.position());
+        }
+        if (assignSeqNum && messageStore != null) {
+            // Stored before the seqNum is committed, so a store failure leaves the sequence untouched
+            try {
+                messageStore.append(session.getCurrentOutgoingSeqNum(), buffer, 0, buffer.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to store outbound message", e);
+            }
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Sending FIX message: {}", message);
+        }
+        return assignSeqNum ? session.getNextOutgoingSeqNum() : message.getFieldAsInt(FIXMessage.TAG_MSG_SEQ_NUM, 0);
+    }
+    
+    /**
+     * Write a batch of frames with gathering writes (writer thread only)
+     */
+    private void writeOutbound(FIXSessionState session, ByteBuffer[] frames, int count) throws IOException {
+        transport.write(frames, count);
         
         session.updateLastMessageSentTime();
         stateManager.saveSession(session);
@@ -135,10 +352,37 @@ public class FIXSessionManager {
      * Process incoming message
      */
     public void processIncomingMessage(FIXSessionState session, String rawMessage) {
+        byte[] frame = rawMessage.getBytes(StandardCharsets.US_ASCII);
+        processIncomingMessage(session, frame, 0, frame.length);
+    }
+    
+    /**
+     * Process an incoming frame held in a byte array slice.
+     * Must only be called from the session's reader thread (the parse view is reused).
+     */
+    public void processIncomingMessage(FIXSessionState session, byte[] buffer, int offset, int length) {
+        FIXWireLog log = wireLog;
+        if (log != null) {
+            log.record(true, buffer, offset, length);
+        }
+        FIXWireCapture capture = wireCapture;
+        if (capture != null) {
+            capture.capture(FIXWireCapture.INBOUND, buffer, offset, length);
+        }
         try {
-            FIXMessage message = FIXMessageParser.parse(rawMessage);
+            long start = System.nanoTime();
+            FIXMessageView view = FIXMessageParser.parse(buffer, offset, length, inboundView, validateChecksum);
+            metrics.recordInbound(view, length, System.nanoTime() - start);
             session.updateLastMessageReceivedTime();
             
+            // Messages the handler does not want only advance the sequence; they are never materialized
+            FIXMessageFilter filter = inboundFilter;
+            if (filter != null && !filter.accepts(view) && skipFiltered(session, view)) {
+                return;
+            }
+            
+            FIXMessage message = view.toFIXMessage();
+            
             LOGGER.debug("Received FIX message: {}", message);
             
             // Validate sequence number
@@ -148,75 +392,201 @@ public class FIXSessionManager {
                 return;
             }
             
+            // A Logon with ResetSeqNumFlag restarts the counterparty's numbering; with resumed
+            // sequence numbers it would otherwise look like a duplicate
+            if (FIXMessage.MSG_TYPE_LOGON.equals(message.getMsgType())
+                    && "Y".equals(message.getField(FIXMessage.TAG_RESET_SEQ_NUM_FLAG))) {
+                session.setIncomingSeqNum(receivedSeqNum);
+            }
+            
             FIXSessionStateManager.SequenceValidationResult validation = 
                 stateManager.validateIncomingSequence(session, receivedSeqNum);
             
             if (validation.isGapDetected()) {
-                handleSequenceGap(session, validation.getExpectedSeqNum(), receivedSeqNum);
-                // Buffer the out-of-order message
-                session.bufferMessage(receivedSeqNum, rawMessage);
+                // Only one ResendRequest per gap; later messages of the same burst are just buffered
+                if (session.getStatus() != FIXSessionState.SessionStatus.AWAITING_RESEND) {
+                    handleSequenceGap(session, validation.getExpectedSeqNum(), receivedSeqNum);
+                }
+                bufferOutOfOrder(session, message, receivedSeqNum, buffer, offset, length);
                 return;
             } else if (validation.isLowerThanExpected()) {
                 handleLowerSequence(session, message, receivedSeqNum);
                 return;
             }
             
-            // Process message by type
-            String msgType = message.getMsgType();
-            switch (msgType) {
-                case FIXMessage.MSG_TYPE_LOGON:
-                    handleLogon(session, message);
-                    break;
-                    
-                case FIXMessage.MSG_TYPE_LOGOUT:
-                    handleLogout(session, message);
-                    break;
-                    
-                case FIXMessage.MSG_TYPE_HEARTBEAT:
-                    handleHeartbeat(session, message);
-                    break;
-                    
-                case FIXMessage.MSG_TYPE_TEST_REQUEST:
-                    handleTestRequest(session, message);
-                    break;
-                    
-                case FIXMessage.MSG_TYPE_RESEND_REQUEST:
-                    handleResendRequest(session, message);
-                    break;
-                    
-                case FIXMessage.MSG_TYPE_SEQUENCE_RESET:
-                    handleSequenceReset(session, message);
-                    break;
-                    
-                default:
-                    // Application message - pass to handler
-                    if (messageHandler != null) {
-                        messageHandler.onApplicationMessage(session, message);
-                    }
-                    break;
-            }
+            processInSequence(session, message, buffer, offset, length);
             
             // Check for buffered messages that can now be processed
             processBufferedMessages(session);
             
         } catch (FIXParseException e) {
+            metrics.recordParseError();
             LOGGER.error("Failed to parse FIX message", e);
         }
     }
     
+    /**
+     * Account for a filtered-out message that arrived in sequence. Out-of-sequence ones take the normal path
+     * (gap buffering, duplicate handling) and are dropped at dispatch instead.
+     *
+     * @return Whether the message was consumed
+     */
+    private boolean skipFiltered(FIXSessionState session, FIXMessageView view) {
+        int seqNum = view.getMsgSeqNum();
+        if (seqNum == -1 || seqNum != session.getIncomingSeqNum()) {
+            return false;
+        }
+        stateManager.validateIncomingSequence(session, seqNum);
+        filteredMessages.increment();
+        processBufferedMessages(session);
+        return true;
+    }
+    
+    /**
+     * Process a message whose sequence number has been accepted
+     */
+    private void processInSequence(FIXSessionState session, FIXMessage message, byte[] buffer, int offset, int length) {
+        // Process message by type
+        String msgType = message.getMsgType();
+        switch (msgType) {
+            case FIXMessage.MSG_TYPE_LOGON:
+                handleLogon(session, message);
+                break;
+                
+            case FIXMessage.MSG_TYPE_LOGOUT:
+                handleLogout(session, message);
+                break;
+                
+            case FIXMessage.MSG_TYPE_HEARTBEAT:
+                handleHeartbeat(session, message);
+                break;
+                
+            case FIXMessage.MSG_TYPE_TEST_REQUEST:
+                handleTestRequest(session, message);
+                break;
+                
+            case FIXMessage.MSG_TYPE_RESEND_REQUEST:
+                handleResendRequest(session, message);
+                break;
+                
+            case FIXMessage.MSG_TYPE_SEQUENCE_RESET:
+                handleSequenceReset(session, message);
+                break;
+                
+            default:
+                // Application message - pass to handler
+                dispatchApplicationMessage(session, message, buffer, offset, length);
+                break;
+        }
+    }
+    
+    /**
+     * Journal (if enabled) and hand an application message to the handler
+     */
+    private void dispatchApplicationMessage(FIXSessionState session, FIXMessage message,
+                                            byte[] buffer, int offset, int length) {
+        FIXMessageFilter filter = inboundFilter;
+        if (filter != null && !filter.accepts(message)) {
+            filteredMessages.increment();
+            return;
+        }
+        
+        FIXInboundJournal journal = inboundJournal;
+        if (journal == null) {
+            MessageHandler handler = messageHandler;
+            if (handler != null) {
+                dispatch(() -> handler.onApplicationMessage(session, message, FIXInboundJournal.NOT_JOURNALED));
+            }
+            return;
+        }
+        
+        synchronized (dispatchLock) {
+            long journalId;
+            try {
+                journalId = journal.append(buffer, offset, length);
+            } catch (IOException e) {
+                LOGGER.error("Failed to journal inbound message {}", message.getMsgSeqNum(), e);
+                journalId = FIXInboundJournal.NOT_JOURNALED;
+            }
+            // Without a handler the frame stays uncommitted and is replayed once one is registered
+            MessageHandler handler = messageHandler;
+            if (handler != null) {
+                long id = journalId;
+                dispatch(() -> {
+                    handler.onApplicationMessage(session, message, id);
+                    if (!handler.commitsInbound()) {
+                        commitInbound(id);
+                    }
+                });
+            }
+        }
+    }
+    
+    /**
+     * Run a handler callback on the dispatcher, or inline when there is none
+     */
+    private void dispatch(Runnable callback) {
+        FIXDispatcher current = dispatcher;
+        if (current != null) {
+            long queuedAt = System.nanoTime();
+            current.execute(() -> {
+                metrics.recordDispatchLatency(System.nanoTime() - queuedAt);
+                callback.run();
+            });
+        } else {
+            callback.run();
+        }
+    }
+    
+    /**
+     * Replay every journaled frame the handler has not committed yet
+     */
+    private void replayInboundJournal(FIXInboundJournal journal, MessageHandler handler) {
+        FIXSessionState session = activeSession;
+        FIXMessageView replayView = new FIXMessageView();
+        int replayed = journal.replay((id, buffer, offset, length) -> {
+            try {
+                FIXMessage message = FIXMessageParser.parse(buffer, offset, length, replayView, false).toFIXMessage();
+                handler.onApplicationMessage(session, message, id);
+                if (!handler.commitsInbound()) {
+                    journal.commit(id);
+                }
+            } catch (FIXParseException e) {
+                LOGGER.error("Skipping unreadable inbound journal record {}", id, e);
+                journal.commit(id);
+            }
+        });
+        if (replayed > 0) {
+            LOGGER.info("Replayed {} uncommitted inbound messages from the journal", replayed);
+        }
+    }
+    
+    /**
+     * Mark a dispatched application message as processed
+     */
+    public void commitInbound(long journalId) {
+        FIXInboundJournal journal = inboundJournal;
+        if (journal != null && journalId != FIXInboundJournal.NOT_JOURNALED) {
+            journal.commit(journalId);
+        }
+    }
+    
     /**
      * Handle sequence gap - send ResendRequest
      */
     private void handleSequenceGap(FIXSessionState session, int expectedSeqNum, int receivedSeqNum) {
         LOGGER.warn("Sequence gap detected. Expected: {}, Received: {}. Requesting resend.", 
                     expectedSeqNum, receivedSeqNum);
+        metrics.recordGapDetected();
         
         try {
-            FIXMessage resendRequest = FIXMessageBuilder
-                .resendRequest(session.getNextOutgoingSeqNum(), expectedSeqNum, receivedSeqNum - 1)
+            FIXMessage resendRequest = new FIXMessageBuilder(messagePool.acquire(FIXMessage.MSG_TYPE_RESEND_REQUEST))
+                .withField(FIXMessage.TAG_BEGIN_SEQ_NO, expectedSeqNum)
+                .withField(FIXMessage.TAG_END_SEQ_NO, receivedSeqNum - 1)
                 .build();
             
             sendMessage(session, resendRequest);
+            metrics.recordResendRequestSent();
             session.setStatus(FIXSessionState.SessionStatus.AWAITING_RESEND);
         } catch (IOException e) {
             LOGGER.error("Failed to send ResendRequest", e);
@@ -238,29 +608,82 @@ public class FIXSessionManager {
     }
     
     /**
-     * Process buffered messages in sequence
+     * Hold a message received ahead of a gap until the gap is filled
+     */
+    private void bufferOutOfOrder(FIXSessionState session, FIXMessage message, int seqNum,
+                                  byte[] buffer, int offset, int length) {
+        FIXGapBuffer gapBuffer = session.getGapBuffer();
+        if (gapBuffer.add(seqNum, message, buffer, offset, length)) {
+            LOGGER.debug("Buffered out-of-order message with seqNum: {}", seqNum);
+            return;
+        }
+        if (gapBuffer.getOverflowPolicy() == GapOverflowPolicy.DISCONNECT) {
+            LOGGER.error("Gap buffer full ({} messages); disconnecting session {}", gapBuffer.size(), session.getSessionId());
+            session.setStatus(FIXSessionState.SessionStatus.ERROR);
+            try {
+                disconnect(session.getSenderCompId(), session.getTargetCompId());
+            } catch (IOException e) {
+                LOGGER.error("Error disconnecting after gap buffer overflow", e);
+            }
+        } else {
+            LOGGER.warn("Gap buffer full; dropped out-of-order message with seqNum: {}", seqNum);
+        }
+    }
+    
+    /**
+     * Process buffered messages in sequence. Iterative, so a gap with any number of messages
+     * behind it is drained without recursion; buffered messages are not parsed again.
      */
     private void processBufferedMessages(FIXSessionState session) {
-        int expectedSeqNum = session.getIncomingSeqNum();
+        FIXGapBuffer gapBuffer = session.getGapBuffer();
+        if (gapBuffer.size() == 0) {
+            return;
+        }
         
-        while (session.hasBufferedMessage(expectedSeqNum)) {
-            String bufferedMessage = session.getBufferedMessage(expectedSeqNum);
-            LOGGER.info("Processing buffered message with seqNum: {}", expectedSeqNum);
-            processIncomingMessage(session, bufferedMessage);
+        int drained = 0;
+        int expectedSeqNum = session.getIncomingSeqNum();
+        FIXGapBuffer.Entry entry;
+        while ((entry = gapBuffer.take(expectedSeqNum)) != null) {
+            stateManager.validateIncomingSequence(session, expectedSeqNum);
+            byte[] frame = entry.getFrame();
+            processInSequence(session, entry.getMessage(), frame, 0, frame.length);
+            drained++;
             expectedSeqNum = session.getIncomingSeqNum();
         }
+        if (drained > 0) {
+            LOGGER.info("Processed {} buffered messages; next expected seqNum: {}", drained, expectedSeqNum);
+        }
+        
+        // Gap closed. Anything still buffered, or dropped from a full buffer, lies behind a new gap;
+        // request it now, as the counterparty may have nothing further to send
+        if (session.getStatus() == FIXSessionState.SessionStatus.AWAITING_RESEND
+                && (drained > 0 || gapBuffer.size() == 0)) {
+            session.setStatus(FIXSessionState.SessionStatus.LOGGED_IN);
+            int nextBuffered = gapBuffer.lowestSeqNum();
+            int gapEnd = nextBuffered != -1 ? nextBuffered - 1 : gapBuffer.getHighestDropped();
+            if (gapEnd >= expectedSeqNum) {
+                handleSequenceGap(session, expectedSeqNum, gapEnd + 1);
+            }
+        }
     }
     
     /**
      * Handle Logon message
      */
     private void handleLogon(FIXSessionState session, FIXMessage message) {
-        String fixString = message.toFIXString(beginString, session.getTargetCompId(), session.getSenderCompId());
-        LOGGER.info("Received Logon response: {}", fixString.replace("\u0001", "|"));
+        LOGGER.info("Received Logon response with seqNum: {}", message.getMsgSeqNum());
         
-        // Check if ResetSeqNumFlag is set
-        if ("Y".equals(message.getField(FIXMessage.TAG_RESET_SEQ_NUM_FLAG))) {
-            session.resetSequenceNumbers();
+        // Check if ResetSeqNumFlag is set; the incoming side was already reset before validation,
+        // and the outgoing side already restarted if the reset was our own request
+        if ("Y".equals(message.getField(FIXMessage.TAG_RESET_SEQ_NUM_FLAG)) && !resetSequenceOnLogon) {
+            try {
+                onWriterThread(() -> {
+                    session.setOutgoingSeqNum(1);
+                    resetMessageStore();
+                });
+            } catch (IOException e) {
+                LOGGER.error("Failed to reset outgoing sequence number", e);
+            }
         }
         
         // Update heartbeat interval if provided
@@ -269,12 +692,47 @@ public class FIXSessionManager {
             session.setHeartbeatInterval(heartbeatInterval);
         }
         
-        LOGGER.info("Setting session status to LOGGED_IN");
         session.setStatus(FIXSessionState.SessionStatus.LOGGED_IN);
         stateManager.saveSession(session);
         
-        if (messageHandler != null) {
-            messageHandler.onLogon(session);
+        MessageHandler handler = messageHandler;
+        if (handler != null) {
+            dispatch(() -> handler.onLogon(session));
+        }
+    }
+    
+    /**
+     * Restart both sequences at 1 and clear the outbound message store
+     */
+    public void resetSequenceNumbers(FIXSessionState session) throws IOException {
+        onWriterThread(() -> {
+            session.resetSequenceNumbers();
+            resetMessageStore();
+            stateManager.saveSession(session);
+        });
+    }
+    
+    /**
+     * Change state the outbound writer reads while encoding (the outgoing sequence, the message store).
+     * It runs on the writer thread between frames, so no frame is stamped with one seqNum and committed
+     * with another; without a writer (not connected) it runs on the caller.
+     */
+    private void onWriterThread(Runnable action) throws IOException {
+        FIXOutboundSequencer current = sequencer;
+        if (current != null) {
+            current.execute(action);
+        } else {
+            action.run();
+        }
+    }
+    
+    private void resetMessageStore() {
+        if (messageStore != null) {
+            try {
+                messageStore.reset();
+            } catch (IOException e) {
+                LOGGER.error("Failed to reset outbound message store", e);
+            }
         }
     }
     
@@ -287,8 +745,9 @@ public class FIXSessionManager {
         
         session.setStatus(FIXSessionState.SessionStatus.DISCONNECTED);
         
-        if (messageHandler != null) {
-            messageHandler.onLogout(session, reason);
+        MessageHandler handler = messageHandler;
+        if (handler != null) {
+            dispatch(() -> handler.onLogout(session, reason));
         }
     }
     
@@ -309,8 +768,8 @@ public class FIXSessionManager {
         
         try {
             // Respond with Heartbeat containing the TestReqID
-            FIXMessage heartbeat = FIXMessageBuilder
-                .heartbeat(session.getNextOutgoingSeqNum(), testReqId)
+            FIXMessage heartbeat = new FIXMessageBuilder(messagePool.acquire(FIXMessage.MSG_TYPE_HEARTBEAT))
+                .withField(FIXMessage.TAG_TEST_REQ_ID, testReqId)
                 .build();
             
             sendMessage(session, heartbeat);
@@ -320,33 +779,121 @@ public class FIXSessionManager {
     }
     
     /**
-     * Handle ResendRequest message
+     * Handle ResendRequest message.
+     * Application messages are read back from the message store and resent with
+     * PossDupFlag(43)=Y and OrigSendingTime(122); admin messages and anything not in the store
+     * are skipped with SequenceReset-GapFill. Frames are read one at a time from the mapped
+     * store, so large ranges are never held on the heap.
      */
     private void handleResendRequest(FIXSessionState session, FIXMessage message) {
-        Integer beginSeqNo = message.getFieldAsInt(FIXMessage.TAG_BEGIN_SEQ_NO);
-        Integer endSeqNo = message.getFieldAsInt(FIXMessage.TAG_END_SEQ_NO);
+        int beginSeqNo = message.getFieldAsInt(FIXMessage.TAG_BEGIN_SEQ_NO, 0);
+        int endSeqNo = message.getFieldAsInt(FIXMessage.TAG_END_SEQ_NO, 0);
+        int lastSent = session.getCurrentOutgoingSeqNum() - 1;
         
         LOGGER.info("Received ResendRequest from {} to {}", beginSeqNo, endSeqNo);
+        metrics.recordResendRequestReceived();
+        
+        // EndSeqNo 0 means "everything sent so far"
+        if (endSeqNo == 0 || endSeqNo > lastSent) {
+            endSeqNo = lastSent;
+        }
+        if (beginSeqNo < 1 || beginSeqNo > endSeqNo) {
+            LOGGER.warn("Ignoring ResendRequest for empty range {} to {} (last sent {})", beginSeqNo, endSeqNo, lastSent);
+            return;
+        }
         
-        // In a production implementation, this would retrieve and resend messages from message store
-        // For now, we'll send a SequenceReset-GapFill
         try {
-            int currentSeqNum = session.getCurrentOutgoingSeqNum();
-            FIXMessage seqReset = FIXMessageBuilder
-                .sequenceReset(beginSeqNo, currentSeqNum, true)
-                .build();
-            
-            sendMessage(session, seqReset);
+            int resent = 0;
+            int gapFillStart = -1;
+            for (int seqNum = beginSeqNo; seqNum <= endSeqNo; seqNum++) {
+                FIXMessageView original = readStored(seqNum);
+                if (original == null || isAdminMessage(original)) {
+                    if (gapFillStart == -1) {
+                        gapFillStart = seqNum;
+                    }
+                    continue;
+                }
+                if (gapFillStart != -1) {
+                    sendGapFill(session, gapFillStart, seqNum);
+                    gapFillStart = -1;
+                }
+                resendMessage(session, original);
+                resent++;
+            }
+            if (gapFillStart != -1) {
+                sendGapFill(session, gapFillStart, endSeqNo + 1);
+            }
+            LOGGER.info("Answered ResendRequest {} to {}: {} messages resent", beginSeqNo, endSeqNo, resent);
         } catch (IOException e) {
-            LOGGER.error("Failed to send SequenceReset", e);
+            LOGGER.error("Failed to answer ResendRequest", e);
         }
     }
     
+    /**
+     * Read a stored frame into the resend view, or null if it is not available
+     */
+    private FIXMessageView readStored(int seqNum) {
+        FIXMappedMessageStore store = messageStore;
+        ByteBuffer frame = store != null ? store.get(seqNum) : null;
+        if (frame == null) {
+            return null;
+        }
+        try {
+            return FIXMessageParser.parse(frame, resendView, false);
+        } catch (FIXParseException e) {
+            LOGGER.warn("Stored message {} is unreadable; gap filling it", seqNum, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Session-level messages are never resent (Reject is, as it refers to application traffic)
+     */
+    private static boolean isAdminMessage(FIXMessageView message) {
+        return message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_HEARTBEAT)
+            || message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_TEST_REQUEST)
+            || message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_RESEND_REQUEST)
+            || message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_SEQUENCE_RESET)
+            || message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_LOGOUT)
+            || message.fieldEquals(FIXMessage.TAG_MSG_TYPE, FIXMessage.MSG_TYPE_LOGON);
+    }
+    
+    /**
+     * Resend a stored application message under its original MsgSeqNum
+     */
+    private void resendMessage(FIXSessionState session, FIXMessageView original) throws IOException {
+        FIXMessage possDup = original.copyTo(messagePool.acquire(original.getMsgType()));
+        int sendingTime = original.indexOf(FIXMessage.TAG_SENDING_TIME);
+        if (sendingTime != -1) {
+            possDup.setField(FIXMessage.TAG_ORIG_SENDING_TIME, original.getBuffer(),
+                original.getValueOffset(sendingTime), original.getValueLength(sendingTime));
+        }
+        possDup.setField(FIXMessage.TAG_POSS_DUP_FLAG, "Y");
+        possDup.setTimestampField(FIXMessage.TAG_SENDING_TIME, timestamps);
+        sendMessage(session, possDup, false);
+        metrics.recordMessageResent();
+    }
+    
+    /**
+     * Send SequenceReset-GapFill covering [gapFillStart, newSeqNo)
+     */
+    private void sendGapFill(FIXSessionState session, int gapFillStart, int newSeqNo) throws IOException {
+        FIXMessage gapFill = new FIXMessageBuilder(messagePool.acquire(FIXMessage.MSG_TYPE_SEQUENCE_RESET))
+            .withHeader(gapFillStart, timestamps)
+            .withField(FIXMessage.TAG_POSS_DUP_FLAG, "Y")
+            .withField(FIXMessage.TAG_NEW_SEQ_NO, newSeqNo)
+            .withField(FIXMessage.TAG_GAP_FILL_FLAG, "Y")
+            .build();
+        gapFill.setField(FIXMessage.TAG_ORIG_SENDING_TIME, gapFill.getField(FIXMessage.TAG_SENDING_TIME));
+        sendMessage(session, gapFill, false);
+        metrics.recordGapFillSent();
+    }
+    
     /**
      * Handle SequenceReset message
      */
     private void handleSequenceReset(FIXSessionState session, FIXMessage message) {
-        Integer newSeqNo = message.getFieldAsInt(36); // NewSeqNo tag
+        Integer newSeqNo = message.getFieldAsInt(FIXMessage.TAG_NEW_SEQ_NO);
         
         if (newSeqNo != null) {
             LOGGER.info("Received SequenceReset. Resetting incoming sequence to: {}", newSeqNo);
@@ -360,118 +907,300 @@ public class FIXSessionManager {
     }
     
     /**
-     * Start heartbeat service
+     * Start heartbeat service: heartbeat, TestRequest and dead-connection deadlines on the shared timer wheel
      */
     private void startHeartbeatService(FIXSessionState session) {
-        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor();
-        
-        heartbeatScheduler.scheduleAtFixedRate(() -> {
-            try {
-                if (session.isActive()) {
-                    // Check if we need to send heartbeat
-                    if (session.isHeartbeatNeeded()) {
-                        LOGGER.debug("Sending scheduled heartbeat");
-                        FIXMessage heartbeat = FIXMessageBuilder
-                            .heartbeat(session.getNextOutgoingSeqNum())
-                            .build();
-                        sendMessage(session, heartbeat);
-                    }
-                    
-                    // Check if we need to send test request
-                    if (session.isTestRequestNeeded()) {
-                        LOGGER.warn("No message received. Sending TestRequest");
-                        String testReqId = "TR-" + Instant.now().toEpochMilli();
-                        FIXMessage testRequest = FIXMessageBuilder
-                            .testRequest(session.getNextOutgoingSeqNum(), testReqId)
-                            .build();
-                        sendMessage(session, testRequest);
-                    }
-                    
-                    // Check if connection is dead
-                    if (session.isConnectionDead()) {
-                        LOGGER.error("Connection appears dead. No messages received in {} seconds", 
-                                    session.getHeartbeatInterval() * 2);
-                        session.setStatus(FIXSessionState.SessionStatus.ERROR);
-                        disconnect(session.getSenderCompId(), session.getTargetCompId());
-                    }
+        timerWheel = FIXTimerWheel.acquireShared();
+        sessionTimers = new FIXSessionTimers(timerWheel, session, new FIXSessionTimers.Actions() {
+            @Override
+            public void sendHeartbeat(FIXSessionState session, long lateNanos) {
+                metrics.recordHeartbeatLateness(lateNanos);
+                try {
+                    LOGGER.debug("Sending scheduled heartbeat");
+                    FIXMessage heartbeat = new FIXMessageBuilder(messagePool.acquire(FIXMessage.MSG_TYPE_HEARTBEAT))
+                        .build();
+                    sendMessage(session, heartbeat);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to send heartbeat", e);
+                }
+            }
+            
+            @Override
+            public void sendTestRequest(FIXSessionState session) {
+                try {
+                    LOGGER.warn("No message received. Sending TestRequest");
+                    String testReqId = "TR-" + Instant.now().toEpochMilli();
+                    FIXMessage testRequest = new FIXMessageBuilder(messagePool.acquire(FIXMessage.MSG_TYPE_TEST_REQUEST))
+                        .withField(FIXMessage.TAG_TEST_REQ_ID, testReqId)
+                        .build();
+                    sendMessage(session, testRequest);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to send TestRequest", e);
+                }
+            }
+            
+            @Override
+            public void connectionDead(FIXSessionState session) {
+                LOGGER.error("Connection appears dead. No messages received in {} seconds",
+                    session.getHeartbeatInterval() * 2);
+                session.setStatus(FIXSessionState.SessionStatus.ERROR);
+                try {
+                    disconnect(session.getSenderCompId(), session.getTargetCompId());
+                } catch (IOException e) {
+                    LOGGER.error("Error disconnecting dead connection", e);
                 }
-            } catch (Exception e) {
-                LOGGER.error("Error in heartbeat service", e);
             }
-        }, 5, 5, TimeUnit.SECONDS); // Check every 5 seconds
+        });
+        sessionTimers.start();
     }
     
     /**
-     * Start message processor
+     * Start delivering received frames to the session
      */
     private void startMessageProcessor(FIXSessionState session) {
-        messageProcessorExecutor = Executors.newSingleThreadExecutor();
-        LOGGER.info("Starting message processor thread");
+        LOGGER.info("Starting message processor");
         
-        messageProcessorExecutor.submit(() -> {
-            LOGGER.info("Message processor thread started, waiting for messages...");
-            byte[] buffer = new byte[8192];
-            StringBuilder messageBuffer = new StringBuilder();
+        transport.start(new FIXTransport.Listener() {
+            // The saves of every frame in a read are acknowledged together at the end of the read
+            private boolean inBatch;
             
-            while (running && !Thread.currentThread().isInterrupted()) {
-                try {
-                    int bytesRead = inputStream.read(buffer);
-                    if (bytesRead == -1) {
-                        LOGGER.warn("Connection closed by server");
-                        break;
-                    }
-                    
-                    LOGGER.debug("Read {} bytes from socket", bytesRead);
-                    String data = new String(buffer, 0, bytesRead);
-                    messageBuffer.append(data);
-                    
-                    LOGGER.debug("Message buffer now contains: {}", 
-                        messageBuffer.toString().replace("\u0001", "|"));
-                    
-                    // Extract complete messages (ending with checksum + SOH)
-                    String messages = messageBuffer.toString();
-                    int lastChecksumEnd = messages.lastIndexOf("\u000110=");
-                    
-                    if (lastChecksumEnd != -1) {
-                        // Find the SOH after checksum value
-                        int messageEnd = messages.indexOf('\u0001', lastChecksumEnd + 4);
-                        if (messageEnd != -1) {
-                            String completeMessage = messages.substring(0, messageEnd + 1);
-                            LOGGER.debug("Processing complete message: {}", 
-                                completeMessage.replace("\u0001", "|"));
-                            processIncomingMessage(session, completeMessage);
-                            messageBuffer = new StringBuilder(messages.substring(messageEnd + 1));
-                        }
-                    }
-                    
-                } catch (IOException e) {
-                    if (running) {
-                        LOGGER.error("Error reading from socket", e);
-                    }
-                    break;
+            @Override
+            public void onFrame(byte[] buffer, int offset, int length) {
+                if (!inBatch) {
+                    inBatch = true;
+                    stateManager.beginBatch();
+                }
+                processIncomingMessage(session, buffer, offset, length);
+            }
+            
+            @Override
+            public void onBatchEnd() {
+                if (inBatch) {
+                    inBatch = false;
+                    stateManager.endBatch();
+                }
+            }
+            
+            @Override
+            public void onDisconnected(IOException cause) {
+                onBatchEnd();
+                if (!running) {
+                    return;
+                }
+                if (cause != null) {
+                    LOGGER.error("Error reading from socket", cause);
+                } else {
+                    LOGGER.warn("Connection closed by server");
                 }
             }
-            LOGGER.info("Message processor thread stopped");
         });
+        
+        // Stages still behind from before a reconnect keep the new transport paused
+        synchronized (readPauseLock) {
+            if (readPauses > 0) {
+                transport.pauseReads();
+            }
+        }
     }
     
     /**
      * Stop background services
      */
     private void stopBackgroundServices() {
-        if (heartbeatScheduler != null) {
-            heartbeatScheduler.shutdown();
+        if (sequencer != null) {
+            sequencer.close();
         }
-        if (messageProcessorExecutor != null) {
-            messageProcessorExecutor.shutdown();
+        if (sessionTimers != null && sessionTimers.stop()) {
+            // Once per start, however often the session is stopped
+            FIXTimerWheel.releaseShared(timerWheel);
         }
+        stateManager.sync();
+    }
+    
+    /**
+     * Drive the socket from the given shared event loops instead of a dedicated reader thread (set before
+     * connecting). Received messages are then processed on the event loop, so message handlers must not block.
+     */
+    public void setEventLoopGroup(FIXEventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+    
+    /**
+     * Log every frame sent and received to the given wire log (set before connecting)
+     */
+    public void setWireLog(FIXWireLog wireLog) {
+        this.wireLog = wireLog;
+    }
+    
+    /**
+     * Capture every frame sent and received to the given binary capture (set before connecting)
+     */
+    public void setWireCapture(FIXWireCapture wireCapture) {
+        this.wireCapture = wireCapture;
+    }
+    
+    /**
+     * Set the store of sent frames used to answer ResendRequests (set before connecting).
+     * Without a store every resend is answered with a SequenceReset-GapFill.
+     */
+    public void setMessageStore(FIXMappedMessageStore messageStore) {
+        this.messageStore = messageStore;
+    }
+    
+    /**
+     * Set the store that persists sequence numbers across reconnects / restarts (set before connecting)
+     */
+    public void setSessionStore(FIXSessionStore sessionStore) {
+        stateManager.setPersistentStore(sessionStore);
+    }
+    
+    /**
+     * Set the limits of the out-of-order message buffer (set before connecting)
+     *
+     * @param spillDirectory Directory for spilled frames with the SPILL policy (null for the temp directory)
+     */
+    public void setGapBufferLimits(int maxMessages, long maxBytes, GapOverflowPolicy policy, Path spillDirectory) {
+        this.gapBufferMaxMessages = maxMessages;
+        this.gapBufferMaxBytes = maxBytes;
+        this.gapOverflowPolicy = policy;
+        this.gapSpillDirectory = spillDirectory;
+    }
+    
+    /**
+     * Set whether Logon resets both sequence numbers to 1 (ResetSeqNumFlag=Y) instead of
+     * resuming the persisted ones (set before connecting)
+     */
+    public void setResetSequenceOnLogon(boolean resetSequenceOnLogon) {
+        this.resetSequenceOnLogon = resetSequenceOnLogon;
     }
     
     /**
      * Set message handler
      */
     public void setMessageHandler(MessageHandler handler) {
-        this.messageHandler = handler;
+        FIXInboundJournal journal = inboundJournal;
+        if (journal == null || handler == null) {
+            this.messageHandler = handler;
+            return;
+        }
+        synchronized (dispatchLock) {
+            replayInboundJournal(journal, handler);
+            this.messageHandler = handler;
+        }
+    }
+    
+    /**
+     * Set the filter of application messages passed to the handler (null for all). Filtered-out messages still
+     * advance the incoming sequence but are neither parsed into a FIXMessage nor journaled.
+     */
+    public void setInboundFilter(FIXMessageFilter inboundFilter) {
+        this.inboundFilter = inboundFilter == null || inboundFilter.isAcceptAll() ? null : inboundFilter;
+    }
+    
+    /**
+     * Number of application messages dropped by the inbound filter
+     */
+    public long getFilteredMessageCount() {
+        return filteredMessages.sum();
+    }
+
+    /**
+     * Hot-path metrics of this session
+     */
+    public FIXSessionMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Set the dispatcher that runs handler callbacks off the reader thread (null to call them inline)
+     */
+    public void setDispatcher(FIXDispatcher dispatcher) {
+        FIXDispatcher previous = this.dispatcher;
+        this.dispatcher = dispatcher;
+        if (previous != null) {
+            previous.setReadControl(null);
+            dispatchReads.resumeReads();
+        }
+        if (dispatcher != null) {
+            // A saturated dispatcher stops the reader until the flows catch up
+            dispatcher.setReadControl(dispatchReads);
+        }
+    }
+    
+    private String sessionName() {
+        FIXSessionState session = activeSession;
+        return session != null ? session.getSessionId() : "(not connected)";
+    }
+    
+    /**
+     * Create a control through which a dispatch stage downstream of the reader pauses this session's reads.
+     * Reads stay paused while any control holds them paused, across reconnects.
+     *
+     * @param stage Name of the stage, used for logging
+     */
+    public FIXDispatcher.ReadControl newReadControl(String stage) {
+        return new FIXDispatcher.ReadControl() {
+            private boolean paused; // guarded by readPauseLock
+            
+            @Override
+            public void pauseReads() {
+                synchronized (readPauseLock) {
+                    if (paused) {
+                        return;
+                    }
+                    paused = true;
+                    FIXTransport current = transport;
+                    LOGGER.warn("Pausing reads of session {} until {} catches up", sessionName(), stage);
+                    if (readPauses++ == 0 && current != null) {
+                        current.pauseReads();
+                    }
+                }
+            }
+            
+            @Override
+            public void resumeReads() {
+                synchronized (readPauseLock) {
+                    if (!paused) {
+                        return;
+                    }
+                    paused = false;
+                    FIXTransport current = transport;
+                    LOGGER.info("Resuming reads of session {}: {} caught up", sessionName(), stage);
+                    if (--readPauses == 0 && current != null) {
+                        current.resumeReads();
+                    }
+                }
+            }
+        };
+    }
+    
+    /**
+     * Get the dispatcher of handler callbacks, or null when they run inline
+     */
+    public FIXDispatcher getDispatcher() {
+        return dispatcher;
+    }
+    
+    /**
+     * Set the journal received application messages are written to before dispatch (set before connecting).
+     * Uncommitted messages are replayed to the next handler that is registered.
+     */
+    public void setInboundJournal(FIXInboundJournal inboundJournal) {
+        this.inboundJournal = inboundJournal;
+    }
+    
+    /**
+     * Get the SendingTime encoder for this session (UTC, configured precision)
+     */
+    public FIXTimestampEncoder getTimestampEncoder() {
+        return timestamps;
+    }
+    
+    /**
+     * Get the per-session message pool (see FIXMessagePool for ownership rules)
+     */
+    public FIXMessagePool getMessagePool() {
+        return messagePool;
     }
     
     /**
@@ -488,6 +1217,22 @@ public class FIXSessionManager {
         void onLogon(FIXSessionState session);
         void onLogout(FIXSessionState session, String reason);
         void onApplicationMessage(FIXSessionState session, FIXMessage message);
+        
+        /**
+         * Called instead of {@link #onApplicationMessage(FIXSessionState, FIXMessage)} with the inbound
+         * journal id, to be passed to commitInbound once the message has been processed
+         */
+        default void onApplicationMessage(FIXSessionState session, FIXMessage message, long journalId) {
+            onApplicationMessage(session, message);
+        }
+        
+        /**
+         * Whether this handler commits journaled messages itself; if not, a message is committed as
+         * soon as the handler returns
+         */
+        default boolean commitsInbound() {
+            return false;
+        }
     }
 }
 
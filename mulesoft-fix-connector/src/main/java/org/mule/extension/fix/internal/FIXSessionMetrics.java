@@ -0,0 +1,508 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path metrics of one session: messages and bytes in / out by MsgType, parse and encode times, listener
+ * dispatch latency, heartbeat lateness, send-queue depth and gap / resend activity.
+ * Recording happens on the reader, writer, timer and dispatch threads and costs a few striped adds: counters
+ * are LongAdders, histograms are {@link FIXLatencyHistogram}s, and per-type counters live in a fixed slot
+ * array indexed by the MsgType bytes, so nothing is allocated or locked after a type's first message.
+ * Depths that already have an owner (queues, gap buffer) are read from it through {@link Gauges} on demand.
+ */
+public final class FIXSessionMetrics implements FIXSessionMetricsMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXSessionMetrics.class);
+
+    private static final String JMX_DOMAIN = "org.mule.extension.fix";
+
+    // MsgTypes are one or two printable ASCII characters; anything else shares the last slot
+    private static final int PRINTABLE = 96;
+    private static final int OTHER_SLOT = PRINTABLE + PRINTABLE * PRINTABLE;
+    private static final int SLOTS = OTHER_SLOT + 1;
+    private static final byte SOH = 0x01;
+
+    /**
+     * Current depths owned by other session components
+     */
+    interface Gauges {
+        int sendQueueDepth();
+
+        int dispatchPending();
+
+        int gapBufferDepth();
+
+        long filteredMessages();
+    }
+
+    private static final class TypeCounter {
+        final LongAdder messages = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+    }
+
+    private final Gauges gauges;
+    private final long createdAt = System.currentTimeMillis();
+
+    private final AtomicReferenceArray<TypeCounter> inbound = new AtomicReferenceArray<>(SLOTS);
+    private final AtomicReferenceArray<TypeCounter> outbound = new AtomicReferenceArray<>(SLOTS);
+    private final LongAdder parseErrors = new LongAdder();
+
+    private final FIXLatencyHistogram parseLatency = new FIXLatencyHistogram();
+    private final FIXLatencyHistogram encodeLatency = new FIXLatencyHistogram();
+    private final FIXLatencyHistogram dispatchLatency = new FIXLatencyHistogram();
+    private final FIXLatencyHistogram heartbeatLateness = new FIXLatencyHistogram();
+
+    private final LongAccumulator sendQueueDepthMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder gapsDetected = new LongAdder();
+    private final LongAdder resendRequestsSent = new LongAdder();
+    private final LongAdder resendRequestsReceived = new LongAdder();
+    private final LongAdder messagesResent = new LongAdder();
+    private final LongAdder gapFillsSent = new LongAdder();
+
+    private ObjectName objectName;
+
+    FIXSessionMetrics(Gauges gauges) {
+        this.gauges = gauges;
+    }
+
+    /**
+     * Record a parsed inbound frame
+     */
+    void recordInbound(FIXMessageView view, int bytes, long parseNanos) {
+        int index = view.indexOf(FIXMessage.TAG_MSG_TYPE);
+        int slot = index == -1 ? OTHER_SLOT
+            : slotOf(view.getBuffer(), view.getValueOffset(index), view.getValueLength(index));
+        count(inbound, slot, bytes);
+        parseLatency.record(parseNanos);
+    }
+
+    void recordParseError() {
+        parseErrors.increment();
+    }
+
+    /**
+     * Record an encoded outbound frame; its MsgType is read from the frame header (8=..|9=..|35=..|)
+     */
+    void recordOutbound(ByteBuffer frame, int bytes, long encodeNanos) {
+        count(outbound, outboundSlot(frame, bytes), bytes);
+        encodeLatency.record(encodeNanos);
+    }
+
+    /**
+     * Record the time a handler callback waited between being queued and starting to run
+     */
+    void recordDispatchLatency(long nanos) {
+        dispatchLatency.record(nanos);
+    }
+
+    /**
+     * Record how long after its due time a heartbeat was sent
+     */
+    void recordHeartbeatLateness(long nanos) {
+        heartbeatLateness.record(nanos);
+    }
+
+    /**
+     * Record the send-queue depth a new message is published behind
+     */
+    void recordSendQueueDepth(int depth) {
+        sendQueueDepthMax.accumulate(depth);
+    }
+
+    void recordGapDetected() {
+        gapsDetected.increment();
+    }
+
+    void recordResendRequestSent() {
+        resendRequestsSent.increment();
+    }
+
+    void recordResendRequestReceived() {
+        resendRequestsReceived.increment();
+    }
+
+    void recordMessageResent() {
+        messagesResent.increment();
+    }
+
+    void recordGapFillSent() {
+        gapFillsSent.increment();
+    }
+
+    private static void count(AtomicReferenceArray<TypeCounter> counters, int slot, int bytes) {
+        TypeCounter counter = counters.get(slot);
+        if (counter == null) {
+            counters.compareAndSet(slot, null, new TypeCounter());
+            counter = counters.get(slot);
+        }
+        counter.messages.increment();
+        counter.bytes.add(bytes);
+    }
+
+    static int slotOf(byte[] buffer, int offset, int length) {
+        return slotOf(length, length > 0 ? buffer[offset] : 0, length > 1 ? buffer[offset + 1] : 0);
+    }
+
+    private static int slotOf(int length, byte first, byte second) {
+        if (length == 1 && isPrintable(first)) {
+            return first - 32;
+        }
+        if (length == 2 && isPrintable(first) && isPrintable(second)) {
+            return PRINTABLE + (first - 32) * PRINTABLE + (second - 32);
+        }
+        return OTHER_SLOT;
+    }
+
+    private static int outboundSlot(ByteBuffer frame, int length) {
+        // Skip BeginString and BodyLength; MsgType is always the third field
+        int pos = 0;
+        for (int fields = 0; fields < 2; pos++) {
+            if (pos >= length) {
+                return OTHER_SLOT;
+            }
+            if (frame.get(pos) == SOH) {
+                fields++;
+            }
+        }
+        if (pos + 3 >= length || frame.get(pos) != '3' || frame.get(pos + 1) != '5' || frame.get(pos + 2) != '=') {
+            return OTHER_SLOT;
+        }
+        int start = pos + 3;
+        int end = start;
+        while (end < length && frame.get(end) != SOH) {
+            end++;
+        }
+        return slotOf(end - start, frame.get(start), end - start > 1 ? frame.get(start + 1) : 0);
+    }
+
+    private static boolean isPrintable(byte b) {
+        return b >= 32;
+    }
+
+    private static String labelOf(int slot) {
+        if (slot == OTHER_SLOT) {
+            return "other";
+        }
+        if (slot < PRINTABLE) {
+            return String.valueOf((char) (slot + 32));
+        }
+        int pair = slot - PRINTABLE;
+        return new String(new char[] {(char) (pair / PRINTABLE + 32), (char) (pair % PRINTABLE + 32)});
+    }
+
+    @Override
+    public long getUptimeMillis() {
+        return System.currentTimeMillis() - createdAt;
+    }
+
+    @Override
+    public long getMessagesIn() {
+        return total(inbound, false);
+    }
+
+    @Override
+    public long getBytesIn() {
+        return total(inbound, true);
+    }
+
+    @Override
+    public long getMessagesOut() {
+        return total(outbound, false);
+    }
+
+    @Override
+    public long getBytesOut() {
+        return total(outbound, true);
+    }
+
+    @Override
+    public Map<String, Long> getMessagesInByType() {
+        return byType(inbound, false);
+    }
+
+    @Override
+    public Map<String, Long> getBytesInByType() {
+        return byType(inbound, true);
+    }
+
+    @Override
+    public Map<String, Long> getMessagesOutByType() {
+        return byType(outbound, false);
+    }
+
+    @Override
+    public Map<String, Long> getBytesOutByType() {
+        return byType(outbound, true);
+    }
+
+    @Override
+    public long getParseErrors() {
+        return parseErrors.sum();
+    }
+
+    @Override
+    public long getFilteredMessages() {
+        return gauges.filteredMessages();
+    }
+
+    @Override
+    public FIXLatencyHistogram.Summary getParseLatency() {
+        return parseLatency.summarize();
+    }
+
+    @Override
+    public FIXLatencyHistogram.Summary getEncodeLatency() {
+        return encodeLatency.summarize();
+    }
+
+    @Override
+    public FIXLatencyHistogram.Summary getDispatchLatency() {
+        return dispatchLatency.summarize();
+    }
+
+    @Override
+    public FIXLatencyHistogram.Summary getHeartbeatLateness() {
+        return heartbeatLateness.summarize();
+    }
+
+    @Override
+    public int getSendQueueDepth() {
+        return gauges.sendQueueDepth();
+    }
+
+    @Override
+    public long getSendQueueDepthMax() {
+        return sendQueueDepthMax.get();
+    }
+
+    @Override
+    public int getDispatchPending() {
+        return gauges.dispatchPending();
+    }
+
+    @Override
+    public int getGapBufferDepth() {
+        return gauges.gapBufferDepth();
+    }
+
+    @Override
+    public long getGapsDetected() {
+        return gapsDetected.sum();
+    }
+
+    @Override
+    public long getResendRequestsSent() {
+        return resendRequestsSent.sum();
+    }
+
+    @Override
+    public long getResendRequestsReceived() {
+        return resendRequestsReceived.sum();
+    }
+
+    @Override
+    public long getMessagesResent() {
+        return messagesResent.sum();
+    }
+
+    @Override
+    public long getGapFillsSent() {
+        return gapFillsSent.sum();
+    }
+
+    private static long total(AtomicReferenceArray<TypeCounter> counters, boolean bytes) {
+        long total = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            TypeCounter counter = counters.get(slot);
+            if (counter != null) {
+                total += bytes ? counter.bytes.sum() : counter.messages.sum();
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, Long> byType(AtomicReferenceArray<TypeCounter> counters, boolean bytes) {
+        Map<String, Long> result = new TreeMap<>();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            TypeCounter counter = counters.get(slot);
+            if (counter != null) {
+                result.put(labelOf(slot), bytes ? counter.bytes.sum() : counter.messages.sum());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All metrics as one JSON document, with lifetime average rates per second
+     */
+    public String toJson() {
+        long uptime = getUptimeMillis();
+        long messagesIn = getMessagesIn();
+        long messagesOut = getMessagesOut();
+        long bytesIn = getBytesIn();
+        long bytesOut = getBytesOut();
+        StringBuilder json = new StringBuilder(1024).append('{');
+        field(json, "uptimeMillis", uptime);
+        json.append(",\"in\":{");
+        field(json, "messages", messagesIn);
+        json.append(',');
+        field(json, "bytes", bytesIn);
+        json.append(',');
+        field(json, "messagesPerSecond", perSecond(messagesIn, uptime));
+        json.append(',');
+        field(json, "bytesPerSecond", perSecond(bytesIn, uptime));
+        json.append(',');
+        field(json, "parseErrors", getParseErrors());
+        json.append(',');
+        field(json, "filtered", getFilteredMessages());
+        json.append(',');
+        byType(json, inbound);
+        json.append("},\"out\":{");
+        field(json, "messages", messagesOut);
+        json.append(',');
+        field(json, "bytes", bytesOut);
+        json.append(',');
+        field(json, "messagesPerSecond", perSecond(messagesOut, uptime));
+        json.append(',');
+        field(json, "bytesPerSecond", perSecond(bytesOut, uptime));
+        json.append(',');
+        byType(json, outbound);
+        json.append("},\"latencyNanos\":{");
+        histogram(json, "parse", getParseLatency());
+        json.append(',');
+        histogram(json, "encode", getEncodeLatency());
+        json.append(',');
+        histogram(json, "dispatch", getDispatchLatency());
+        json.append(',');
+        histogram(json, "heartbeatLateness", getHeartbeatLateness());
+        json.append("},\"queues\":{");
+        field(json, "sendQueueDepth", getSendQueueDepth());
+        json.append(',');
+        field(json, "sendQueueDepthMax", getSendQueueDepthMax());
+        json.append(',');
+        field(json, "dispatchPending", getDispatchPending());
+        json.append(',');
+        field(json, "gapBufferDepth", getGapBufferDepth());
+        json.append("},\"recovery\":{");
+        field(json, "gapsDetected", getGapsDetected());
+        json.append(',');
+        field(json, "resendRequestsSent", getResendRequestsSent());
+        json.append(',');
+        field(json, "resendRequestsReceived", getResendRequestsReceived());
+        json.append(',');
+        field(json, "messagesResent", getMessagesResent());
+        json.append(',');
+        field(json, "gapFillsSent", getGapFillsSent());
+        return json.append("}}").toString();
+    }
+
+    private static long perSecond(long count, long millis) {
+        return millis <= 0 ? 0 : count * 1000 / millis;
+    }
+
+    private static void field(StringBuilder json, String name, long value) {
+        json.append('"').append(name).append("\":").append(value);
+    }
+
+    private static void histogram(StringBuilder json, String name, FIXLatencyHistogram.Summary summary) {
+        json.append('"').append(name).append("\":{");
+        field(json, "count", summary.getCount());
+        json.append(',');
+        field(json, "mean", summary.getMean());
+        json.append(',');
+        field(json, "p50", summary.getP50());
+        json.append(',');
+        field(json, "p90", summary.getP90());
+        json.append(',');
+        field(json, "p99", summary.getP99());
+        json.append(',');
+        field(json, "p999", summary.getP999());
+        json.append(',');
+        field(json, "max", summary.getMax());
+        json.append('}');
+    }
+
+    private static void byType(StringBuilder json, AtomicReferenceArray<TypeCounter> counters) {
+        json.append("\"byType\":{");
+        boolean first = true;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            TypeCounter counter = counters.get(slot);
+            if (counter == null) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"');
+            for (char c : labelOf(slot).toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    json.append('\\');
+                }
+                json.append(c);
+            }
+            json.append("\":{");
+            field(json, "messages", counter.messages.sum());
+            json.append(',');
+            field(json, "bytes", counter.bytes.sum());
+            json.append('}');
+        }
+        json.append('}');
+    }
+
+    /**
+     * Register with the platform MBean server; failures are logged, as metrics must never break a connection
+     */
+    public synchronized void register(String name) {
+        try {
+            ObjectName candidate = new ObjectName(JMX_DOMAIN + ":type=SessionMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(candidate)) {
+                // A connection with the same id has not been invalidated yet; it keeps the name
+                LOGGER.warn("FIX session metrics MBean {} is already registered", candidate);
+                return;
+            }
+            server.registerMBean(this, candidate);
+            objectName = candidate;
+        } catch (JMException | RuntimeException e) {
+            LOGGER.warn("Could not register FIX session metrics MBean for {}", name, e);
+        }
+    }
+
+    /**
+     * Remove the MBean registered by {@link #register}, if any
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOGGER.debug("FIX session metrics MBean {} was already unregistered", objectName);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    /**
+     * Name the metrics are registered under, or null
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+}
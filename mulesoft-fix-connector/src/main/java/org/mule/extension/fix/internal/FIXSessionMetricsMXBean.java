@@ -0,0 +1,60 @@
+package org.mule.extension.fix.internal;
+
+import java.util.Map;
+
+/**
+ * JMX view of one session's hot-path metrics, registered as
+ * {@code org.mule.extension.fix:type=SessionMetrics,name="<connection id>"}.
+ * Counters are cumulative since the connection was created; rates are derived by the monitoring side.
+ * Latencies are in nanoseconds.
+ */
+public interface FIXSessionMetricsMXBean {
+
+    long getUptimeMillis();
+
+    long getMessagesIn();
+
+    long getBytesIn();
+
+    long getMessagesOut();
+
+    long getBytesOut();
+
+    Map<String, Long> getMessagesInByType();
+
+    Map<String, Long> getBytesInByType();
+
+    Map<String, Long> getMessagesOutByType();
+
+    Map<String, Long> getBytesOutByType();
+
+    long getParseErrors();
+
+    long getFilteredMessages();
+
+    FIXLatencyHistogram.Summary getParseLatency();
+
+    FIXLatencyHistogram.Summary getEncodeLatency();
+
+    FIXLatencyHistogram.Summary getDispatchLatency();
+
+    FIXLatencyHistogram.Summary getHeartbeatLateness();
+
+    int getSendQueueDepth();
+
+    long getSendQueueDepthMax();
+
+    int getDispatchPending();
+
+    int getGapBufferDepth();
+
+    long getGapsDetected();
+
+    long getResendRequestsSent();
+
+    long getResendRequestsReceived();
+
+    long getMessagesResent();
+
+    long getGapFillsSent();
+}
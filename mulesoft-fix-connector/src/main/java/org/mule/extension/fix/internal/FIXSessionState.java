@@ -3,10 +3,10 @@ package org.mule.extension.fix.internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.Instant;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages FIX session state including sequence numbers, session status, and timing.
@@ -16,6 +16,8 @@ public class FIXSessionState implements Serializable {
     
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(FIXSessionState.class);
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
     
     // Session identifiers
     private final String sessionId;
@@ -24,19 +26,25 @@ public class FIXSessionState implements Serializable {
     
     // Sequence numbers
     private volatile int incomingSeqNum;  // Next expected incoming sequence number
-    private volatile int outgoingSeqNum;  // Next outgoing sequence number
+    // Next outgoing sequence number; only advanced by the outbound sequencer's writer, so no lock is needed
+    private final AtomicInteger outgoingSeqNum = new AtomicInteger(1);
     
     // Session state
     private volatile SessionStatus status;
-    private volatile Instant lastMessageReceivedTime;
-    private volatile Instant lastMessageSentTime;
     private volatile Instant logonTime;
     
+    // Activity timestamps from System.nanoTime() (one clock read per message, no allocation);
+    // wall-clock times are derived from the creation baseline when requested
+    private final long baselineMillis = System.currentTimeMillis();
+    private final long baselineNanos = System.nanoTime();
+    private volatile long lastReceivedNanos = NEVER;
+    private volatile long lastSentNanos = NEVER;
+    
     // Heartbeat interval (in seconds)
     private volatile int heartbeatInterval;
     
-    // Out-of-order message buffer (for gap fill scenarios)
-    private final Map<Integer, String> messageBuffer;
+    // Out-of-order message buffer (for gap fill scenarios); owned by the reader thread
+    private transient volatile FIXGapBuffer gapBuffer;
     
     public enum SessionStatus {
         DISCONNECTED,
@@ -52,9 +60,8 @@ public class FIXSessionState implements Serializable {
         this.senderCompId = senderCompId;
         this.targetCompId = targetCompId;
         this.incomingSeqNum = 1;
-        this.outgoingSeqNum = 1;
         this.status = SessionStatus.DISCONNECTED;
-        this.messageBuffer = new ConcurrentHashMap<>();
+        // The gap buffer is created on first use; connected sessions get one with the configured limits
         this.heartbeatInterval = 30; // Default 30 seconds
     }
     
@@ -111,23 +118,38 @@ public class FIXSessionState implements Serializable {
     /**
      * Get next outgoing sequence number (and increment)
      */
-    public synchronized int getNextOutgoingSeqNum() {
-        return outgoingSeqNum++;
+    public int getNextOutgoingSeqNum() {
+        return outgoingSeqNum.getAndIncrement();
     }
     
     /**
      * Get current outgoing sequence number (without incrementing)
      */
-    public synchronized int getCurrentOutgoingSeqNum() {
-        return outgoingSeqNum;
+    public int getCurrentOutgoingSeqNum() {
+        return outgoingSeqNum.get();
     }
     
     /**
      * Set outgoing sequence number (used for resets)
      */
-    public synchronized void setOutgoingSeqNum(int seqNum) {
-        LOGGER.info("Resetting outgoing sequence number from {} to {}", outgoingSeqNum, seqNum);
-        this.outgoingSeqNum = seqNum;
+    public void setOutgoingSeqNum(int seqNum) {
+        LOGGER.info("Resetting outgoing sequence number from {} to {}", outgoingSeqNum.getAndSet(seqNum), seqNum);
+    }
+    
+    /**
+     * Get both sequence numbers packed into one long (incoming in the high 32 bits, outgoing in the low 32 bits)
+     */
+    public long getSequenceNumbers() {
+        return (long) incomingSeqNum << 32 | (outgoingSeqNum.get() & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Restore both sequence numbers from a value produced by {@link #getSequenceNumbers()}
+     */
+    public synchronized void restoreSequenceNumbers(long packed) {
+        this.incomingSeqNum = (int) (packed >>> 32);
+        this.outgoingSeqNum.set((int) packed);
+        LOGGER.info("Restored sequence numbers: incoming={}, outgoing={}", incomingSeqNum, outgoingSeqNum.get());
     }
     
     /**
@@ -136,8 +158,8 @@ public class FIXSessionState implements Serializable {
     public synchronized void resetSequenceNumbers() {
         LOGGER.info("Resetting all sequence numbers to 1");
         this.incomingSeqNum = 1;
-        this.outgoingSeqNum = 1;
-        this.messageBuffer.clear();
+        this.outgoingSeqNum.set(1);
+        clearMessageBuffer();
     }
     
     /**
@@ -151,7 +173,9 @@ public class FIXSessionState implements Serializable {
      * Set session status
      */
     public void setStatus(SessionStatus status) {
-        LOGGER.info("Session status changed: {} -> {}", this.status, status);
+        if (status != this.status) {
+            LOGGER.info("Session status changed: {} -> {}", this.status, status);
+        }
         this.status = status;
         if (status == SessionStatus.LOGGED_IN && logonTime == null) {
             this.logonTime = Instant.now();
@@ -169,28 +193,46 @@ public class FIXSessionState implements Serializable {
      * Update last message received time
      */
     public void updateLastMessageReceivedTime() {
-        this.lastMessageReceivedTime = Instant.now();
+        this.lastReceivedNanos = System.nanoTime();
     }
     
     /**
      * Update last message sent time
      */
     public void updateLastMessageSentTime() {
-        this.lastMessageSentTime = Instant.now();
+        this.lastSentNanos = System.nanoTime();
     }
     
     /**
      * Get last message received time
      */
     public Instant getLastMessageReceivedTime() {
-        return lastMessageReceivedTime;
+        return toInstant(lastReceivedNanos);
     }
     
     /**
      * Get last message sent time
      */
     public Instant getLastMessageSentTime() {
-        return lastMessageSentTime;
+        return toInstant(lastSentNanos);
+    }
+    
+    /**
+     * Get System.nanoTime() of the last received message (Long.MIN_VALUE if none)
+     */
+    public long getLastReceivedNanos() {
+        return lastReceivedNanos;
+    }
+    
+    /**
+     * Get System.nanoTime() of the last sent message (Long.MIN_VALUE if none)
+     */
+    public long getLastSentNanos() {
+        return lastSentNanos;
+    }
+    
+    private Instant toInstant(long nanos) {
+        return nanos == NEVER ? null : Instant.ofEpochMilli(baselineMillis + (nanos - baselineNanos) / 1_000_000L);
     }
     
     /**
@@ -219,77 +261,79 @@ public class FIXSessionState implements Serializable {
      * Check if heartbeat is needed (no message sent within heartbeat interval)
      */
     public boolean isHeartbeatNeeded() {
-        if (lastMessageSentTime == null) {
-            return false;
-        }
-        long secondsSinceLastSent = Instant.now().getEpochSecond() - lastMessageSentTime.getEpochSecond();
-        return secondsSinceLastSent >= heartbeatInterval;
+        long lastSent = lastSentNanos;
+        return lastSent != NEVER && System.nanoTime() - lastSent >= heartbeatInterval * NANOS_PER_SECOND;
     }
     
     /**
      * Check if test request should be sent (no message received within heartbeat interval + tolerance)
      */
     public boolean isTestRequestNeeded() {
-        if (lastMessageReceivedTime == null) {
-            return false;
-        }
-        long secondsSinceLastReceived = Instant.now().getEpochSecond() - lastMessageReceivedTime.getEpochSecond();
+        long lastReceived = lastReceivedNanos;
         // Send test request if no message received for 1.2x heartbeat interval
-        return secondsSinceLastReceived >= (heartbeatInterval * 1.2);
+        return lastReceived != NEVER && System.nanoTime() - lastReceived >= heartbeatInterval * NANOS_PER_SECOND * 6 / 5;
     }
     
     /**
      * Check if connection should be considered dead
      */
     public boolean isConnectionDead() {
-        if (lastMessageReceivedTime == null) {
-            return false;
-        }
-        long secondsSinceLastReceived = Instant.now().getEpochSecond() - lastMessageReceivedTime.getEpochSecond();
+        long lastReceived = lastReceivedNanos;
         // Consider dead if no message received for 2x heartbeat interval
-        return secondsSinceLastReceived >= (heartbeatInterval * 2);
+        return lastReceived != NEVER && System.nanoTime() - lastReceived >= heartbeatInterval * NANOS_PER_SECOND * 2;
     }
     
     /**
-     * Buffer an out-of-order message
+     * Get the buffer of out-of-order messages
      */
-    public void bufferMessage(int seqNum, String rawMessage) {
-        LOGGER.info("Buffering out-of-order message with seqNum: {}", seqNum);
-        messageBuffer.put(seqNum, rawMessage);
-    }
-    
-    /**
-     * Get buffered message by sequence number
-     */
-    public String getBufferedMessage(int seqNum) {
-        return messageBuffer.remove(seqNum);
+    public FIXGapBuffer getGapBuffer() {
+        FIXGapBuffer buffer = gapBuffer;
+        if (buffer == null) {
+            // Not serialized with the state
+            buffer = new FIXGapBuffer();
+            gapBuffer = buffer;
+        }
+        return buffer;
     }
     
     /**
-     * Check if message is buffered
+     * Replace the buffer of out-of-order messages (e.g. with configured limits, or null to release it until it is
+     * next needed), closing the previous one
      */
-    public boolean hasBufferedMessage(int seqNum) {
-        return messageBuffer.containsKey(seqNum);
+    public void setGapBuffer(FIXGapBuffer gapBuffer) {
+        FIXGapBuffer previous = this.gapBuffer;
+        this.gapBuffer = gapBuffer;
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close gap buffer of session {}", sessionId, e);
+            }
+        }
     }
     
     /**
      * Get count of buffered messages
      */
     public int getBufferedMessageCount() {
-        return messageBuffer.size();
+        FIXGapBuffer buffer = gapBuffer;
+        return buffer != null ? buffer.size() : 0;
     }
     
     /**
      * Clear message buffer
      */
     public void clearMessageBuffer() {
-        messageBuffer.clear();
+        FIXGapBuffer buffer = gapBuffer;
+        if (buffer != null) {
+            buffer.clear();
+        }
     }
     
     @Override
     public String toString() {
         return String.format("FIXSessionState{sessionId='%s', status=%s, inSeq=%d, outSeq=%d, heartbeat=%ds}",
-                sessionId, status, incomingSeqNum, outgoingSeqNum, heartbeatInterval);
+                sessionId, status, incomingSeqNum, outgoingSeqNum.get(), heartbeatInterval);
     }
 }
 
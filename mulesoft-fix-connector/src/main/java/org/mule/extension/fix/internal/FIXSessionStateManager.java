@@ -3,13 +3,14 @@ package org.mule.extension.fix.internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Manages persistence of FIX session state.
- * In a real MuleSoft environment, this would integrate with ObjectStore API.
- * For now, we use in-memory storage with the same interface pattern.
+ * Manages FIX session state.
+ * Live states are kept in memory; their sequence numbers are persisted through a FIXSessionStore
+ * (in-memory by default, or file / ObjectStore backed) so a session can resume after a reconnect or restart.
  */
 public class FIXSessionStateManager {
     
@@ -18,8 +19,30 @@ public class FIXSessionStateManager {
     // In-memory session state store (in production, this would be ObjectStore)
     private final Map<String, FIXSessionState> sessionStore;
     
+    // Persistent sequence numbers
+    private volatile FIXSessionStore persistentStore;
+    
     public FIXSessionStateManager() {
+        this(new FIXInMemorySessionStore());
+    }
+    
+    public FIXSessionStateManager(FIXSessionStore persistentStore) {
         this.sessionStore = new ConcurrentHashMap<>();
+        this.persistentStore = persistentStore;
+    }
+    
+    /**
+     * Set the store used to persist sequence numbers (set before the first session is created)
+     */
+    public void setPersistentStore(FIXSessionStore persistentStore) {
+        this.persistentStore = persistentStore;
+    }
+    
+    /**
+     * Get the store used to persist sequence numbers
+     */
+    public FIXSessionStore getPersistentStore() {
+        return persistentStore;
     }
     
     /**
@@ -30,7 +53,9 @@ public class FIXSessionStateManager {
         return sessionStore.computeIfAbsent(sessionId, 
             key -> {
                 LOGGER.info("Creating new session state for: {}", sessionId);
-                return new FIXSessionState(senderCompId, targetCompId);
+                FIXSessionState state = new FIXSessionState(senderCompId, targetCompId);
+                restore(state);
+                return state;
             });
     }
     
@@ -55,6 +80,21 @@ public class FIXSessionStateManager {
     public void saveSession(FIXSessionState state) {
         LOGGER.debug("Saving session state: {}", state.getSessionId());
         sessionStore.put(state.getSessionId(), state);
+        persistentStore.save(state);
+    }
+    
+    /**
+     * Start a batch of saves on the calling thread (see FIXSessionStore.beginBatch)
+     */
+    public void beginBatch() {
+        persistentStore.beginBatch();
+    }
+    
+    /**
+     * End the calling thread's batch of saves
+     */
+    public void endBatch() {
+        persistentStore.endBatch();
     }
     
     /**
@@ -63,6 +103,11 @@ public class FIXSessionStateManager {
     public void removeSession(String sessionId) {
         LOGGER.info("Removing session state: {}", sessionId);
         sessionStore.remove(sessionId);
+        try {
+            persistentStore.remove(sessionId);
+        } catch (IOException e) {
+            LOGGER.error("Failed to remove persisted state of session: {}", sessionId, e);
+        }
     }
     
     /**
@@ -80,6 +125,28 @@ public class FIXSessionStateManager {
         sessionStore.clear();
     }
     
+    /**
+     * Force pending sequence number updates to durable storage
+     */
+    public void sync() {
+        try {
+            persistentStore.sync();
+        } catch (IOException e) {
+            LOGGER.error("Failed to sync session store", e);
+        }
+    }
+    
+    /**
+     * Sync and release the persistent store
+     */
+    public void close() {
+        try {
+            persistentStore.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close session store", e);
+        }
+    }
+    
     /**
      * Get all session IDs
      */
@@ -87,6 +154,17 @@ public class FIXSessionStateManager {
         return sessionStore.keySet();
     }
     
+    private void restore(FIXSessionState state) {
+        try {
+            if (persistentStore.restore(state)) {
+                LOGGER.info("Resuming session {} at incoming={}, outgoing={}", state.getSessionId(),
+                    state.getIncomingSeqNum(), state.getCurrentOutgoingSeqNum());
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to restore session state: {}; starting at sequence 1", state.getSessionId(), e);
+        }
+    }
+    
     /**
      * Generate session ID from comp IDs
      */
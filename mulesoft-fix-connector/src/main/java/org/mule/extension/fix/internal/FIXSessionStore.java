@@ -0,0 +1,55 @@
+package org.mule.extension.fix.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * SPI for persisting session sequence numbers so a restart can resume a session instead of resetting it.
+ * {@link #save(FIXSessionState)} is called on the message path (for every inbound message and
+ * every outbound write batch), so implementations must be cheap and should defer expensive
+ * durability work according to their sync policy.
+ * The socket reader brackets the frames of each read with {@link #beginBatch()} and {@link #endBatch()}.
+ */
+public interface FIXSessionStore extends Closeable {
+
+    /**
+     * Load the persisted sequence numbers of a session into its state
+     *
+     * @return Whether anything was restored
+     */
+    boolean restore(FIXSessionState state) throws IOException;
+
+    /**
+     * Persist the current sequence numbers of a session
+     */
+    void save(FIXSessionState state);
+
+    /**
+     * Start a batch of saves on the calling thread. A store that makes callers wait for durability
+     * may let the saves of a batch return at once and wait for all of them in {@link #endBatch()}.
+     */
+    default void beginBatch() {
+    }
+
+    /**
+     * End the calling thread's batch, returning once its saves are as durable as a single save would be
+     */
+    default void endBatch() {
+    }
+
+    /**
+     * Force every pending update to durable storage
+     */
+    void sync() throws IOException;
+
+    /**
+     * Drop the persisted state of a session
+     */
+    void remove(String sessionId) throws IOException;
+
+    /**
+     * Sync and release resources
+     */
+    @Override
+    void close() throws IOException;
+}
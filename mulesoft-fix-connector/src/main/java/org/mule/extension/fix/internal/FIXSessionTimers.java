@@ -0,0 +1,155 @@
+package org.mule.extension.fix.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeat, TestRequest and dead-connection deadlines of one session, armed on a shared FIXTimerWheel.
+ * Deadlines are measured from the session's last send / receive. Instead of re-arming a timer on
+ * every message, each timer re-checks the activity timestamps when it fires and re-arms itself for
+ * the remaining time, so traffic costs nothing here while idle sessions are served to the millisecond.
+ */
+final class FIXSessionTimers {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // With a heartbeat interval of 0 nothing is sent; the interval is re-checked as Logon may change it
+    private static final long DISABLED_RECHECK_NANOS = NANOS_PER_SECOND;
+
+    /**
+     * Actions taken when a deadline passes; run on the timer's task threads
+     */
+    interface Actions {
+        /**
+         * @param lateNanos How long after the heartbeat fell due the timer fired
+         */
+        void sendHeartbeat(FIXSessionState session, long lateNanos);
+
+        void sendTestRequest(FIXSessionState session);
+
+        void connectionDead(FIXSessionState session);
+    }
+
+    private final FIXTimerWheel wheel;
+    private final FIXSessionState session;
+    private final Actions actions;
+    private volatile boolean running;
+    private volatile FIXTimerWheel.Timeout sendTimeout;
+    private volatile FIXTimerWheel.Timeout receiveTimeout;
+    private long armedAt;
+    // lastReceivedNanos at the time the outstanding TestRequest was sent
+    private long testRequestFor = Long.MIN_VALUE;
+
+    FIXSessionTimers(FIXTimerWheel wheel, FIXSessionState session, Actions actions) {
+        this.wheel = wheel;
+        this.session = session;
+        this.actions = actions;
+    }
+
+    /**
+     * Arm both timers
+     */
+    synchronized void start() {
+        running = true;
+        armedAt = System.nanoTime();
+        long interval = intervalNanos();
+        rearmSend(interval > 0 ? interval : DISABLED_RECHECK_NANOS);
+        rearmReceive(interval > 0 ? interval * 6 / 5 : DISABLED_RECHECK_NANOS);
+    }
+
+    /**
+     * Cancel both timers
+     *
+     * @return Whether this call stopped them (false if they were not running)
+     */
+    synchronized boolean stop() {
+        if (!running) {
+            return false;
+        }
+        running = false;
+        cancel(sendTimeout);
+        cancel(receiveTimeout);
+        return true;
+    }
+
+    private void onSendDeadline() {
+        if (!running) {
+            return;
+        }
+        long interval = intervalNanos();
+        if (interval <= 0) {
+            rearmSend(DISABLED_RECHECK_NANOS);
+            return;
+        }
+        long idle = System.nanoTime() - since(session.getLastSentNanos());
+        long next = interval - idle;
+        if (next <= 0) {
+            if (isLoggedOn()) {
+                actions.sendHeartbeat(session, -next);
+            }
+            next = interval;
+        }
+        rearmSend(next);
+    }
+
+    private void onReceiveDeadline() {
+        if (!running) {
+            return;
+        }
+        long interval = intervalNanos();
+        if (interval <= 0) {
+            rearmReceive(DISABLED_RECHECK_NANOS);
+            return;
+        }
+        long lastReceived = session.getLastReceivedNanos();
+        long idle = System.nanoTime() - since(lastReceived);
+        long testRequestAt = interval * 6 / 5;
+        long deadAt = interval * 2;
+        long next;
+        if (idle >= deadAt && isLoggedOn()) {
+            // Not re-armed; the disconnect stops the send timer and releases the wheel through stop()
+            actions.connectionDead(session);
+            return;
+        } else if (idle >= testRequestAt) {
+            if (isLoggedOn() && testRequestFor != lastReceived) {
+                testRequestFor = lastReceived;
+                actions.sendTestRequest(session);
+            }
+            next = deadAt - idle;
+        } else {
+            next = testRequestAt - idle;
+        }
+        // Past every deadline but not logged on (yet): check again an interval later
+        rearmReceive(next > 0 ? next : interval);
+    }
+
+    private void rearmSend(long delayNanos) {
+        if (running) {
+            sendTimeout = wheel.schedule(this::onSendDeadline, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void rearmReceive(long delayNanos) {
+        if (running) {
+            receiveTimeout = wheel.schedule(this::onReceiveDeadline, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long since(long activityNanos) {
+        // No activity yet: measure from when the timers were armed
+        return activityNanos == Long.MIN_VALUE ? armedAt : activityNanos;
+    }
+
+    private long intervalNanos() {
+        return session.getHeartbeatInterval() * NANOS_PER_SECOND;
+    }
+
+    private boolean isLoggedOn() {
+        FIXSessionState.SessionStatus status = session.getStatus();
+        return status == FIXSessionState.SessionStatus.LOGGED_IN || status == FIXSessionState.SessionStatus.AWAITING_RESEND;
+    }
+
+    private static void cancel(FIXTimerWheel.Timeout timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.mule.extension.fix.internal;
+
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides, per update, whether a session store should force its data to durable storage.
+ * Not thread-safe; callers hold the lock of the entry being updated.
+ * Updates only trigger a sync when they arrive, so stores also run a {@link #startFlushTimer flush timer}
+ * that syncs whatever the last update of a burst left pending.
+ */
+final class FIXSyncSchedule {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXSyncSchedule.class);
+
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final SessionStoreSyncPolicy policy;
+    private final int batchSize;
+    private final long intervalNanos;
+
+    private int unsynced;
+    private long lastSyncNanos = System.nanoTime();
+
+    FIXSyncSchedule(SessionStoreSyncPolicy policy, int batchSize, long intervalMillis) {
+        this.policy = policy;
+        this.batchSize = Math.max(1, batchSize);
+        this.intervalNanos = intervalMillis * 1_000_000L;
+    }
+
+    /**
+     * Start a daemon timer that calls {@code flush} every interval, so a pending update is synced at most
+     * one interval after it was made even if no further update arrives
+     *
+     * @return The timer (shut it down on close), or null for {@link SessionStoreSyncPolicy#EVERY_MESSAGE}
+     */
+    static ScheduledExecutorService startFlushTimer(SessionStoreSyncPolicy policy, long intervalMillis,
+                                                    Runnable flush) {
+        if (policy == SessionStoreSyncPolicy.EVERY_MESSAGE) {
+            return null;
+        }
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fix-session-store-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, intervalMillis);
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                flush.run();
+            } catch (RuntimeException e) {
+                // An escaping exception would cancel the timer for good
+                LOGGER.error("Failed to sync session store", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        return timer;
+    }
+
+    /**
+     * Stop a timer started by {@link #startFlushTimer}, waiting for a flush in progress
+     */
+    static void stopFlushTimer(ScheduledExecutorService timer) {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdown();
+        try {
+            timer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Record an update
+     *
+     * @return Whether the caller should sync now
+     */
+    boolean onUpdate() {
+        unsynced++;
+        switch (policy) {
+            case EVERY_MESSAGE:
+                return true;
+            case BATCHED:
+                return unsynced >= batchSize;
+            default:
+                return System.nanoTime() - lastSyncNanos >= intervalNanos;
+        }
+    }
+
+    /**
+     * Whether there are updates that were not synced yet
+     */
+    boolean isDirty() {
+        return unsynced > 0;
+    }
+
+    /**
+     * Record a completed sync
+     */
+    void synced() {
+        unsynced = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+}
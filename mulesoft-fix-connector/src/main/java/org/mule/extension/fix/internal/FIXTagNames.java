@@ -0,0 +1,112 @@
+package org.mule.extension.fix.internal;
+
+/**
+ * Built-in dictionary of common FIX 4.4 field names, used to label JSON output.
+ * Tags that are not listed keep their number.
+ */
+final class FIXTagNames {
+
+    private static final int MAX_TAG = 1000;
+    private static final String[] NAMES = new String[MAX_TAG];
+
+    static {
+        name(1, "Account");
+        name(6, "AvgPx");
+        name(7, "BeginSeqNo");
+        name(8, "BeginString");
+        name(9, "BodyLength");
+        name(10, "CheckSum");
+        name(11, "ClOrdID");
+        name(14, "CumQty");
+        name(15, "Currency");
+        name(16, "EndSeqNo");
+        name(17, "ExecID");
+        name(18, "ExecInst");
+        name(21, "HandlInst");
+        name(22, "SecurityIDSource");
+        name(31, "LastPx");
+        name(32, "LastQty");
+        name(34, "MsgSeqNum");
+        name(35, "MsgType");
+        name(36, "NewSeqNo");
+        name(37, "OrderID");
+        name(38, "OrderQty");
+        name(39, "OrdStatus");
+        name(40, "OrdType");
+        name(41, "OrigClOrdID");
+        name(43, "PossDupFlag");
+        name(44, "Price");
+        name(45, "RefSeqNum");
+        name(48, "SecurityID");
+        name(49, "SenderCompID");
+        name(50, "SenderSubID");
+        name(52, "SendingTime");
+        name(54, "Side");
+        name(55, "Symbol");
+        name(56, "TargetCompID");
+        name(57, "TargetSubID");
+        name(58, "Text");
+        name(59, "TimeInForce");
+        name(60, "TransactTime");
+        name(63, "SettlType");
+        name(64, "SettlDate");
+        name(75, "TradeDate");
+        name(97, "PossResend");
+        name(98, "EncryptMethod");
+        name(99, "StopPx");
+        name(100, "ExDestination");
+        name(102, "CxlRejReason");
+        name(103, "OrdRejReason");
+        name(108, "HeartBtInt");
+        name(112, "TestReqID");
+        name(115, "OnBehalfOfCompID");
+        name(117, "QuoteID");
+        name(122, "OrigSendingTime");
+        name(123, "GapFillFlag");
+        name(128, "DeliverToCompID");
+        name(131, "QuoteReqID");
+        name(132, "BidPx");
+        name(133, "OfferPx");
+        name(134, "BidSize");
+        name(135, "OfferSize");
+        name(141, "ResetSeqNumFlag");
+        name(146, "NoRelatedSym");
+        name(150, "ExecType");
+        name(151, "LeavesQty");
+        name(167, "SecurityType");
+        name(207, "SecurityExchange");
+        name(262, "MDReqID");
+        name(263, "SubscriptionRequestType");
+        name(264, "MarketDepth");
+        name(267, "NoMDEntryTypes");
+        name(268, "NoMDEntries");
+        name(269, "MDEntryType");
+        name(270, "MDEntryPx");
+        name(271, "MDEntrySize");
+        name(279, "MDUpdateAction");
+        name(371, "RefTagID");
+        name(372, "RefMsgType");
+        name(373, "SessionRejectReason");
+        name(434, "CxlRejResponseTo");
+        name(453, "NoPartyIDs");
+        name(448, "PartyID");
+        name(447, "PartyIDSource");
+        name(452, "PartyRole");
+        name(553, "Username");
+        name(554, "Password");
+    }
+
+    private FIXTagNames() {
+    }
+
+    private static void name(int tag, String name) {
+        NAMES[tag] = name;
+    }
+
+    /**
+     * Get the field name of a tag, or null if it is not in the dictionary
+     */
+    static String nameOf(int tag) {
+        return tag >= 0 && tag < MAX_TAG ? NAMES[tag] : null;
+    }
+}
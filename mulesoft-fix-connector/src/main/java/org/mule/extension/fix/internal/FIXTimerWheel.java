@@ -0,0 +1,298 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel shared by every session in the JVM.
+ * One worker thread advances the wheel a tick at a time; scheduling and cancelling are lock-free
+ * (new timeouts are queued and moved into their bucket by the worker), and a timeout costs O(1)
+ * to arm and to expire. Expired tasks run on a small cached pool so a task that blocks (e.g. a
+ * send waiting on a slow socket) never delays the deadlines of other sessions.
+ * The worker parks indefinitely while nothing is scheduled. Sessions hold the shared wheel through
+ * {@link #acquireShared()} / {@link #releaseShared(FIXTimerWheel)}; its threads stop when the last one releases it.
+ */
+public final class FIXTimerWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXTimerWheel.class);
+
+    private static final long DEFAULT_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    private static FIXTimerWheel shared;
+    private static int sharedUsers;
+
+    /**
+     * Get the JVM-wide timer (millisecond ticks), started if no session holds it.
+     * Every call must be matched by one {@link #releaseShared(FIXTimerWheel)}.
+     */
+    public static synchronized FIXTimerWheel acquireShared() {
+        if (shared == null) {
+            shared = new FIXTimerWheel(DEFAULT_TICK_NANOS, DEFAULT_WHEEL_SIZE, "fix-timer");
+        }
+        sharedUsers++;
+        return shared;
+    }
+
+    /**
+     * Release a wheel obtained from {@link #acquireShared()}; the last release stops its threads
+     */
+    public static synchronized void releaseShared(FIXTimerWheel wheel) {
+        if (wheel != shared || --sharedUsers > 0) {
+            return;
+        }
+        shared = null;
+        wheel.close();
+    }
+
+    /**
+     * Number of {@link #acquireShared()} calls not released yet
+     */
+    public static synchronized int getSharedUsers() {
+        return sharedUsers;
+    }
+
+    /**
+     * Handle of a scheduled task
+     */
+    public static final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final FIXTimerWheel wheel;
+        private final Runnable task;
+        private final long deadline;  // Nanos relative to the wheel's start
+        private volatile int state = INIT;
+
+        // Owned by the worker thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(FIXTimerWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task if it has not run yet
+         *
+         * @return Whether this call cancelled it
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, INIT, CANCELLED)) {
+                return false;
+            }
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    private static final class Bucket {
+        Timeout head;
+        Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+    }
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final ExecutorService taskExecutor;
+    private final Thread worker;
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private long tick;
+
+    FIXTimerWheel(long tickNanos, int wheelSize, String threadName) {
+        this.tickNanos = tickNanos;
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        AtomicInteger taskThreads = new AtomicInteger();
+        this.taskExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-task-" + taskThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Run a task once after the given delay
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.add(timeout);
+        scheduled.incrementAndGet();
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * Stop the worker; tasks still scheduled never run
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(worker);
+        taskExecutor.shutdown();
+    }
+
+    /**
+     * Number of tasks scheduled and not yet run or cancelled
+     */
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+
+    private void run() {
+        while (true) {
+            waitForNextTick();
+            if (closed) {
+                return;
+            }
+            removeCancelled();
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void waitForNextTick() {
+        if (scheduled.get() == 0) {
+            idle = true;
+            while (scheduled.get() == 0 && !closed) {
+                LockSupport.park(this);
+            }
+            idle = false;
+            // Nothing was armed while idle, so the wheel can jump straight to the current tick
+            tick = (System.nanoTime() - startTime) / tickNanos;
+        }
+        long deadline = tickNanos * (tick + 1);
+        long remaining;
+        while ((remaining = deadline - (System.nanoTime() - startTime)) > 0 && !closed) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state == Timeout.CANCELLED) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // A deadline already in the past fires on the current tick
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            scheduled.decrementAndGet();
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            if (timeout.state == Timeout.CANCELLED) {
+                // Counted when its cancellation is processed
+                timeout = bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                Timeout next = bucket.remove(timeout);
+                if (Timeout.STATE.compareAndSet(timeout, Timeout.INIT, Timeout.EXPIRED)) {
+                    scheduled.decrementAndGet();
+                    execute(timeout.task);
+                }
+                timeout = next;
+            } else {
+                timeout.remainingRounds--;
+                timeout = timeout.next;
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Timer task failed", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to run timer task", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.mule.extension.fix.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * Byte transport under a FIX session, so the session logic does not depend on how sockets are driven.
+ * Frames of one connection are always delivered by a single thread at a time, in order.
+ */
+public interface FIXTransport extends Closeable {
+
+    /**
+     * Receives decoded frames and the end of the connection
+     */
+    interface Listener {
+
+        /**
+         * A complete frame was received. The slice is only valid for the duration of the call.
+         */
+        void onFrame(byte[] buffer, int offset, int length);
+
+        /**
+         * Every frame decoded from the last read has been delivered
+         */
+        default void onBatchEnd() {
+        }
+
+        /**
+         * The connection ended
+         *
+         * @param cause Read failure, or null if the peer closed the connection
+         */
+        void onDisconnected(IOException cause);
+    }
+
+    /**
+     * Open the connection (blocking until it is established)
+     */
+    void connect(InetSocketAddress address) throws IOException;
+
+    /**
+     * Start delivering received frames to the listener
+     */
+    void start(Listener listener);
+
+    /**
+     * Write every remaining byte of frames [0, count), blocking until done
+     */
+    void write(ByteBuffer[] frames, int count) throws IOException;
+
+    /**
+     * Stop reading from the socket until {@link #resumeReads()}; frames already read are still delivered.
+     * Unread data backs up in the socket buffers and, through TCP flow control, at the sender.
+     */
+    void pauseReads();
+
+    /**
+     * Start reading again after {@link #pauseReads()}
+     */
+    void resumeReads();
+
+    /**
+     * Whether the connection is open
+     */
+    boolean isOpen();
+}
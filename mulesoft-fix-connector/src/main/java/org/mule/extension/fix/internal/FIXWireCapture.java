@@ -0,0 +1,242 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary capture of every frame a session sends and receives, for offline analysis and replay; captures are
+ * read back with {@link #read(Path, RecordHandler)}. Frames are appended to memory-mapped capture files, so capturing is a copy
+ * with no system call on the send / receive path; a file is trimmed to its content and a new one started
+ * when the next frame does not fit.
+ * <p>
+ * A capture file starts with the 8-byte magic {@code FIXCAP01} followed by records of
+ * {@code [int length][byte direction][long timestamp][frame bytes]} (big-endian), where direction is
+ * {@link #INBOUND} or {@link #OUTBOUND} and timestamp is nanoseconds since the epoch. A zero length ends
+ * the file. Files are named {@code capture-00000001.fixcap} and numbering continues across restarts.
+ */
+public final class FIXWireCapture implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXWireCapture.class);
+
+    public static final byte INBOUND = 'I';
+    public static final byte OUTBOUND = 'O';
+    public static final long DEFAULT_FILE_SIZE = 256L * 1024 * 1024;
+
+    static final byte[] MAGIC = {'F', 'I', 'X', 'C', 'A', 'P', '0', '1'};
+    static final int RECORD_HEADER = 13;
+    static final String FILE_PREFIX = "capture-";
+    static final String FILE_SUFFIX = ".fixcap";
+
+    /**
+     * Receives captured frames when a capture is read back
+     */
+    public interface RecordHandler {
+        void onRecord(byte direction, long timestamp, byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    private final Path directory;
+    private final int fileSize;
+    // Wall-clock anchor for the monotonic timestamps taken on the hot path
+    private final long epochNanosAtStart;
+    private final long nanoTimeAtStart;
+    private int nextFileNumber;
+    private Path file;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int writeOffset;
+    private long captured;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Capture into the given directory, after any capture files already there
+     *
+     * @param fileSize Size at which a capture file is rotated (at most 2 GB)
+     */
+    public FIXWireCapture(Path directory, long fileSize) throws IOException {
+        this.directory = directory;
+        this.fileSize = (int) Math.min(Integer.MAX_VALUE, Math.max(MAGIC.length + RECORD_HEADER + 1, fileSize));
+        Files.createDirectories(directory);
+        for (Path existing : list(directory)) {
+            nextFileNumber = Math.max(nextFileNumber, fileNumber(existing));
+        }
+        nextFileNumber++;
+        Instant now = Instant.now();
+        this.nanoTimeAtStart = System.nanoTime();
+        this.epochNanosAtStart = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        LOGGER.info("Capturing FIX frames to {}", directory);
+    }
+
+    /**
+     * Capture a frame held in a byte array slice
+     */
+    public synchronized void capture(byte direction, byte[] buffer, int offset, int length) {
+        if (reserve(direction, length)) {
+            mapped.put(writeOffset + RECORD_HEADER, buffer, offset, length);
+            commit(length);
+        }
+    }
+
+    /**
+     * Capture the first {@code length} bytes of a frame buffer (its position is left untouched)
+     */
+    public synchronized void capture(byte direction, ByteBuffer buffer, int length) {
+        if (reserve(direction, length)) {
+            mapped.put(writeOffset + RECORD_HEADER, buffer, 0, length);
+            commit(length);
+        }
+    }
+
+    /**
+     * Number of frames captured since this capture was opened
+     */
+    public synchronized long getCaptured() {
+        return captured;
+    }
+
+    /**
+     * Trim the current file to its content and close it
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        finishFile();
+    }
+
+    private boolean reserve(byte direction, int length) {
+        long timestamp = epochNanosAtStart + (System.nanoTime() - nanoTimeAtStart);
+        if (failed || closed) {
+            return false;
+        }
+        try {
+            if (MAGIC.length + RECORD_HEADER + length > fileSize) {
+                throw new IOException("Frame of " + length + " bytes exceeds the capture file size");
+            }
+            if (mapped == null || writeOffset + RECORD_HEADER + length > fileSize) {
+                finishFile();
+                startFile();
+            }
+        } catch (IOException e) {
+            // A broken capture must never break the session; stop capturing instead
+            LOGGER.error("FIX wire capture to {} failed; no further frames are captured", directory, e);
+            failed = true;
+            return false;
+        }
+        mapped.put(writeOffset + 4, direction);
+        mapped.putLong(writeOffset + 5, timestamp);
+        return true;
+    }
+
+    private void commit(int length) {
+        // Length last: a zero length marks the end of the file for readers
+        mapped.putInt(writeOffset, length);
+        writeOffset += RECORD_HEADER + length;
+        captured++;
+    }
+
+    private void startFile() throws IOException {
+        file = directory.resolve(String.format("%s%08d%s", FILE_PREFIX, nextFileNumber++, FILE_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        mapped.put(0, MAGIC);
+        writeOffset = MAGIC.length;
+    }
+
+    private void finishFile() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            mapped.force();
+            // Leave a compact file; platforms that cannot truncate a mapped file keep the zero padding
+            try {
+                channel.truncate(writeOffset);
+            } catch (IOException e) {
+                LOGGER.debug("Could not trim capture file {}", file, e);
+            }
+        } finally {
+            channel.close();
+            channel = null;
+            mapped = null;
+        }
+    }
+
+    /**
+     * Read a capture file, or every capture file of a directory in order
+     *
+     * @return Number of frames read
+     */
+    public static long read(Path path, RecordHandler handler) throws IOException {
+        long records = 0;
+        for (Path capture : Files.isDirectory(path) ? list(path) : List.of(path)) {
+            records += readFile(capture, handler);
+        }
+        return records;
+    }
+
+    private static long readFile(Path capture, RecordHandler handler) throws IOException {
+        try (FileChannel in = FileChannel.open(capture, StandardOpenOption.READ)) {
+            long size = in.size();
+            MappedByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            byte[] magic = new byte[MAGIC.length];
+            if (size >= MAGIC.length) {
+                data.get(0, magic);
+            }
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(capture + " is not a FIX capture file");
+            }
+            long records = 0;
+            byte[] frame = new byte[512];
+            int offset = MAGIC.length;
+            while (offset + RECORD_HEADER <= size) {
+                int length = data.getInt(offset);
+                if (length <= 0 || offset + RECORD_HEADER + (long) length > size) {
+                    break;
+                }
+                if (frame.length < length) {
+                    frame = new byte[length];
+                }
+                data.get(offset + RECORD_HEADER, frame, 0, length);
+                handler.onRecord(data.get(offset + 4), data.getLong(offset + 5), frame, 0, length);
+                records++;
+                offset += RECORD_HEADER + length;
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Capture files in the directory, oldest first
+     */
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static int fileNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.mule.extension.fix.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Wire log of one session: every frame sent and received, with a nanosecond timestamp and its direction.
+ * The reader and writer threads only copy the raw bytes into a preallocated ring and return; a background
+ * thread turns them into lines (SOH shown as '|') and hands them to the sink, by default the
+ * {@code org.mule.extension.fix.wire} logger at INFO. Recording never blocks: when the ring is full the frame
+ * is dropped from the log and counted, and the count is reported in the log once the formatter catches up.
+ */
+public final class FIXWireLog implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FIXWireLog.class);
+    private static final Logger WIRE_LOGGER = LoggerFactory.getLogger("org.mule.extension.fix.wire");
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int INITIAL_RECORD_SIZE = 256;
+    // Longer frames are logged truncated; the line still shows their full length
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final byte SOH = 0x01;
+
+    private static final class Slot {
+        byte[] data = new byte[INITIAL_RECORD_SIZE];
+        int length;
+        int frameLength;
+        long timestamp;
+        boolean inbound;
+        long position;
+        volatile long published = -1;
+    }
+
+    private final String name;
+    private final Consumer<String> sink;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread formatter;
+    // Wall-clock anchor for the monotonic timestamps taken on the hot path
+    private final long epochNanosAtStart;
+    private final long nanoTimeAtStart;
+    private volatile long consumed;
+    private volatile boolean running = true;
+    // Producers unpark the formatter only while it is parked with nothing to format
+    private volatile boolean formatterParked;
+    private long droppedReported;
+
+    /**
+     * Log to the {@code org.mule.extension.fix.wire} logger
+     *
+     * @param name Session name shown on every line and used for the thread name
+     */
+    public FIXWireLog(String name) {
+        this(name, DEFAULT_CAPACITY, WIRE_LOGGER::info);
+        if (!WIRE_LOGGER.isInfoEnabled()) {
+            LOGGER.warn("FIX wire logging is on but logger org.mule.extension.fix.wire is not enabled at INFO");
+        }
+    }
+
+    /**
+     * @param name Session name shown on every line and used for the thread name
+     * @param capacity Frames that can wait for formatting, rounded up to a power of two
+     * @param sink Receives the formatted lines in order, on the formatter thread
+     */
+    public FIXWireLog(String name, int capacity, Consumer<String> sink) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.name = name;
+        this.sink = sink;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        Instant now = Instant.now();
+        this.nanoTimeAtStart = System.nanoTime();
+        this.epochNanosAtStart = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.formatter = new Thread(this::runFormatter, "fix-wirelog-" + name);
+        this.formatter.setDaemon(true);
+        this.formatter.start();
+    }
+
+    /**
+     * Record a frame held in a byte array slice
+     */
+    public void record(boolean inbound, byte[] buffer, int offset, int length) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        int copied = prepare(slot, inbound, length);
+        System.arraycopy(buffer, offset, slot.data, 0, copied);
+        publish(slot);
+    }
+
+    /**
+     * Record the first {@code length} bytes of a frame buffer (its position is left untouched)
+     */
+    public void record(boolean inbound, ByteBuffer buffer, int length) {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+        int copied = prepare(slot, inbound, length);
+        buffer.get(0, slot.data, 0, copied);
+        publish(slot);
+    }
+
+    /**
+     * Frames left out of the log because the formatter fell behind
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Format whatever is still queued, then stop the formatter thread
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(formatter);
+        try {
+            formatter.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Slot claim() {
+        while (true) {
+            long position = claimed.get();
+            if (!running) {
+                return null;
+            }
+            if (position - consumed >= slots.length) {
+                dropped.increment();
+                return null;
+            }
+            if (claimed.compareAndSet(position, position + 1)) {
+                Slot slot = slots[(int) (position & mask)];
+                slot.position = position;
+                return slot;
+            }
+        }
+    }
+
+    private int prepare(Slot slot, boolean inbound, int length) {
+        int copied = Math.min(length, MAX_RECORD_SIZE);
+        if (slot.data.length < copied) {
+            slot.data = new byte[Math.min(MAX_RECORD_SIZE, Math.max(copied, slot.data.length * 2))];
+        }
+        slot.timestamp = System.nanoTime();
+        slot.inbound = inbound;
+        slot.frameLength = length;
+        slot.length = copied;
+        return copied;
+    }
+
+    private void publish(Slot slot) {
+        slot.published = slot.position;
+        if (formatterParked) {
+            LockSupport.unpark(formatter);
+        }
+    }
+
+    private void runFormatter() {
+        StringBuilder line = new StringBuilder(512);
+        long position = consumed;
+        while (running || position < claimed.get()) {
+            Slot slot = slots[(int) (position & mask)];
+            if (slot.published == position) {
+                emit(line, slot);
+                consumed = ++position;
+            } else if (position < claimed.get()) {
+                // Claimed but still being copied by its producer
+                Thread.onSpinWait();
+            } else {
+                idle(position);
+            }
+        }
+        reportDropped();
+    }
+
+    /**
+     * Report what was dropped while the formatter was behind, then park until the next frame is published
+     */
+    private void idle(long position) {
+        reportDropped();
+        formatterParked = true;
+        // Re-check after announcing the park so a concurrent publish cannot be missed
+        if (running && slots[(int) (position & mask)].published != position) {
+            LockSupport.park(this);
+        }
+        formatterParked = false;
+    }
+
+    private void emit(StringBuilder line, Slot slot) {
+        line.setLength(0);
+        line.append(Instant.ofEpochSecond(0, epochNanosAtStart + (slot.timestamp - nanoTimeAtStart)))
+            .append(' ').append(name).append(slot.inbound ? " IN  " : " OUT ");
+        byte[] data = slot.data;
+        for (int i = 0; i < slot.length; i++) {
+            byte b = data[i];
+            line.append(b == SOH ? '|' : (char) (b & 0xFF));
+        }
+        if (slot.length < slot.frameLength) {
+            line.append("... (").append(slot.frameLength).append(" bytes)");
+        }
+        try {
+            sink.accept(line.toString());
+        } catch (RuntimeException e) {
+            LOGGER.error("FIX wire log sink failed", e);
+        }
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total != droppedReported) {
+            sink.accept(name + " wire log fell behind; " + (total - droppedReported) + " frames not logged");
+            droppedReported = total;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.DispatchMode;
+import org.mule.extension.fix.internal.FIXDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for ordered, non-blocking dispatch of handler callbacks
+ */
+public class FIXDispatcherTestCase {
+
+    private void assertKeepsOrder(DispatchMode mode) throws Exception {
+        FIXDispatcher dispatcher = new FIXDispatcher(mode, 100, "ORDER");
+        int count = 50000;
+        List<Integer> seen = new ArrayList<>(count);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            int seq = i;
+            dispatcher.execute(() -> {
+                if (concurrent.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                seen.add(seq);
+                concurrent.decrementAndGet();
+                if (seq == count - 1) {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        assertEquals(count, seen.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, seen.get(i).intValue());
+        }
+        dispatcher.close();
+    }
+
+    @Test
+    public void testVirtualThreadModeKeepsOrder() throws Exception {
+        assertKeepsOrder(DispatchMode.VIRTUAL_THREAD);
+    }
+
+    @Test
+    public void testExecutorModeKeepsOrder() throws Exception {
+        assertKeepsOrder(DispatchMode.EXECUTOR);
+    }
+
+    @Test
+    public void testSlowHandlerNeverBlocksSubmitter() throws Exception {
+        FIXDispatcher dispatcher = new FIXDispatcher(DispatchMode.EXECUTOR, 10, "SLOW");
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            dispatcher.execute(() -> { });
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1001, dispatcher.getPending());
+        assertTrue(dispatcher.isSaturated());
+        assertEquals(1, dispatcher.getSaturations());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getPending());
+        assertEquals(1001, dispatcher.getDispatched());
+        assertEquals(1001, dispatcher.getHighWaterMark());
+        assertFalse(dispatcher.isSaturated());
+        dispatcher.close();
+    }
+
+    @Test
+    public void testSaturationPausesReadsUntilHalfDrained() throws Exception {
+        FIXDispatcher dispatcher = new FIXDispatcher(DispatchMode.EXECUTOR, 10, "PAUSE");
+        List<String> calls = new CopyOnWriteArrayList<>();
+        dispatcher.setReadControl(new FIXDispatcher.ReadControl() {
+            @Override
+            public void pauseReads() {
+                calls.add("pause");
+            }
+
+            @Override
+            public void resumeReads() {
+                calls.add("resume");
+            }
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            dispatcher.execute(() -> { });
+        }
+        assertTrue(dispatcher.isReadsPaused());
+        assertEquals(List.of("pause"), calls);
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.isReadsPaused() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(dispatcher.isReadsPaused());
+        dispatcher.close();
+        assertEquals(List.of("pause", "resume"), calls);
+    }
+}
@@ -0,0 +1,76 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.internal.FIXFrameDecoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.executionReport;
+
+/**
+ * Test case for incremental FIX frame decoding
+ */
+public class FIXFrameDecoderTestCase {
+
+    private final List<String> frames = new ArrayList<>();
+    private final FIXFrameDecoder.FrameHandler collector =
+        (buffer, offset, length) -> frames.add(new String(buffer, offset, length, StandardCharsets.US_ASCII));
+
+    @Test
+    public void testEmitsEveryFrameInOneRead() {
+        ByteArrayOutputStream burst = new ByteArrayOutputStream();
+        for (int i = 1; i <= 50; i++) {
+            burst.writeBytes(executionReport(i).getBytes(StandardCharsets.US_ASCII));
+        }
+        byte[] bytes = burst.toByteArray();
+
+        FIXFrameDecoder decoder = new FIXFrameDecoder();
+        decoder.append(bytes, 0, bytes.length);
+
+        assertEquals(50, decoder.decode(collector));
+        assertEquals(executionReport(1), frames.get(0));
+        assertEquals(executionReport(50), frames.get(49));
+        assertEquals(0, decoder.pendingBytes());
+    }
+
+    @Test
+    public void testPartialFrameCarriesOver() {
+        byte[] bytes = (executionReport(1) + executionReport(2)).getBytes(StandardCharsets.US_ASCII);
+        FIXFrameDecoder decoder = new FIXFrameDecoder(128, 4096);
+
+        // Feed one byte at a time to exercise every split point, including inside 8= and 9=
+        for (byte b : bytes) {
+            decoder.append(new byte[] {b}, 0, 1);
+            decoder.decode(collector);
+        }
+
+        assertEquals(2, frames.size());
+        assertEquals(executionReport(2), frames.get(1));
+    }
+
+    @Test
+    public void testResyncsAfterGarbage() {
+        byte[] bytes = ("garbage\u0001" + executionReport(3)).getBytes(StandardCharsets.US_ASCII);
+        FIXFrameDecoder decoder = new FIXFrameDecoder();
+        decoder.append(bytes, 0, bytes.length);
+
+        assertEquals(1, decoder.decode(collector));
+        assertEquals(executionReport(3), frames.get(0));
+    }
+
+    @Test
+    public void testResyncsAfterOverflowingBodyLength() {
+        byte[] bytes = ("8=FIX.4.4\u00019=2147483648\u000135=0\u0001" + executionReport(4))
+            .getBytes(StandardCharsets.US_ASCII);
+        FIXFrameDecoder decoder = new FIXFrameDecoder();
+        decoder.append(bytes, 0, bytes.length);
+
+        assertEquals(1, decoder.decode(collector));
+        assertEquals(executionReport(4), frames.get(0));
+        assertEquals(0, decoder.pendingBytes());
+    }
+}
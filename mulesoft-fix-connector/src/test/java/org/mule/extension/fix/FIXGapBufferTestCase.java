@@ -0,0 +1,106 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.GapOverflowPolicy;
+import org.mule.extension.fix.internal.FIXGapBuffer;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+import static org.mule.extension.fix.FIXTestMessages.message;
+
+/**
+ * Test case for the bounded out-of-order message buffer
+ */
+public class FIXGapBufferTestCase {
+
+    private static final int CL_ORD_ID = 11;
+
+    private FIXGapBuffer buffer;
+
+    @After
+    public void closeBuffer() throws IOException {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    private boolean add(int seqNum) {
+        FIXMessage message = message("8", seqNum);
+        byte[] frame = frame(message);
+        return buffer.add(seqNum, message, frame, 0, frame.length);
+    }
+
+    @Test
+    public void testTakeInSequence() {
+        buffer = new FIXGapBuffer(16, 1 << 20, GapOverflowPolicy.DROP, null);
+        for (int seqNum = 12; seqNum >= 5; seqNum--) {
+            assertTrue(add(seqNum));
+        }
+        assertEquals(8, buffer.size());
+        assertNull(buffer.take(4));
+
+        for (int seqNum = 5; seqNum <= 12; seqNum++) {
+            FIXGapBuffer.Entry entry = buffer.take(seqNum);
+            assertNotNull(entry);
+            assertEquals(Integer.valueOf(seqNum), entry.getMessage().getMsgSeqNum());
+        }
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getBufferedBytes());
+    }
+
+    @Test
+    public void testDropBeyondCountLimit() {
+        buffer = new FIXGapBuffer(4, 1 << 20, GapOverflowPolicy.DROP, null);
+        for (int seqNum = 1; seqNum <= 4; seqNum++) {
+            assertTrue(add(seqNum));
+        }
+        assertFalse(add(5));
+        assertEquals(4, buffer.size());
+        assertEquals(1, buffer.getOverflows());
+        assertEquals(5, buffer.getHighestDropped());
+    }
+
+    @Test
+    public void testLowestSeqNumCoversMemoryAndSpill() {
+        buffer = new FIXGapBuffer(2, 1 << 20, GapOverflowPolicy.SPILL, null);
+        assertEquals(-1, buffer.lowestSeqNum());
+        add(20);
+        add(30);
+        add(9);
+        assertEquals(1, buffer.getSpilledCount());
+        assertEquals(9, buffer.lowestSeqNum());
+
+        buffer.take(9);
+        assertEquals(20, buffer.lowestSeqNum());
+    }
+
+    @Test
+    public void testSpillBeyondLimitsAndReadBack() {
+        buffer = new FIXGapBuffer(4, 1 << 20, GapOverflowPolicy.SPILL, null);
+        for (int seqNum = 2; seqNum <= 1001; seqNum++) {
+            assertTrue(add(seqNum));
+        }
+        assertEquals(1000, buffer.size());
+        assertEquals(996, buffer.getSpilledCount());
+
+        for (int seqNum = 2; seqNum <= 1001; seqNum++) {
+            FIXGapBuffer.Entry entry = buffer.take(seqNum);
+            assertNotNull("Missing " + seqNum, entry);
+            assertEquals("ORD" + seqNum, entry.getMessage().getField(CL_ORD_ID));
+        }
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testByteLimitSpills() {
+        buffer = new FIXGapBuffer(1024, 1, GapOverflowPolicy.SPILL, null);
+        assertTrue(add(7));
+        assertEquals(1, buffer.getSpilledCount());
+        assertEquals(0, buffer.getBufferedBytes());
+        assertEquals(Integer.valueOf(7), buffer.take(7).getMessage().getMsgSeqNum());
+    }
+}
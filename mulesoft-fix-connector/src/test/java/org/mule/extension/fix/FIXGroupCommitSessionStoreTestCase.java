@@ -0,0 +1,145 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mule.extension.fix.api.SessionStoreCommitMode;
+import org.mule.extension.fix.internal.FIXGroupCommitSessionStore;
+import org.mule.extension.fix.internal.FIXSessionState;
+import org.mule.extension.fix.internal.FIXSessionStore;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for group-committed session state saves
+ */
+public class FIXGroupCommitSessionStoreTestCase {
+
+    private final RecordingStore delegate = new RecordingStore();
+    private FIXGroupCommitSessionStore store;
+
+    @After
+    public void closeStore() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testAsyncCoalescesUpdates() throws Exception {
+        store = new FIXGroupCommitSessionStore(delegate, SessionStoreCommitMode.ASYNC, 50_000, 1_000_000);
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        for (int i = 0; i < 1000; i++) {
+            state.getNextOutgoingSeqNum();
+            store.save(state);
+        }
+        store.sync();
+
+        assertEquals(1000, store.getUpdates());
+        assertTrue("Expected far fewer writes than updates, got " + delegate.saves.get(), delegate.saves.get() < 10);
+        assertEquals(state.getSequenceNumbers(), delegate.lastSaved.get());
+        assertTrue(delegate.syncs.get() >= 1);
+    }
+
+    @Test
+    public void testSyncAcknowledgesAfterCommit() throws Exception {
+        store = new FIXGroupCommitSessionStore(delegate, SessionStoreCommitMode.SYNC, 100, 64);
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        for (int i = 0; i < 20; i++) {
+            state.getNextOutgoingSeqNum();
+            store.save(state);
+            // Durable by the time save returns
+            assertEquals(state.getSequenceNumbers(), delegate.lastSaved.get());
+            assertTrue(delegate.syncs.get() >= store.getCommits());
+        }
+    }
+
+    @Test
+    public void testSyncBatchWaitsOnceForAllItsSaves() throws Exception {
+        store = new FIXGroupCommitSessionStore(delegate, SessionStoreCommitMode.SYNC, 1000, 1_000_000);
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        for (int batch = 0; batch < 50; batch++) {
+            store.beginBatch();
+            for (int i = 0; i < 100; i++) {
+                state.getNextOutgoingSeqNum();
+                store.save(state);
+            }
+            store.endBatch();
+            // Durable by the time the batch ends
+            assertEquals(state.getSequenceNumbers(), delegate.lastSaved.get());
+        }
+
+        assertEquals(5000, store.getUpdates());
+        assertTrue("Expected about one commit per batch, got " + store.getCommits(), store.getCommits() <= 100);
+    }
+
+    @Test
+    public void testConcurrentSyncSavesShareCommits() throws Exception {
+        store = new FIXGroupCommitSessionStore(delegate, SessionStoreCommitMode.SYNC, 500, 1024);
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    state.getNextOutgoingSeqNum();
+                    store.save(state);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800, store.getUpdates());
+        assertTrue("Expected commits to be shared, got " + store.getCommits(), store.getCommits() < 800);
+        assertEquals(801, (int) delegate.lastSaved.get());
+    }
+
+    @Test
+    public void testCloseCommitsPendingUpdates() throws Exception {
+        store = new FIXGroupCommitSessionStore(delegate, SessionStoreCommitMode.ASYNC, 1_000_000, 1024);
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        state.setOutgoingSeqNum(77);
+        store.save(state);
+        store.close();
+        store = null;
+
+        assertEquals(77, (int) delegate.lastSaved.get());
+        assertTrue(delegate.closed);
+    }
+
+    private static final class RecordingStore implements FIXSessionStore {
+        final AtomicInteger saves = new AtomicInteger();
+        final AtomicInteger syncs = new AtomicInteger();
+        final AtomicLong lastSaved = new AtomicLong();
+        volatile boolean closed;
+
+        @Override
+        public boolean restore(FIXSessionState state) {
+            return false;
+        }
+
+        @Override
+        public void save(FIXSessionState state) {
+            saves.incrementAndGet();
+            lastSaved.set(state.getSequenceNumbers());
+        }
+
+        @Override
+        public void sync() {
+            syncs.incrementAndGet();
+        }
+
+        @Override
+        public void remove(String sessionId) {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.extension.fix.internal.FIXInboundJournal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the memory-mapped inbound journal
+ */
+public class FIXInboundJournalTestCase {
+
+    private Path directory;
+    private FIXInboundJournal journal;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("fix-journal");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private long append(int seqNum) throws IOException {
+        byte[] frame = ("8=FIX.4.4|35=8|34=" + seqNum + "|").getBytes(StandardCharsets.US_ASCII);
+        return journal.append(frame, 0, frame.length);
+    }
+
+    private List<String> replay() {
+        List<String> frames = new ArrayList<>();
+        journal.replay((id, buffer, offset, length) ->
+            frames.add(id + ":" + new String(buffer, offset, length, StandardCharsets.US_ASCII)));
+        return frames;
+    }
+
+    @Test
+    public void testReplayAfterReopenSkipsCommitted() throws IOException {
+        journal = new FIXInboundJournal(directory);
+        long first = append(1);
+        long second = append(2);
+        append(3);
+        journal.commit(first);
+        journal.commit(second);
+        journal.close();
+
+        journal = new FIXInboundJournal(directory);
+        assertEquals(2, journal.getCommittedId());
+        assertEquals(3, journal.getLastId());
+        List<String> replayed = replay();
+        assertEquals(1, replayed.size());
+        assertEquals("3:8=FIX.4.4|35=8|34=3|", replayed.get(0));
+
+        // Ids continue after a restart
+        assertEquals(4, append(4));
+    }
+
+    @Test
+    public void testOutOfOrderCommitsAdvanceCursorWhenContiguous() throws IOException {
+        journal = new FIXInboundJournal(directory);
+        long first = append(1);
+        long second = append(2);
+        long third = append(3);
+
+        journal.commit(third);
+        journal.commit(second);
+        assertEquals(0, journal.getCommittedId());
+        assertEquals(1, replay().size());
+
+        journal.commit(first);
+        assertEquals(3, journal.getCommittedId());
+        assertTrue(replay().isEmpty());
+    }
+
+    @Test
+    public void testOutOfOrderCommitsSurviveReopen() throws IOException {
+        journal = new FIXInboundJournal(directory);
+        append(1);
+        long second = append(2);
+        long third = append(3);
+        journal.commit(third);
+        journal.commit(second);
+        journal.close();
+
+        journal = new FIXInboundJournal(directory);
+        assertEquals(0, journal.getCommittedId());
+        List<String> replayed = replay();
+        assertEquals(1, replayed.size());
+        assertEquals("1:8=FIX.4.4|35=8|34=1|", replayed.get(0));
+
+        journal.commit(1);
+        assertEquals(3, journal.getCommittedId());
+    }
+
+    @Test
+    public void testSegmentsBehindAnUncommittedFrameAreDeleted() throws IOException {
+        journal = new FIXInboundJournal(directory, 128);
+        long stuck = append(1);
+        for (int seqNum = 2; seqNum <= 40; seqNum++) {
+            journal.commit(append(seqNum));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Segment of the uncommitted frame, current segment and the cursor file
+            assertEquals(3, files.count());
+        }
+        assertEquals(0, journal.getCommittedId());
+        assertEquals(1, replay().size());
+
+        journal.commit(stuck);
+        assertEquals(40, journal.getCommittedId());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testCommittedSegmentsAreDeleted() throws IOException {
+        journal = new FIXInboundJournal(directory, 128);
+        for (int seqNum = 1; seqNum <= 20; seqNum++) {
+            journal.commit(append(seqNum));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Current segment plus the cursor file
+            assertEquals(2, files.count());
+        }
+        journal.close();
+
+        journal = new FIXInboundJournal(directory, 128);
+        assertEquals(20, journal.getLastId());
+        assertTrue(replay().isEmpty());
+    }
+}
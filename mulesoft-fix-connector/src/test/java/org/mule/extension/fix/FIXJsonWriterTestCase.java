@@ -0,0 +1,67 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.internal.FIXJsonWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.SENDER;
+import static org.mule.extension.fix.FIXTestMessages.TARGET;
+import static org.mule.extension.fix.FIXTestMessages.message;
+
+/**
+ * Test case for JSON serialization of inbound messages
+ */
+public class FIXJsonWriterTestCase {
+
+    private static String json(InputStream stream) throws IOException {
+        return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testWritesMessageDocument() throws Exception {
+        FIXMessage message = message("8", 42, FIXMessage.TAG_TEXT, "filled");
+        message.setField(FIXMessage.TAG_SENDER_COMP_ID, SENDER);
+        message.setField(FIXMessage.TAG_TARGET_COMP_ID, TARGET);
+        String json = json(new FIXJsonWriter(false).write(message, 1703351445123L));
+        assertEquals("{\"messageType\":\"8\",\"seqNum\":42,\"senderCompId\":\"SERVER1\",\"targetCompId\":\"CLIENT1\","
+            + "\"sendingTime\":\"20250101-12:00:00.000\",\"fields\":{\"35\":\"8\",\"34\":\"42\","
+            + "\"52\":\"20250101-12:00:00.000\",\"58\":\"filled\",\"49\":\"SERVER1\",\"56\":\"CLIENT1\"},"
+            + "\"timestamp\":1703351445123}", json);
+    }
+
+    @Test
+    public void testEscapesQuotesBackslashesAndControlCharacters() throws Exception {
+        String json = json(new FIXJsonWriter(false).write(message("8", 42, FIXMessage.TAG_TEXT, "say \"hi\"\\\tnow\u0007"), 0));
+        assertTrue(json, json.contains("\"58\":\"say \\\"hi\\\"\\\\\\tnow\\u0007\""));
+
+        String event = json(new FIXJsonWriter(false).writeSessionEvent("LOGOUT", "A->B", "bye \"now\" \u00e9", 5));
+        assertEquals("{\"messageType\":\"LOGOUT\",\"sessionId\":\"A->B\",\"reason\":\"bye \\\"now\\\" \\u00e9\",\"timestamp\":5}",
+            event);
+    }
+
+    @Test
+    public void testTagNamesAndBufferReuse() throws Exception {
+        FIXJsonWriter writer = new FIXJsonWriter(true);
+        String first = json(writer.write(message("8", 1), 1));
+        assertTrue(first, first.contains("\"ClOrdID\":\"ORD1\""));
+        assertTrue(first, first.contains("\"MsgType\":\"8\""));
+
+        // A larger message grows the buffer; the earlier document was read out before the next write
+        FIXMessage large = message("8", 1);
+        for (int tag = 5000; tag < 5200; tag++) {
+            large.setField(tag, "value-" + tag);
+        }
+        String second = json(writer.write(large, 2));
+        assertTrue(second.contains("\"5199\":\"value-5199\""));
+        assertTrue(first.endsWith("\"timestamp\":1}"));
+
+        String third = json(writer.write(message("8", 1), 3));
+        assertTrue(third.endsWith("\"timestamp\":3}"));
+        assertEquals(third.length(), writer.getLength());
+    }
+}
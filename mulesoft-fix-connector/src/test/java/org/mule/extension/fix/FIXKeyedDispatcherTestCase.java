@@ -0,0 +1,172 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.internal.FIXDispatcher;
+import org.mule.extension.fix.internal.FIXKeyedDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.message;
+
+/**
+ * Test case for per-key ordered parallel dispatch
+ */
+public class FIXKeyedDispatcherTestCase {
+
+    private static final int CL_ORD_ID = 11;
+    private static final int SYMBOL = 55;
+
+    @Test
+    public void testParseTags() {
+        assertArrayEquals(new int[] {55, 11}, FIXKeyedDispatcher.parseTags("55, 11"));
+        try {
+            FIXKeyedDispatcher.parseTags("55,ClOrdID");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("ClOrdID"));
+        }
+    }
+
+    @Test
+    public void testSameKeySameLane() {
+        FIXKeyedDispatcher dispatcher = new FIXKeyedDispatcher(new int[] {CL_ORD_ID}, 8, 100, "LANES");
+        Set<Integer> used = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(dispatcher.laneOf(message("8", 1, CL_ORD_ID, "ORD" + i)),
+                dispatcher.laneOf(message("8", 2, CL_ORD_ID, "ORD" + i)));
+            used.add(dispatcher.laneOf(message("8", 1, CL_ORD_ID, "ORD" + i)));
+        }
+        assertEquals(8, used.size());
+        assertEquals(0, dispatcher.laneOf(message("8", 1, CL_ORD_ID, null)));
+
+        FIXMessage composite = message("8", 1, CL_ORD_ID, "ORD1");
+        composite.setField(SYMBOL, "EUR/USD");
+        FIXKeyedDispatcher bySymbolAndOrder = new FIXKeyedDispatcher(new int[] {SYMBOL, CL_ORD_ID}, 8, 100, "LANES");
+        assertTrue(bySymbolAndOrder.laneOf(composite) < 8);
+        dispatcher.close();
+        bySymbolAndOrder.close();
+    }
+
+    @Test
+    public void testOrderHoldsWithinEachKey() throws Exception {
+        int keys = 64;
+        int perKey = 500;
+        FIXKeyedDispatcher dispatcher = new FIXKeyedDispatcher(new int[] {CL_ORD_ID}, 4, 1000, "LANES");
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+        for (int seq = 0; seq < perKey; seq++) {
+            for (int k = 0; k < keys; k++) {
+                String key = "ORD" + k;
+                int value = seq;
+                dispatcher.execute(message("8", seq, CL_ORD_ID, key), () -> {
+                    // Only one thread runs a key at a time, so the per-key list needs no locking
+                    seen.computeIfAbsent(key, x -> new ArrayList<>()).add(value);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(keys, seen.size());
+        for (List<Integer> values : seen.values()) {
+            assertEquals(perKey, values.size());
+            for (int i = 0; i < perKey; i++) {
+                assertEquals(i, values.get(i).intValue());
+            }
+        }
+        dispatcher.close();
+    }
+
+    @Test
+    public void testSaturatedLanePausesReadsWithoutBlocking() throws Exception {
+        FIXKeyedDispatcher dispatcher = new FIXKeyedDispatcher(new int[] {CL_ORD_ID}, 2, 4, "LANES");
+        List<String> calls = new CopyOnWriteArrayList<>();
+        dispatcher.setReadControl(new FIXDispatcher.ReadControl() {
+            @Override
+            public void pauseReads() {
+                calls.add("pause");
+            }
+
+            @Override
+            public void resumeReads() {
+                calls.add("resume");
+            }
+        });
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.execute(message("8", 0, CL_ORD_ID, "ORD1"), () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        long start = System.nanoTime();
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.execute(message("8", i, CL_ORD_ID, "ORD1"), () -> { });
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(List.of("pause"), calls);
+
+        release.countDown();
+        FIXDispatcher lane = dispatcher.getLane(dispatcher.laneOf(message("8", 0, CL_ORD_ID, "ORD1")));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lane.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("pause", "resume"), calls);
+        dispatcher.close();
+    }
+
+    @Test
+    public void testCloseDropsQueuedTasksAndReleasesReads() throws Exception {
+        FIXKeyedDispatcher dispatcher = new FIXKeyedDispatcher(new int[] {CL_ORD_ID}, 1, 4, "LANES");
+        List<String> calls = new CopyOnWriteArrayList<>();
+        dispatcher.setReadControl(new FIXDispatcher.ReadControl() {
+            @Override
+            public void pauseReads() {
+                calls.add("pause");
+            }
+
+            @Override
+            public void resumeReads() {
+                calls.add("resume");
+            }
+        });
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger ran = new AtomicInteger();
+        dispatcher.execute(message("8", 0, CL_ORD_ID, "ORD1"), () -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.execute(message("8", i, CL_ORD_ID, "ORD1"), ran::incrementAndGet);
+        }
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        dispatcher.close();
+        assertEquals(List.of("pause", "resume"), calls);
+        release.countDown();
+        FIXDispatcher lane = dispatcher.getLane(0);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lane.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, lane.getPending());
+        assertEquals(0, ran.get());
+    }
+}
@@ -0,0 +1,153 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.extension.fix.internal.FIXMappedMessageStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+
+/**
+ * Test case for the memory-mapped outbound message store
+ */
+public class FIXMappedMessageStoreTestCase {
+
+    private Path directory;
+    private FIXMappedMessageStore store;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("fix-store");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static String order(int seqNum) {
+        return new String(frame("D", seqNum), StandardCharsets.US_ASCII);
+    }
+
+    private void append(int seqNum) throws IOException {
+        ByteBuffer frame = ByteBuffer.wrap(frame("D", seqNum));
+        store.append(seqNum, frame, 0, frame.remaining());
+    }
+
+    private String read(int seqNum) {
+        ByteBuffer stored = store.get(seqNum);
+        if (stored == null) {
+            return null;
+        }
+        byte[] bytes = new byte[stored.remaining()];
+        stored.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testReadsBackAcrossSegmentsAndRecovers() throws IOException {
+        // Small segments so the range spans many files
+        store = new FIXMappedMessageStore(directory, 256);
+        for (int seqNum = 1; seqNum <= 100; seqNum++) {
+            append(seqNum);
+        }
+        assertEquals(order(42), read(42));
+        assertNull(read(101));
+        store.close();
+
+        store = new FIXMappedMessageStore(directory, 256);
+        assertEquals(100, store.getLastSeqNum());
+        assertEquals(order(1), read(1));
+        assertEquals(order(100), read(100));
+
+        append(101);
+        assertEquals(order(101), read(101));
+    }
+
+    @Test
+    public void testLargeRangeStaysAddressable() throws IOException {
+        store = new FIXMappedMessageStore(directory, 1024 * 1024);
+        for (int seqNum = 5000; seqNum < 155_000; seqNum++) {
+            append(seqNum);
+        }
+        assertNull(read(4999));
+        assertEquals(order(5000), read(5000));
+        assertEquals(order(154_999), read(154_999));
+    }
+
+    @Test
+    public void testSeqNumJumpRestartsIndex() throws IOException {
+        store = new FIXMappedMessageStore(directory, 4096);
+        for (int seqNum = 1; seqNum <= 10; seqNum++) {
+            append(seqNum);
+        }
+        // Indexing the whole span would take 8 GB
+        append(1_000_000_000);
+        append(1_000_000_001);
+
+        assertEquals(1_000_000_001, store.getLastSeqNum());
+        assertEquals(order(1_000_000_000), read(1_000_000_000));
+        assertEquals(order(1_000_000_001), read(1_000_000_001));
+        // Outside the index: answered with a gap fill
+        assertNull(read(10));
+        assertNull(read(500_000_000));
+    }
+
+    @Test
+    public void testResetDropsEverything() throws IOException {
+        store = new FIXMappedMessageStore(directory, 4096);
+        append(1);
+        append(2);
+        store.reset();
+
+        assertEquals(0, store.getLastSeqNum());
+        assertNull(read(1));
+        append(1);
+        assertEquals(order(1), read(1));
+    }
+
+    @Test
+    public void testReadsDuringResetNeverFail() throws Exception {
+        store = new FIXMappedMessageStore(directory, 4096);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                try {
+                    int last = store.getLastSeqNum();
+                    String frame = last > 0 ? read(last) : null;
+                    assertTrue(frame == null || frame.equals(order(last)));
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        });
+        reader.start();
+        for (int round = 0; round < 50; round++) {
+            for (int seqNum = 1; seqNum <= 200; seqNum++) {
+                append(seqNum);
+            }
+            store.reset();
+        }
+        writing.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+    }
+}
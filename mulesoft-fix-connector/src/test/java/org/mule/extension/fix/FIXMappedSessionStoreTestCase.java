@@ -0,0 +1,76 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.extension.fix.api.SessionStoreSyncPolicy;
+import org.mule.extension.fix.internal.FIXMappedSessionStore;
+import org.mule.extension.fix.internal.FIXSessionState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the memory-mapped session sequence number store
+ */
+public class FIXMappedSessionStoreTestCase {
+
+    private Path directory;
+    private FIXMappedSessionStore store;
+
+    @Before
+    public void createStore() throws IOException {
+        directory = Files.createTempDirectory("fix-session-store");
+        store = new FIXMappedSessionStore(directory, SessionStoreSyncPolicy.BATCHED, 1000);
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static FIXSessionState state(int incoming, int outgoing) {
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        state.setIncomingSeqNum(incoming);
+        state.setOutgoingSeqNum(outgoing);
+        return state;
+    }
+
+    @Test
+    public void testRestoreUnknownSession() throws IOException {
+        FIXSessionState state = new FIXSessionState("SENDER", "TARGET");
+        assertFalse(store.restore(state));
+        assertEquals(1, state.getIncomingSeqNum());
+        assertEquals(1, state.getCurrentOutgoingSeqNum());
+    }
+
+    @Test
+    public void testReopenResumesSequenceNumbers() throws IOException {
+        store.save(state(42, 17));
+        store.save(state(43, 18));
+        store.close();
+
+        store = new FIXMappedSessionStore(directory, SessionStoreSyncPolicy.BATCHED, 1000);
+        FIXSessionState restored = new FIXSessionState("SENDER", "TARGET");
+        assertTrue(store.restore(restored));
+        assertEquals(43, restored.getIncomingSeqNum());
+        assertEquals(18, restored.getCurrentOutgoingSeqNum());
+    }
+
+    @Test
+    public void testRemoveForgetsSession() throws IOException {
+        FIXSessionState state = state(5, 9);
+        store.save(state);
+        store.remove(state.getSessionId());
+
+        assertFalse(store.restore(new FIXSessionState("SENDER", "TARGET")));
+    }
+}
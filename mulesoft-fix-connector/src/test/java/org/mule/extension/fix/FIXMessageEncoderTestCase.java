@@ -0,0 +1,85 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+import org.mule.extension.fix.api.FIXMessageEncoder;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for encoding FIX messages into reusable buffers
+ */
+public class FIXMessageEncoderTestCase {
+
+    private final FIXMessageEncoder encoder = new FIXMessageEncoder("FIX.4.4", "CLIENT1", "SERVER1");
+
+    private static FIXMessage newOrderSingle() {
+        return new FIXMessageBuilder("D")
+            .withHeader(1234, "20250101-12:00:00.000")
+            .withField(11, "ORDER-1")
+            .withField(54, 1)
+            .withField(38, 1000000)
+            .build();
+    }
+
+    @Test
+    public void testEncodedFrameParsesWithValidChecksumAndBodyLength() throws FIXParseException {
+        ByteBuffer out = ByteBuffer.allocateDirect(1024);
+        int length = encoder.encode(newOrderSingle(), out);
+        assertEquals(length, out.position());
+        assertEquals(length, encoder.encodedLength(newOrderSingle()));
+
+        out.flip();
+        FIXMessageView view = FIXMessageParser.parse(out, new FIXMessageView());
+        assertEquals(1234, view.getMsgSeqNum());
+        assertTrue(view.fieldEquals(FIXMessage.TAG_SENDER_COMP_ID, "CLIENT1"));
+        assertEquals(1000000, view.getFieldAsInt(38, -1));
+    }
+
+    @Test
+    public void testBufferIsReusedAcrossMessages() {
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        encoder.encode(newOrderSingle(), out);
+        byte[] first = Arrays.copyOf(out.array(), out.position());
+        out.clear();
+        encoder.encode(newOrderSingle(), out);
+        assertArrayEquals(first, Arrays.copyOf(out.array(), out.position()));
+        assertEquals(new String(first, StandardCharsets.US_ASCII),
+            newOrderSingle().toFIXString("FIX.4.4", "CLIENT1", "SERVER1"));
+    }
+
+    @Test
+    public void testIntExtremesRoundTrip() throws FIXParseException {
+        FIXMessage message = newOrderSingle();
+        message.setField(38, Integer.MIN_VALUE);
+        message.setField(44, Integer.MAX_VALUE);
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        int length = encoder.encode(message, out);
+        assertEquals(length, encoder.encodedLength(message));
+
+        out.flip();
+        FIXMessageView view = FIXMessageParser.parse(out, new FIXMessageView());
+        assertEquals("-2147483648", view.getField(38));
+        assertEquals("2147483647", view.getField(44));
+    }
+
+    @Test
+    public void testOverflowWritesNothing() {
+        ByteBuffer out = ByteBuffer.allocate(16);
+        try {
+            encoder.encode(newOrderSingle(), out);
+            fail("Expected BufferOverflowException");
+        } catch (BufferOverflowException e) {
+            assertEquals(0, out.position());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.internal.FIXMessageFilter;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionState;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+import static org.mule.extension.fix.FIXTestMessages.message;
+
+/**
+ * Test case for inbound message filtering on framed and materialized messages
+ */
+public class FIXMessageFilterTestCase {
+
+    private static final int SYMBOL = 55;
+    private static final int EX_DESTINATION = 100;
+
+    private static FIXMessageView view(byte[] frame) throws Exception {
+        return FIXMessageParser.parse(frame, 0, frame.length, new FIXMessageView());
+    }
+
+    @Test
+    public void testTypeSetAndFieldConditions() throws Exception {
+        FIXMessageFilter filter = FIXMessageFilter.parse("D, 8", "55=EUR/USD|GBP/USD;100!=XOFF");
+
+        assertTrue(filter.accepts(view(frame(message("8", 1, SYMBOL, "EUR/USD")))));
+        assertTrue(filter.accepts(view(frame(message("D", 1, SYMBOL, "GBP/USD")))));
+        assertFalse(filter.accepts(view(frame(message("S", 1, SYMBOL, "EUR/USD")))));
+        assertFalse(filter.accepts(view(frame(message("8", 1, SYMBOL, "USD/JPY")))));
+        assertFalse(filter.accepts(view(frame(message("8", 1, SYMBOL, null)))));
+
+        FIXMessage offBook = FIXMessageParser.parse(
+            new String(frame(message("8", 1, SYMBOL, "EUR/USD")), StandardCharsets.US_ASCII));
+        assertTrue(filter.accepts(offBook));
+        offBook.setField(EX_DESTINATION, "XOFF");
+        assertFalse(filter.accepts(offBook));
+    }
+
+    @Test
+    public void testSessionLevelMessagesAlwaysPass() throws Exception {
+        FIXMessageFilter filter = FIXMessageFilter.parse("D", null);
+        assertTrue(filter.accepts(view(frame(message(FIXMessage.MSG_TYPE_HEARTBEAT, 1, SYMBOL, null)))));
+        assertTrue(filter.accepts(view(frame(message(FIXMessage.MSG_TYPE_LOGON, 1, SYMBOL, null)))));
+        assertFalse(filter.accepts(view(frame(message(FIXMessage.MSG_TYPE_REJECT, 1, SYMBOL, null)))));
+
+        assertTrue(FIXMessageFilter.parse("ALL", "").isAcceptAll());
+        assertTrue(FIXMessageFilter.parse(null, null).isAcceptAll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConditionFails() {
+        FIXMessageFilter.parse("ALL", "Symbol=EUR/USD");
+    }
+
+    @Test
+    public void testSpacesAroundValuesAreIgnored() throws Exception {
+        FIXMessageFilter filter = FIXMessageFilter.parse("ALL", " 55 = EUR/USD | GBP/USD ; 100 != XOFF ");
+
+        assertTrue(filter.accepts(view(frame(message("8", 1, SYMBOL, "EUR/USD")))));
+        assertTrue(filter.accepts(view(frame(message("8", 1, SYMBOL, "GBP/USD")))));
+        assertFalse(filter.accepts(view(frame(message("8", 1, SYMBOL, "USD/JPY")))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyAlternativeFails() {
+        FIXMessageFilter.parse("ALL", "55=EUR/USD||GBP/USD");
+    }
+
+    @Test
+    public void testFilteredMessagesStillAdvanceSequence() throws Exception {
+        FIXSessionManager manager = new FIXSessionManager("FIX.4.4", true);
+        List<FIXMessage> delivered = new ArrayList<>();
+        manager.setMessageHandler(new FIXSessionManager.MessageHandler() {
+            @Override
+            public void onLogon(FIXSessionState session) {
+            }
+
+            @Override
+            public void onLogout(FIXSessionState session, String reason) {
+            }
+
+            @Override
+            public void onApplicationMessage(FIXSessionState session, FIXMessage message) {
+                delivered.add(message);
+            }
+        });
+        manager.setInboundFilter(FIXMessageFilter.parse("8", null));
+        FIXSessionState session = manager.getStateManager().getOrCreateSession("CLIENT1", "SERVER1");
+
+        for (int seq = 1; seq <= 100; seq++) {
+            byte[] frame = frame(message(seq % 20 == 0 ? "8" : "S", seq, SYMBOL, "EUR/USD"));
+            manager.processIncomingMessage(session, frame, 0, frame.length);
+        }
+
+        assertEquals(101, session.getIncomingSeqNum());
+        assertEquals(5, delivered.size());
+        assertEquals(95, manager.getFilteredMessageCount());
+        assertEquals(20, delivered.get(0).getMsgSeqNum().intValue());
+    }
+}
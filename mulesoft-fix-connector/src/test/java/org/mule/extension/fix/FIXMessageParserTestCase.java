@@ -0,0 +1,117 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+import org.mule.extension.fix.api.FIXMessageParser;
+import org.mule.extension.fix.api.FIXMessageView;
+import org.mule.extension.fix.api.FIXParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the byte-level FIX parser
+ */
+public class FIXMessageParserTestCase {
+
+    private static byte[] newOrderSingle() {
+        FIXMessage message = new FIXMessageBuilder("D")
+            .withHeader(7, "20250101-12:00:00.000")
+            .withField(11, "ORDER-1")
+            .withField(55, "EUR/USD")
+            .withField(38, 1000000)
+            .build();
+        return message.toFIXString("FIX.4.4", "CLIENT1", "SERVER1").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testParseByteSliceExposesFieldViews() throws FIXParseException {
+        byte[] frame = newOrderSingle();
+        byte[] padded = new byte[frame.length + 10];
+        System.arraycopy(frame, 0, padded, 5, frame.length);
+
+        FIXMessageView view = FIXMessageParser.parse(padded, 5, frame.length, new FIXMessageView());
+
+        assertEquals(FIXMessage.TAG_BEGIN_STRING, view.getTag(0));
+        assertEquals(FIXMessage.TAG_CHECKSUM, view.getTag(view.getFieldCount() - 1));
+        assertEquals("D", view.getMsgType());
+        assertEquals(7, view.getMsgSeqNum());
+        assertEquals(1000000, view.getFieldAsInt(38, -1));
+        assertTrue(view.fieldEquals(55, "EUR/USD"));
+        assertSame(padded, view.getBuffer());
+    }
+
+    @Test
+    public void testParseDirectByteBuffer() throws FIXParseException {
+        byte[] frame = newOrderSingle();
+        ByteBuffer direct = ByteBuffer.allocateDirect(frame.length);
+        direct.put(frame).flip();
+
+        FIXMessage message = FIXMessageParser.parse(direct, new FIXMessageView()).toFIXMessage();
+
+        assertEquals("FIX.4.4", message.getField(FIXMessage.TAG_BEGIN_STRING));
+        assertEquals("CLIENT1", message.getField(FIXMessage.TAG_SENDER_COMP_ID));
+        assertEquals("ORDER-1", message.getField(11));
+        assertFalse(message.hasField(FIXMessage.TAG_CHECKSUM));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void testViewIsReusable() throws FIXParseException {
+        FIXMessageView view = new FIXMessageView();
+        byte[] frame = newOrderSingle();
+        FIXMessageParser.parse(frame, 0, frame.length, view);
+        int fieldCount = view.getFieldCount();
+        FIXMessageParser.parse(frame, 0, frame.length, view);
+        assertEquals(fieldCount, view.getFieldCount());
+    }
+
+    @Test(expected = FIXParseException.class)
+    public void testCorruptedChecksumIsRejected() throws FIXParseException {
+        byte[] frame = newOrderSingle();
+        frame[frame.length - 2]++;
+        FIXMessageParser.parse(frame, 0, frame.length, new FIXMessageView());
+    }
+
+    @Test(expected = FIXParseException.class)
+    public void testTruncatedFrameIsRejected() throws FIXParseException {
+        byte[] frame = newOrderSingle();
+        FIXMessageParser.parse(frame, 0, frame.length - 1, new FIXMessageView());
+    }
+
+    @Test(expected = FIXParseException.class)
+    public void testNonNumericTagIsRejected() throws FIXParseException {
+        byte[] frame = "8=FIX.4.4\u0001x5=D\u0001".getBytes(StandardCharsets.US_ASCII);
+        FIXMessageParser.parse(frame, 0, frame.length, new FIXMessageView());
+    }
+
+    @Test(expected = FIXParseException.class)
+    public void testBodyLengthMismatchIsRejected() throws FIXParseException {
+        String frame = new String(newOrderSingle(), StandardCharsets.US_ASCII);
+        String tampered = frame.replaceFirst("\u00019=(\\d+)", "\u00019=1$1");
+        FIXMessageParser.parse(tampered, false);
+    }
+
+    @Test
+    public void testChecksumSkippedWhenValidationDisabled() throws FIXParseException {
+        byte[] frame = newOrderSingle();
+        frame[frame.length - 2]++;
+        FIXMessageView view = FIXMessageParser.parse(frame, 0, frame.length, new FIXMessageView(), false);
+        assertEquals("D", view.getMsgType());
+    }
+
+    @Test
+    public void testStringParserValidatesChecksumWithClOrdIdPresent() {
+        String frame = new String(newOrderSingle(), StandardCharsets.US_ASCII);
+        String corrupted = frame.substring(0, frame.length() - 4) + "000\u0001";
+        try {
+            FIXMessageParser.parse(corrupted);
+            fail("Corrupted checksum should be rejected");
+        } catch (FIXParseException e) {
+            assertTrue(e.getMessage().startsWith("Checksum validation failed"));
+        }
+    }
+}
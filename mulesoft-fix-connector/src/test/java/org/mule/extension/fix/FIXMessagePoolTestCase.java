@@ -0,0 +1,60 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+import org.mule.extension.fix.api.FIXMessagePool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for pooled FIXMessage reuse and ownership
+ */
+public class FIXMessagePoolTestCase {
+
+    @Test
+    public void testReleasedMessageIsReusedCleared() {
+        FIXMessagePool pool = new FIXMessagePool(1);
+        FIXMessage first = new FIXMessageBuilder(pool.acquire("D"))
+            .withHeader(7, "20250101-12:00:00.000")
+            .withField(55, "EUR/USD")
+            .build();
+        assertTrue(first.isPooled());
+        assertEquals(0, pool.available());
+
+        first.release();
+        FIXMessage second = pool.acquire("0");
+
+        assertSame(first, second);
+        assertEquals(1, second.getFieldCount());
+        assertEquals("0", second.getMsgType());
+        assertFalse(second.hasField(55));
+        assertEquals(0, pool.getMisses());
+    }
+
+    @Test
+    public void testEmptyPoolAllocates() {
+        FIXMessagePool pool = new FIXMessagePool(1);
+        FIXMessage first = pool.acquire("0");
+        FIXMessage second = pool.acquire("0");
+
+        assertNotSame(first, second);
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDoubleReleaseFails() {
+        FIXMessagePool pool = new FIXMessagePool(2);
+        FIXMessage message = pool.acquire("0");
+        message.release();
+        message.release();
+    }
+
+    @Test
+    public void testReleasingUnpooledMessageIsNoOp() {
+        FIXMessage message = new FIXMessage("0");
+        message.release();
+        assertFalse(message.isPooled());
+        assertEquals("0", message.getMsgType());
+    }
+}
@@ -0,0 +1,94 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the FIXMessage field store
+ */
+public class FIXMessageTestCase {
+
+    @Test
+    public void testInsertionOrderIsKeptWhenOverwriting() {
+        FIXMessage message = new FIXMessage("D");
+        message.setField(55, "EUR/USD");
+        message.setField(5001, "custom");
+        message.setField(38, 100);
+        message.setField(55, "GBP/USD");
+
+        assertEquals(4, message.getFieldCount());
+        assertEquals(Arrays.asList(35, 55, 5001, 38), new ArrayList<>(message.getFields().keySet()));
+        assertEquals("GBP/USD", message.getField(55));
+        assertEquals("custom", message.getField(5001));
+        assertEquals(Integer.valueOf(100), message.getFieldAsInt(38));
+        assertFalse(message.hasField(9999));
+    }
+
+    @Test
+    public void testForEachFieldExposesValueBytes() {
+        FIXMessage message = new FIXMessage("8");
+        message.setField(FIXMessage.TAG_MSG_SEQ_NUM, -42);
+        message.setField(58, "hello".getBytes(StandardCharsets.US_ASCII), 0, 5);
+
+        List<String> visited = new ArrayList<>();
+        message.forEachField((tag, buffer, offset, length) ->
+            visited.add(tag + "=" + new String(buffer, offset, length, StandardCharsets.US_ASCII)));
+
+        assertEquals(Arrays.asList("35=8", "34=-42", "58=hello"), visited);
+        assertEquals(-42, message.getFieldAsInt(FIXMessage.TAG_MSG_SEQ_NUM, 0));
+    }
+
+    @Test
+    public void testLookupSurvivesIndexGrowth() {
+        FIXMessage message = new FIXMessage("W");
+        for (int i = 0; i < 200; i++) {
+            message.setField(i % 2 == 0 ? 100 + i : 100000 + i, i);
+        }
+        message.setField(100, "first");
+
+        assertEquals(201, message.getFieldCount());
+        assertEquals("first", message.getField(100));
+        for (int i = 1; i < 200; i++) {
+            assertEquals(i, message.getFieldAsInt(i % 2 == 0 ? 100 + i : 100000 + i, -1));
+        }
+        assertFalse(message.hasField(101));
+    }
+
+    @Test
+    public void testOverwritesReuseValueStorage() throws IOException {
+        FIXMessage message = new FIXMessage("D");
+        message.setField(11, "ORD1");
+        for (int i = 0; i < 10000; i++) {
+            // Alternately longer and shorter than the previous value, so both in-place writes and compaction happen
+            message.setField(58, i % 2 == 0 ? "short " + i : "a much longer text " + i);
+            message.setField(38, i);
+        }
+
+        assertEquals("ORD1", message.getField(11));
+        assertEquals("a much longer text 9999", message.getField(58));
+        assertEquals(9999, message.getFieldAsInt(38, 0));
+        // The overwritten values are not kept: the field bytes stay at their initial size
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(message);
+        }
+        assertTrue("Serialized to " + serialized.size() + " bytes", serialized.size() < 2048);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testNonNumericFieldAsIntFails() {
+        FIXMessage message = new FIXMessage("D");
+        message.setField(38, "abc");
+        message.getFieldAsInt(38);
+    }
+}
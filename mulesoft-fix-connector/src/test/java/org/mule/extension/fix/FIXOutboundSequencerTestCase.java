@@ -0,0 +1,198 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessagePool;
+import org.mule.extension.fix.api.OutboundFlushMode;
+import org.mule.extension.fix.internal.FIXOutboundSequencer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the lock-free outbound sequencer and its writer thread
+ */
+public class FIXOutboundSequencerTestCase {
+
+    private FIXOutboundSequencer sequencer;
+
+    /**
+     * Records the "wire" in write order; assigns sequence numbers like the session does
+     */
+    private static class RecordingWriter implements FIXOutboundSequencer.Writer {
+        final List<Integer> wire = new ArrayList<>();
+        int nextSeqNum = 1;
+        volatile boolean failWrites;
+        volatile boolean failWritesUnchecked;
+
+        @Override
+        public int encode(FIXMessage message, boolean assignSeqNum, FIXOutboundSequencer.Frame frame) {
+            int seqNum = assignSeqNum ? nextSeqNum++ : message.getFieldAsInt(FIXMessage.TAG_MSG_SEQ_NUM, 0);
+            frame.claim(4).putInt(seqNum);
+            return seqNum;
+        }
+
+        @Override
+        public void write(ByteBuffer[] frames, int count) throws IOException {
+            if (failWrites) {
+                throw new IOException("connection reset");
+            }
+            if (failWritesUnchecked) {
+                throw new UncheckedIOException(new IOException("session store full"));
+            }
+            for (int i = 0; i < count; i++) {
+                wire.add(frames[i].getInt());
+            }
+        }
+    }
+
+    @After
+    public void closeSequencer() {
+        if (sequencer != null) {
+            sequencer.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentSendersKeepWireOrder() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        sequencer = new FIXOutboundSequencer(64, OutboundFlushMode.THROUGHPUT, writer, "test-writer");
+        int threads = 32;
+        int perThread = 500;
+        Set<Integer> assigned = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    assertTrue(assigned.add(sequencer.send(new FIXMessage("D"), true)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = threads * perThread;
+        assertEquals(total, writer.wire.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(Integer.valueOf(i + 1), writer.wire.get(i));
+        }
+        assertEquals(total, sequencer.getFramesWritten());
+        // Concurrent senders are coalesced into gathering writes
+        assertTrue(sequencer.getWrites() < total);
+        assertEquals(0, sequencer.pending());
+    }
+
+    @Test
+    public void testPresequencedMessageKeepsItsSeqNum() throws Exception {
+        sequencer = new FIXOutboundSequencer(8, OutboundFlushMode.LATENCY, new RecordingWriter(), "test-writer");
+        FIXMessage gapFill = new FIXMessage(FIXMessage.MSG_TYPE_SEQUENCE_RESET);
+        gapFill.setField(FIXMessage.TAG_MSG_SEQ_NUM, 3);
+
+        assertEquals(1, sequencer.send(new FIXMessage("0"), true));
+        assertEquals(3, sequencer.send(gapFill, false));
+        assertEquals(2, sequencer.send(new FIXMessage("0"), true));
+    }
+
+    @Test
+    public void testActionRunsBetweenFrames() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        sequencer = new FIXOutboundSequencer(64, OutboundFlushMode.THROUGHPUT, writer, "test-writer");
+        int[] resetAt = {-1};
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    sequencer.send(new FIXMessage("D"), true);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        // Like a sequence reset: runs on the writer thread, after everything published before it was written
+        sequencer.execute(() -> {
+            resetAt[0] = writer.wire.size();
+            writer.nextSeqNum = 1;
+        });
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(2000, writer.wire.size());
+        for (int i = 0; i < writer.wire.size(); i++) {
+            int expected = i < resetAt[0] ? i + 1 : i - resetAt[0] + 1;
+            assertEquals(Integer.valueOf(expected), writer.wire.get(i));
+        }
+        try {
+            sequencer.execute(() -> {
+                throw new IllegalStateException("store closed");
+            });
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testWriteFailureIsReportedToSender() {
+        RecordingWriter writer = new RecordingWriter();
+        writer.failWrites = true;
+        sequencer = new FIXOutboundSequencer(8, OutboundFlushMode.LATENCY, writer, "test-writer");
+        try {
+            sequencer.send(new FIXMessage("0"), true);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUncheckedWriteFailureReleasesPooledMessageOnce() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        writer.failWritesUnchecked = true;
+        sequencer = new FIXOutboundSequencer(8, OutboundFlushMode.LATENCY, writer, "test-writer");
+        FIXMessagePool pool = new FIXMessagePool(1);
+        try {
+            sequencer.send(pool.acquire("0"), true);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getCause() instanceof UncheckedIOException);
+        }
+
+        // The writer survived and the pooled message went back exactly once
+        writer.failWritesUnchecked = false;
+        assertEquals(2, sequencer.send(pool.acquire("0"), true));
+        assertEquals(1, writer.wire.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testSendAfterCloseFails() throws IOException {
+        sequencer = new FIXOutboundSequencer(8, OutboundFlushMode.LATENCY, new RecordingWriter(), "test-writer");
+        sequencer.close();
+        sequencer.send(new FIXMessage("0"), true);
+    }
+}
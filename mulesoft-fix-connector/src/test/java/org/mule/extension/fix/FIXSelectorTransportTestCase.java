@@ -0,0 +1,178 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.extension.fix.internal.FIXEventLoopGroup;
+import org.mule.extension.fix.internal.FIXSelectorTransport;
+import org.mule.extension.fix.internal.FIXTransport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.executionReport;
+
+/**
+ * Test case for sessions multiplexed on shared selector event loops
+ */
+public class FIXSelectorTransportTestCase {
+
+    private static final FIXEventLoopGroup GROUP = new FIXEventLoopGroup(2);
+
+    private ServerSocketChannel server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Collects frames of one connection and records which threads delivered them
+     */
+    private static final class Collector implements FIXTransport.Listener {
+        final List<String> frames = new ArrayList<>();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done;
+        final CountDownLatch disconnected = new CountDownLatch(1);
+
+        Collector(int expected) {
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onFrame(byte[] buffer, int offset, int length) {
+            threads.add(Thread.currentThread().getName());
+            frames.add(new String(buffer, offset, length, StandardCharsets.US_ASCII));
+            done.countDown();
+        }
+
+        @Override
+        public void onDisconnected(IOException cause) {
+            disconnected.countDown();
+        }
+    }
+
+    @Test
+    public void testManySessionsShareTheEventLoops() throws Exception {
+        int sessions = 20;
+        int messages = 500;
+        FIXSelectorTransport[] transports = new FIXSelectorTransport[sessions];
+        SocketChannel[] peers = new SocketChannel[sessions];
+        Collector[] collectors = new Collector[sessions];
+        for (int i = 0; i < sessions; i++) {
+            transports[i] = new FIXSelectorTransport(GROUP);
+            transports[i].connect((InetSocketAddress) server.getLocalAddress());
+            peers[i] = server.accept();
+            collectors[i] = new Collector(messages);
+            transports[i].start(collectors[i]);
+        }
+
+        // Write every session's burst in odd-sized chunks so frames straddle reads
+        for (int i = 0; i < sessions; i++) {
+            ByteArrayOutputStream burst = new ByteArrayOutputStream();
+            for (int seq = 1; seq <= messages; seq++) {
+                burst.writeBytes(executionReport(seq).getBytes(StandardCharsets.US_ASCII));
+            }
+            byte[] bytes = burst.toByteArray();
+            for (int offset = 0; offset < bytes.length; offset += 997) {
+                ByteBuffer chunk = ByteBuffer.wrap(bytes, offset, Math.min(997, bytes.length - offset));
+                while (chunk.hasRemaining()) {
+                    peers[i].write(chunk);
+                }
+            }
+        }
+
+        Set<String> allThreads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < sessions; i++) {
+            assertTrue("Session " + i + " incomplete", collectors[i].done.await(10, TimeUnit.SECONDS));
+            assertEquals(executionReport(1), collectors[i].frames.get(0));
+            assertEquals(executionReport(messages), collectors[i].frames.get(messages - 1));
+            assertEquals("Frames of one session must come from one loop", 1, collectors[i].threads.size());
+            allThreads.addAll(collectors[i].threads);
+        }
+        assertEquals(GROUP.size(), allThreads.size());
+
+        for (int i = 0; i < sessions; i++) {
+            transports[i].close();
+            peers[i].close();
+        }
+    }
+
+    @Test
+    public void testWriteAndPeerClose() throws Exception {
+        FIXSelectorTransport transport = new FIXSelectorTransport(GROUP);
+        transport.connect((InetSocketAddress) server.getLocalAddress());
+        SocketChannel peer = server.accept();
+        Collector collector = new Collector(0);
+        transport.start(collector);
+
+        // Large enough to fill the socket buffers, so the writer has to retry partial writes
+        byte[] frame = executionReport(1).getBytes(StandardCharsets.US_ASCII);
+        int count = 20000;
+        ByteBuffer[] frames = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            frames[i] = ByteBuffer.wrap(frame);
+        }
+        Thread writer = new Thread(() -> {
+            try {
+                transport.write(frames, count);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+
+        ByteBuffer received = ByteBuffer.allocate(frame.length * count);
+        while (received.hasRemaining()) {
+            assertTrue(peer.read(received) > 0);
+        }
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+
+        peer.close();
+        assertTrue(collector.disconnected.await(5, TimeUnit.SECONDS));
+        transport.close();
+        assertFalse(transport.isOpen());
+    }
+
+    @Test
+    public void testLastReleaseStopsSharedGroup() throws Exception {
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        FIXEventLoopGroup first = FIXEventLoopGroup.acquireShared(1);
+        FIXEventLoopGroup second = FIXEventLoopGroup.acquireShared(1);
+        assertSame(first, second);
+        List<Thread> loops = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> !before.contains(thread) && thread.getName().startsWith("fix-io-"))
+            .collect(Collectors.toList());
+        assertEquals(1, loops.size());
+
+        FIXEventLoopGroup.releaseShared(second);
+        assertTrue(loops.get(0).isAlive());
+        FIXEventLoopGroup.releaseShared(first);
+        loops.get(0).join(5000);
+        assertFalse(loops.get(0).isAlive());
+
+        FIXEventLoopGroup next = FIXEventLoopGroup.acquireShared(1);
+        assertNotSame(first, next);
+        FIXEventLoopGroup.releaseShared(next);
+    }
+}
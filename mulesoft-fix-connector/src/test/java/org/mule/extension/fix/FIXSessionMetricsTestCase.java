@@ -0,0 +1,107 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.internal.FIXLatencyHistogram;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionMetrics;
+import org.mule.extension.fix.internal.FIXSessionState;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+
+/**
+ * Test case for per-session hot-path metrics and their latency histograms
+ */
+public class FIXSessionMetricsTestCase {
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 16 + 1);
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        FIXLatencyHistogram histogram = new FIXLatencyHistogram();
+        assertEquals(0, histogram.summarize().getP99());
+
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+        histogram.record(-5);
+
+        FIXLatencyHistogram.Summary summary = histogram.summarize();
+        assertEquals(10_001, summary.getCount());
+        assertEquals(10_000, summary.getMax());
+        assertWithin(5_000, summary.getMean());
+        assertWithin(5_000, summary.getP50());
+        assertWithin(9_900, summary.getP99());
+        assertWithin(9_990, summary.getP999());
+        assertEquals(10_000, histogram.getValueAtPercentile(100));
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test
+    public void testInboundCountedByMsgType() {
+        FIXSessionManager manager = new FIXSessionManager("FIX.4.4", true);
+        FIXSessionState session = manager.getStateManager().getOrCreateSession("CLIENT1", "SERVER1");
+        long bytes = 0;
+        String[] types = {"8", "8", "AE", FIXMessage.MSG_TYPE_HEARTBEAT, "8", "AE"};
+        for (int i = 0; i < types.length; i++) {
+            byte[] frame = frame(types[i], i + 1);
+            bytes += frame.length;
+            manager.processIncomingMessage(session, frame, 0, frame.length);
+        }
+        byte[] ahead = frame("8", 10);
+        manager.processIncomingMessage(session, ahead, 0, ahead.length);
+        byte[] garbage = "8=FIX.4.4\u00019=5\u000135=8\u0001".getBytes(StandardCharsets.US_ASCII);
+        manager.processIncomingMessage(session, garbage, 0, garbage.length);
+
+        FIXSessionMetrics metrics = manager.getMetrics();
+        Map<String, Long> byType = metrics.getMessagesInByType();
+        assertEquals(Long.valueOf(4), byType.get("8"));
+        assertEquals(Long.valueOf(2), byType.get("AE"));
+        assertEquals(Long.valueOf(1), byType.get(FIXMessage.MSG_TYPE_HEARTBEAT));
+        assertEquals(7, metrics.getMessagesIn());
+        assertEquals(bytes + ahead.length, metrics.getBytesIn());
+        assertEquals(7, metrics.getParseLatency().getCount());
+        assertEquals(1, metrics.getParseErrors());
+        assertEquals(1, metrics.getGapsDetected());
+        assertEquals(0, metrics.getMessagesOut());
+
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"in\":{\"messages\":7,"));
+        assertTrue(json, json.contains("\"AE\":{\"messages\":2,"));
+        assertTrue(json, json.contains("\"gapsDetected\":1"));
+    }
+
+    @Test
+    public void testExposedOverJmx() throws Exception {
+        FIXSessionManager manager = new FIXSessionManager("FIX.4.4", true);
+        FIXSessionState session = manager.getStateManager().getOrCreateSession("CLIENT1", "SERVER1");
+        byte[] frame = frame("D", 1);
+        manager.processIncomingMessage(session, frame, 0, frame.length);
+
+        FIXSessionMetrics metrics = manager.getMetrics();
+        metrics.register("CLIENT1@localhost:9876");
+        ObjectName name = metrics.getObjectName();
+        assertNotNull(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "MessagesIn"));
+            CompositeData parse = (CompositeData) server.getAttribute(name, "ParseLatency");
+            assertEquals(1L, parse.get("count"));
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
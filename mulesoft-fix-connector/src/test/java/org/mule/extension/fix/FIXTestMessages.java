@@ -0,0 +1,58 @@
+package org.mule.extension.fix;
+
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * FIX 4.4 messages and frames shared by the test cases, as sent by SERVER1 to CLIENT1
+ */
+final class FIXTestMessages {
+
+    static final String SENDER = "SERVER1";
+    static final String TARGET = "CLIENT1";
+    static final String SENDING_TIME = "20250101-12:00:00.000";
+
+    private FIXTestMessages() {
+    }
+
+    /**
+     * A message carrying ClOrdID(11) "ORD" + seqNum
+     */
+    static FIXMessage message(String msgType, int seqNum) {
+        return message(msgType, seqNum, 11, "ORD" + seqNum);
+    }
+
+    /**
+     * A message carrying one body field, or none if the value is null
+     */
+    static FIXMessage message(String msgType, int seqNum, int tag, String value) {
+        FIXMessageBuilder builder = new FIXMessageBuilder(msgType).withHeader(seqNum, SENDING_TIME);
+        if (value != null) {
+            builder.withField(tag, value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Encode a message as a complete frame
+     */
+    static byte[] frame(FIXMessage message) {
+        return message.toFIXString("FIX.4.4", SENDER, TARGET).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The frame of {@link #message(String, int)}
+     */
+    static byte[] frame(String msgType, int seqNum) {
+        return frame(message(msgType, seqNum));
+    }
+
+    /**
+     * The frame of an ExecutionReport, as a String
+     */
+    static String executionReport(int seqNum) {
+        return new String(frame("8", seqNum), StandardCharsets.US_ASCII);
+    }
+}
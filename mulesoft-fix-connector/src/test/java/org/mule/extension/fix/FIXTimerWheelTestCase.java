@@ -0,0 +1,121 @@
+package org.mule.extension.fix;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXTimerWheel;
+
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.SENDER;
+import static org.mule.extension.fix.FIXTestMessages.TARGET;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+
+/**
+ * Test case for the shared hashed timer wheel
+ */
+public class FIXTimerWheelTestCase {
+
+    private final FIXTimerWheel wheel = FIXTimerWheel.acquireShared();
+
+    @After
+    public void releaseWheel() {
+        // A no-op when the test already released it
+        FIXTimerWheel.releaseShared(wheel);
+    }
+
+    @Test
+    public void testFiresAfterDelayWithMillisecondPrecision() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+        long start = System.nanoTime();
+        wheel.schedule(() -> {
+            firedAt.set(System.nanoTime());
+            fired.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(firedAt.get() - start);
+        assertTrue("Fired early after " + elapsedMillis + "ms", elapsedMillis >= 49);
+        assertTrue("Fired late after " + elapsedMillis + "ms", elapsedMillis < 500);
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean();
+        FIXTimerWheel.Timeout timeout = wheel.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+
+        CountDownLatch later = new CountDownLatch(1);
+        wheel.schedule(later::countDown, 60, TimeUnit.MILLISECONDS);
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    public void testLastReleaseStopsSharedWheel() throws Exception {
+        FIXTimerWheel other = FIXTimerWheel.acquireShared();
+        assertSame(wheel, other);
+        FIXTimerWheel.releaseShared(other);
+
+        // Still held by this test: keeps running
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(fired::countDown, 1, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+
+        FIXTimerWheel.releaseShared(wheel);
+        FIXTimerWheel next = FIXTimerWheel.acquireShared();
+        try {
+            assertNotSame(wheel, next);
+        } finally {
+            FIXTimerWheel.releaseShared(next);
+        }
+    }
+
+    @Test
+    public void testManyTimeoutsAcrossWheelRotations() throws Exception {
+        int count = 2000;
+        CountDownLatch fired = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            // Up to ~1.5 rotations of the 1024-tick wheel
+            wheel.schedule(fired::countDown, i % 1500, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDeadConnectionReleasesSharedWheel() throws Exception {
+        int users = FIXTimerWheel.getSharedUsers();
+        try (ServerSocket server = new ServerSocket(0)) {
+            FIXSessionManager manager = new FIXSessionManager("FIX.4.4");
+            manager.connect("localhost", server.getLocalPort(), TARGET, SENDER, 1);
+            assertEquals(users + 1, FIXTimerWheel.getSharedUsers());
+
+            // Answer the Logon, then fall silent so the session is declared dead after two intervals
+            try (Socket peer = server.accept()) {
+                peer.getOutputStream().write(frame(FIXMessageBuilder.logon(1, 1).build()));
+                InputStream in = peer.getInputStream();
+                long deadline = System.currentTimeMillis() + 5000;
+                while (FIXTimerWheel.getSharedUsers() != users && System.currentTimeMillis() < deadline) {
+                    while (in.available() > 0) {
+                        in.skip(in.available());
+                    }
+                    Thread.sleep(10);
+                }
+            }
+            assertEquals(users, FIXTimerWheel.getSharedUsers());
+            manager.disconnect(TARGET, SENDER);
+            assertEquals(users, FIXTimerWheel.getSharedUsers());
+        }
+    }
+}
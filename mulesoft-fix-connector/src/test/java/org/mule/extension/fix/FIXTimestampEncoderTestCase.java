@@ -0,0 +1,62 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.api.FIXMessageBuilder;
+import org.mule.extension.fix.api.FIXTimestampEncoder;
+import org.mule.extension.fix.api.TimestampPrecision;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for cached UTC SendingTime encoding
+ */
+public class FIXTimestampEncoderTestCase {
+
+    private static final Instant INSTANT = Instant.parse("2025-03-09T23:59:59.123456789Z");
+
+    private static String encode(TimestampPrecision precision, Instant instant) {
+        return new FIXTimestampEncoder(precision, Clock.fixed(instant, ZoneOffset.UTC)).now();
+    }
+
+    @Test
+    public void testEveryPrecision() {
+        assertEquals("20250309-23:59:59", encode(TimestampPrecision.SECONDS, INSTANT));
+        assertEquals("20250309-23:59:59.123", encode(TimestampPrecision.MILLIS, INSTANT));
+        assertEquals("20250309-23:59:59.123456", encode(TimestampPrecision.MICROS, INSTANT));
+        assertEquals("20250309-23:59:59.123456789", encode(TimestampPrecision.NANOS, INSTANT));
+    }
+
+    @Test
+    public void testCachedPrefixRollsOverSecondsAndDays() {
+        FIXTimestampEncoder encoder = new FIXTimestampEncoder(TimestampPrecision.MILLIS);
+        byte[] out = new byte[encoder.encodedLength()];
+        long second = INSTANT.getEpochSecond();
+
+        encoder.encode(second, 7_000_000, out, 0);
+        assertEquals("20250309-23:59:59.007", new String(out, StandardCharsets.US_ASCII));
+        encoder.encode(second, 999_000_000, out, 0);
+        assertEquals("20250309-23:59:59.999", new String(out, StandardCharsets.US_ASCII));
+        encoder.encode(second + 1, 0, out, 0);
+        assertEquals("20250310-00:00:00.000", new String(out, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testBuilderStampsUtc() {
+        FIXTimestampEncoder encoder = new FIXTimestampEncoder(TimestampPrecision.MICROS,
+            Clock.fixed(INSTANT, ZoneOffset.UTC));
+        FIXMessage message = new FIXMessageBuilder("0").withHeader(5, encoder).build();
+
+        assertEquals("20250309-23:59:59.123456", message.getField(FIXMessage.TAG_SENDING_TIME));
+        assertEquals(Integer.valueOf(5), message.getMsgSeqNum());
+        assertEquals("20250309-23:59:59.123",
+            FIXMessageBuilder.toFIXTimestamp(ZonedDateTime.ofInstant(INSTANT, ZoneId.of("America/New_York"))));
+    }
+}
@@ -0,0 +1,120 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.api.FIXMessage;
+import org.mule.extension.fix.internal.FIXSessionManager;
+import org.mule.extension.fix.internal.FIXSessionState;
+import org.mule.extension.fix.internal.FIXWireCapture;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mule.extension.fix.FIXTestMessages.SENDER;
+import static org.mule.extension.fix.FIXTestMessages.TARGET;
+import static org.mule.extension.fix.FIXTestMessages.frame;
+
+/**
+ * Test case for binary wire capture, rotation and replay
+ */
+public class FIXWireCaptureTestCase {
+
+    private static List<Path> files(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testCaptureRotatesAndReadsBackInOrder() throws Exception {
+        Path directory = Files.createTempDirectory("fix-capture");
+        byte[] inbound = frame("8", 1);
+        FIXWireCapture capture = new FIXWireCapture(directory, 1024);
+        for (int i = 0; i < 20; i++) {
+            if (i % 2 == 0) {
+                capture.capture(FIXWireCapture.INBOUND, inbound, 0, inbound.length);
+            } else {
+                ByteBuffer outbound = ByteBuffer.allocateDirect(256);
+                outbound.put(frame("D", i));
+                capture.capture(FIXWireCapture.OUTBOUND, outbound, outbound.position());
+            }
+        }
+        capture.close();
+        assertEquals(20, capture.getCaptured());
+
+        List<Path> files = files(directory);
+        assertTrue(files.size() > 1);
+        for (Path file : files) {
+            assertTrue(Files.size(file) <= 1024);
+        }
+
+        List<String> frames = new ArrayList<>();
+        long[] lastTimestamp = {0};
+        long read = FIXWireCapture.read(directory, (direction, timestamp, buffer, offset, length) -> {
+            assertTrue(timestamp >= lastTimestamp[0]);
+            lastTimestamp[0] = timestamp;
+            frames.add((char) direction + new String(buffer, offset, length, StandardCharsets.US_ASCII));
+        });
+        assertEquals(20, read);
+        assertEquals("I" + new String(inbound, StandardCharsets.US_ASCII), frames.get(0));
+        assertTrue(frames.get(19).startsWith("O8=FIX.4.4"));
+        assertTrue(frames.get(19).contains("\u000111=ORD19\u0001"));
+
+        // Reopening continues the numbering instead of overwriting
+        FIXWireCapture reopened = new FIXWireCapture(directory, 1024);
+        reopened.capture(FIXWireCapture.INBOUND, inbound, 0, inbound.length);
+        reopened.close();
+        assertEquals(files.size() + 1, files(directory).size());
+        assertEquals(21, FIXWireCapture.read(directory, (direction, timestamp, buffer, offset, length) -> { }));
+    }
+
+    @Test
+    public void testReplayThroughSession() throws Exception {
+        Path directory = Files.createTempDirectory("fix-capture");
+        FIXWireCapture capture = new FIXWireCapture(directory, FIXWireCapture.DEFAULT_FILE_SIZE);
+        // Captured mid-session: the first frame is seqNum 100
+        for (int seq = 100; seq < 150; seq++) {
+            byte[] inbound = frame("8", seq);
+            capture.capture(FIXWireCapture.INBOUND, inbound, 0, inbound.length);
+            byte[] outbound = frame("D", seq);
+            capture.capture(FIXWireCapture.OUTBOUND, outbound, 0, outbound.length);
+        }
+        capture.close();
+
+        FIXSessionManager manager = new FIXSessionManager("FIX.4.4", true);
+        AtomicInteger delivered = new AtomicInteger();
+        manager.setMessageHandler(new FIXSessionManager.MessageHandler() {
+            @Override
+            public void onLogon(FIXSessionState session) {
+            }
+
+            @Override
+            public void onLogout(FIXSessionState session, String reason) {
+            }
+
+            @Override
+            public void onApplicationMessage(FIXSessionState session, FIXMessage message) {
+                delivered.incrementAndGet();
+            }
+        });
+        FIXSessionState session = manager.getStateManager().getOrCreateSession(TARGET, SENDER);
+        session.setIncomingSeqNum(100);
+        long replayed = FIXWireCapture.read(directory, (direction, timestamp, buffer, offset, length) -> {
+            if (direction == FIXWireCapture.INBOUND) {
+                manager.processIncomingMessage(session, buffer, offset, length);
+            }
+        });
+
+        assertEquals(100, replayed);
+        assertEquals(50, delivered.get());
+        assertEquals(0, manager.getMetrics().getGapsDetected());
+        assertEquals(150, session.getIncomingSeqNum());
+    }
+}
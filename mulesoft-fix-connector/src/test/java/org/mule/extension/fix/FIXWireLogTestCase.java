@@ -0,0 +1,98 @@
+package org.mule.extension.fix;
+
+import org.junit.Test;
+import org.mule.extension.fix.internal.FIXWireLog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test case for the asynchronous wire log
+ */
+public class FIXWireLogTestCase {
+
+    private static byte[] bytes(String frame) {
+        return frame.replace('|', '\u0001').getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testFramesFormattedInOrder() {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        FIXWireLog log = new FIXWireLog("CLIENT1@host:1", 16, lines::add);
+
+        byte[] inbound = bytes("xx8=FIX.4.4|9=5|35=0|10=000|yy");
+        log.record(true, inbound, 2, inbound.length - 4);
+        ByteBuffer outbound = ByteBuffer.allocateDirect(64);
+        outbound.put(bytes("8=FIX.4.4|9=5|35=D|10=000|"));
+        log.record(false, outbound, outbound.position());
+        log.close();
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0), lines.get(0).endsWith(" CLIENT1@host:1 IN  8=FIX.4.4|9=5|35=0|10=000|"));
+        assertTrue(lines.get(1), lines.get(1).endsWith(" CLIENT1@host:1 OUT 8=FIX.4.4|9=5|35=D|10=000|"));
+        assertEquals(26, outbound.position());
+        assertEquals(0, log.getDropped());
+
+        // Closed: further frames are ignored
+        log.record(true, inbound, 0, inbound.length);
+        assertEquals(2, lines.size());
+    }
+
+    @Test
+    public void testFullRingDropsInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> lines = new CopyOnWriteArrayList<>();
+        FIXWireLog log = new FIXWireLog("S", 4, line -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lines.add(line);
+        });
+
+        byte[] frame = bytes("8=FIX.4.4|9=5|35=0|10=000|");
+        for (int i = 0; i < 100; i++) {
+            log.record(i % 2 == 0, frame, 0, frame.length);
+        }
+        assertTrue(log.getDropped() >= 100 - 4 - 1);
+        release.countDown();
+        log.close();
+
+        long logged = lines.stream().filter(line -> line.contains("35=0")).count();
+        assertEquals(100, logged + log.getDropped());
+        assertTrue(lines.get(lines.size() - 1), lines.get(lines.size() - 1).contains("frames not logged"));
+    }
+
+    @Test
+    public void testIdleFormatterWaitsWithoutPolling() throws Exception {
+        List<String> lines = new CopyOnWriteArrayList<>();
+        FIXWireLog log = new FIXWireLog("IDLE", 16, lines::add);
+        Thread formatter = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("fix-wirelog-IDLE"))
+            .findFirst().orElseThrow();
+
+        byte[] frame = bytes("8=FIX.4.4|9=5|35=0|10=000|");
+        for (int i = 0; i < 3; i++) {
+            long deadline = System.currentTimeMillis() + 5000;
+            // Parked without a timeout: WAITING rather than TIMED_WAITING
+            while (formatter.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(Thread.State.WAITING, formatter.getState());
+
+            log.record(true, frame, 0, frame.length);
+            while (lines.size() <= i && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(i + 1, lines.size());
+        }
+        log.close();
+        assertFalse(formatter.isAlive());
+    }
+}